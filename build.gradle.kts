@@ -4,6 +4,7 @@ plugins {
     kotlin("jvm") version "1.9.10"
     kotlin("plugin.spring") version "1.9.10"
     kotlin("plugin.jpa") version "1.9.10"
+    id("me.champeau.jmh") version "0.7.2"
     java
 }
 
@@ -34,7 +35,7 @@ dependencies {
     // Data Access
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
-    runtimeOnly("org.postgresql:postgresql:42.7.0")
+    implementation("org.postgresql:postgresql:42.7.0") // COPY API (재고 일괄 입고)
     implementation("com.h2database:h2") // 테스트용
 
     // Connection Pool
@@ -129,6 +130,14 @@ tasks.withType<Test> {
     systemProperty("testcontainers.reuse.enable", "true")
 }
 
+// 마이크로벤치마크 (src/jmh, ./gradlew jmh → build/results/jmh) - gc 프로파일러로 연산당 할당량(gc.alloc.rate.norm)도 측정
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+}
+
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
     options.compilerArgs.addAll(listOf("-parameters", "-Xlint:unchecked", "-Xlint:deprecation"))
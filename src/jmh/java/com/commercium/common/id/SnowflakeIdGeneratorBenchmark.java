@@ -0,0 +1,56 @@
+package com.commercium.common.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 식별자 생성 처리량 비교 (./gradlew jmh, 초당 생성 수)
+ *
+ * Snowflake 는 노드당 밀리초마다 4096 개가 상한이므로(초당 약 409만) 스레드를 늘리면 그 상한에서 멈춘다.
+ * 이전 방식인 UUID.randomUUID().toString() 을 같은 스레드 수로 함께 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SnowflakeIdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new SnowflakeIdGenerator(new NodeIdAllocator(null, "config", 1, 60));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long snowflakeSingleThread() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long snowflakeEightThreads() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String randomUuidSingleThread() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomUuidEightThreads() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.commercium.inventory.domain;
+
+import com.commercium.common.id.DomainIds;
+import com.commercium.common.id.NodeIdAllocator;
+import com.commercium.common.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재고 변경 경로별 연산당 시간/할당량 비교 (./gradlew jmh, gc.alloc.rate.norm 확인)
+ *
+ * - immutableQuantity: 변경마다 StockQuantity(Integer 필드) 를 새로 만드는 이전 경로
+ * - stockCounter: 기본형 카운터를 제자리에서 바꾸는 경로
+ * - inventoryBatch: 엔티티 한 건에 변경 BATCH 번 후 저장 시점처럼 반영/이력 회수 (이력 객체 할당은 남음)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StockMutationBenchmark {
+
+    private static final int INITIAL_STOCK = 1_000_000; // Integer 캐시(-128~127) 밖의 값
+    private static final int BATCH = 100;
+
+    private StockQuantity quantity;
+    private StockCounter counter;
+    private Inventory inventory;
+
+    @Setup
+    public void setUp() {
+        new DomainIds(new SnowflakeIdGenerator(new NodeIdAllocator(null, "config", 1, 60)));
+        quantity = StockQuantity.initialStock(INITIAL_STOCK);
+        counter = StockCounter.from(quantity);
+        inventory = Inventory.create(ProductId.of("benchmark-product"), INITIAL_STOCK);
+    }
+
+    @Benchmark
+    public StockQuantity immutableQuantity() {
+        quantity = quantity.reserve(3).release(3);
+        return quantity;
+    }
+
+    @Benchmark
+    public StockCounter stockCounter() {
+        counter.reserve(3);
+        counter.release(3);
+        return counter;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<InventoryTransaction> inventoryBatch() {
+        for (int i = 0; i < BATCH / 2; i++) {
+            inventory.reserve("order", 3, "benchmark");
+            inventory.releaseReservation("order", 3, "benchmark");
+        }
+        inventory.materializeStock();
+        return inventory.getAndClearPendingTransactions();
+    }
+}
@@ -0,0 +1,37 @@
+-- PK 인덱스 크기/밀도 비교 - 임의 UUID 문자열 PK (이전 방식) vs 시간 순서 Snowflake BIGINT PK
+--
+-- 실행: psql -d <빈 데이터베이스> -f src/jmh/resources/pk_index_bloat.sql
+-- 잎 페이지 밀도(avg_leaf_density)는 pgstattuple 확장이 필요하다 (CREATE EXTENSION 권한).
+-- Snowflake 값은 노드 4 개가 번갈아 발급하는 상황을 흉내 낸다: (밀리초 << 22) | (노드 << 12) | 순번
+
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+DROP TABLE IF EXISTS bloat_uuid_pk;
+DROP TABLE IF EXISTS bloat_snowflake_pk;
+
+CREATE TABLE bloat_uuid_pk (id VARCHAR(36) PRIMARY KEY, payload INTEGER NOT NULL);
+CREATE TABLE bloat_snowflake_pk (id BIGINT PRIMARY KEY, payload INTEGER NOT NULL);
+
+\timing on
+
+INSERT INTO bloat_uuid_pk (id, payload)
+SELECT gen_random_uuid()::text, i FROM generate_series(1, 2000000) AS i;
+
+INSERT INTO bloat_snowflake_pk (id, payload)
+SELECT ((i / 1000)::bigint << 22) | ((i % 4)::bigint << 12) | ((i / 4) % 250), i
+FROM generate_series(1, 2000000) AS i;
+
+\timing off
+
+SELECT 'uuid varchar' AS pk,
+       pg_size_pretty(pg_relation_size('bloat_uuid_pk_pkey')) AS index_size,
+       (SELECT avg_leaf_density FROM pgstatindex('bloat_uuid_pk_pkey')) AS avg_leaf_density,
+       (SELECT leaf_fragmentation FROM pgstatindex('bloat_uuid_pk_pkey')) AS leaf_fragmentation
+UNION ALL
+SELECT 'snowflake bigint',
+       pg_size_pretty(pg_relation_size('bloat_snowflake_pk_pkey')),
+       (SELECT avg_leaf_density FROM pgstatindex('bloat_snowflake_pk_pkey')),
+       (SELECT leaf_fragmentation FROM pgstatindex('bloat_snowflake_pk_pkey'));
+
+DROP TABLE bloat_uuid_pk;
+DROP TABLE bloat_snowflake_pk;
@@ -0,0 +1,26 @@
+package com.commercium.common.id;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 도메인 객체에서 쓰는 식별자 생성 (DomainEvents 와 같이 정적 메서드로 노출)
+ */
+@Component
+public class DomainIds {
+
+    private static SnowflakeIdGenerator generator;
+
+    public DomainIds(SnowflakeIdGenerator generator) {
+        DomainIds.generator = generator;
+    }
+
+    /**
+     * 시간 순서 문자열 식별자 (19자리)
+     */
+    public static String next() {
+        if (generator == null) {
+            throw new IllegalStateException("식별자 생성기가 초기화되지 않았습니다");
+        }
+        return generator.nextIdString();
+    }
+}
@@ -0,0 +1,156 @@
+package com.commercium.common.id;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 식별자 생성기의 노드 번호 결정
+ *
+ * config 면 app.id.node-id 를 그대로 쓰고, redis 면 비어 있는 번호를 Redis 키(id:node:{번호})로 임대한다.
+ * 임대는 lease-seconds 동안 유효하고 주기적으로 연장한다. 연장 전에 키가 만료되어 다른 노드가 가져가면
+ * 같은 번호를 두 노드가 쓰게 되므로, 그 시점부터 이 노드는 식별자 생성을 거부한다.
+ * Redis 장애로 연장 결과를 알 수 없는 동안에도 키는 만료될 수 있으므로, 마지막으로 성공한 임대/연장 요청 시각부터
+ * lease-seconds 가 지나면 다시 연장에 성공할 때까지 식별자 생성을 거부한다.
+ */
+@Component
+@Slf4j
+public class NodeIdAllocator {
+
+    private static final String KEY_PREFIX = "id:node:";
+
+    private static final String RENEW_SCRIPT = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """;
+
+    private static final String RELEASE_SCRIPT = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """;
+
+    private final RedissonClient redissonClient;
+    private final boolean leased;
+    private final long configuredNodeId;
+    private final long leaseMs;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile long nodeId = -1;
+    private volatile boolean leaseLost;
+    private volatile long lastRenewedAt; // 마지막으로 성공한 임대/연장 요청을 보낸 시각 (Redis 키 만료 시각보다 이르게 잡힘)
+
+    public NodeIdAllocator(RedissonClient redissonClient,
+                           @Value("${app.id.node-id-source:config}") String source,
+                           @Value("${app.id.node-id:0}") long configuredNodeId,
+                           @Value("${app.id.lease-seconds:60}") long leaseSeconds) {
+        if (!"config".equalsIgnoreCase(source) && !"redis".equalsIgnoreCase(source)) {
+            throw new IllegalArgumentException("노드 번호 출처는 config 또는 redis 여야 합니다: " + source);
+        }
+        this.redissonClient = redissonClient;
+        this.leased = "redis".equalsIgnoreCase(source);
+        this.configuredNodeId = configuredNodeId;
+        this.leaseMs = TimeUnit.SECONDS.toMillis(leaseSeconds);
+    }
+
+    public synchronized long nodeId() {
+        if (nodeId < 0) {
+            long requestedAt = System.currentTimeMillis();
+            nodeId = leased ? lease() : configuredNodeId;
+            lastRenewedAt = requestedAt;
+        }
+        return nodeId;
+    }
+
+    /**
+     * 임대를 잃었거나 임대 기간 안에 연장하지 못했으면 식별자 생성 거부
+     */
+    public void checkLease() {
+        if (leaseLost) {
+            throw new IllegalStateException("노드 번호 임대를 잃어 식별자를 생성할 수 없습니다: nodeId=" + nodeId);
+        }
+        if (leased && System.currentTimeMillis() - lastRenewedAt > leaseMs) {
+            throw new IllegalStateException("노드 번호 임대를 연장하지 못해 식별자를 생성할 수 없습니다: nodeId=" + nodeId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.id.renew-interval-ms:20000}")
+    public void renew() {
+        if (!leased || nodeId < 0 || leaseLost) {
+            return;
+        }
+
+        long requestedAt = System.currentTimeMillis();
+        try {
+            if (execute(RENEW_SCRIPT, leaseMs).longValue() == 1) {
+                lastRenewedAt = requestedAt;
+                return;
+            }
+            // 키가 만료됨 - 아무도 가져가지 않았으면 같은 번호를 다시 임대
+            if (tryLease(nodeId)) {
+                lastRenewedAt = requestedAt;
+                log.warn("노드 번호 임대 만료 후 재임대: nodeId={}", nodeId);
+                return;
+            }
+            leaseLost = true;
+            log.error("노드 번호 임대를 잃음 - 식별자 생성을 중단합니다: nodeId={}", nodeId);
+        } catch (RuntimeException e) {
+            // Redis 일시 장애 - 남은 임대 기간 안에 다시 연장 (그동안 못 하면 checkLease 가 생성을 거부)
+            log.warn("노드 번호 임대 연장 실패: nodeId={}", nodeId, e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!leased || nodeId < 0 || leaseLost) {
+            return;
+        }
+        try {
+            execute(RELEASE_SCRIPT);
+        } catch (RuntimeException e) {
+            log.warn("노드 번호 반납 실패 (임대 기간 후 만료): nodeId={}", nodeId, e);
+        }
+    }
+
+    /**
+     * 임의 위치부터 돌며 비어 있는 번호 임대 (노드들이 같은 번호부터 경쟁하지 않도록)
+     */
+    private long lease() {
+        int size = (int) SnowflakeIdGenerator.MAX_NODE_ID + 1;
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            long candidate = (start + i) % size;
+            if (tryLease(candidate)) {
+                log.info("노드 번호 임대: nodeId={}, leaseMs={}", candidate, leaseMs);
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("임대할 수 있는 노드 번호가 없습니다");
+    }
+
+    private boolean tryLease(long candidate) {
+        return redissonClient.getBucket(KEY_PREFIX + candidate, StringCodec.INSTANCE)
+                .trySet(owner, leaseMs, TimeUnit.MILLISECONDS);
+    }
+
+    private Number execute(String script, Object... args) {
+        Object[] scriptArgs = new Object[args.length + 1];
+        scriptArgs[0] = owner;
+        System.arraycopy(args, 0, scriptArgs, 1, args.length);
+        return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, script,
+                RScript.ReturnType.INTEGER, List.of(KEY_PREFIX + nodeId), scriptArgs);
+    }
+}
@@ -0,0 +1,113 @@
+package com.commercium.common.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 순서 64비트 식별자 생성기 (Snowflake 방식)
+ *
+ * 41비트 밀리초 타임스탬프 + 10비트 노드 번호 + 12비트 순번으로 구성된다.
+ * 값이 시간 순으로 증가하므로 PK 인덱스에 항상 오른쪽 끝으로 추가되어 페이지 분할이 적다.
+ * 노드 번호는 NodeIdAllocator 가 정한다 (설정값 또는 Redis 임대) - 노드 간에 겹치지 않아야 충돌이 없다.
+ * 마지막 (타임스탬프, 순번)을 AtomicLong 하나에 담아 CAS 로 갱신하므로 락 없이 여러 스레드가 동시에 생성한다.
+ * 시계가 MAX_BACKWARD_MILLIS 이하로 역행하면 기다리지 않고 마지막 밀리초를 그대로 쓰며 순번만 늘린다
+ * (식별자의 타임스탬프가 실제 시각보다 조금 앞설 수 있다). 그 밀리초의 순번을 다 쓴 경우에만 시계가 따라올 때까지 대기하고,
+ * 더 크게 역행하면 IllegalStateException 으로 생성을 거부한다.
+ */
+@Component
+@Slf4j
+public class SnowflakeIdGenerator {
+
+    /** 2024-01-01T00:00:00Z - 약 69년 사용 가능 */
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /** 이 범위 안의 시계 역행은 마지막 타임스탬프의 순번을 이어 쓰고, 넘으면 생성을 거부한다 */
+    private static final long MAX_BACKWARD_MILLIS = 5;
+
+    private final NodeIdAllocator nodeIdAllocator;
+    private final long nodeBits;
+
+    /** (EPOCH 이후 밀리초 << SEQUENCE_BITS) | 순번 */
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(NodeIdAllocator nodeIdAllocator) {
+        long nodeId = nodeIdAllocator.nodeId();
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 번호는 0 이상 " + MAX_NODE_ID + " 이하여야 합니다: " + nodeId);
+        }
+        this.nodeIdAllocator = nodeIdAllocator;
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        log.info("식별자 생성기 초기화: nodeId={}", nodeId);
+    }
+
+    public long nextId() {
+        nodeIdAllocator.checkLease();
+
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long timestamp = currentMillis() - EPOCH_MILLIS;
+
+            long next;
+            if (timestamp > lastTimestamp) {
+                next = timestamp << SEQUENCE_BITS;
+            } else {
+                long backward = lastTimestamp - timestamp;
+                if (backward > MAX_BACKWARD_MILLIS) {
+                    throw new IllegalStateException("시스템 시계가 " + backward + "ms 역행하여 식별자를 생성할 수 없습니다");
+                }
+                if ((current & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                    // 마지막 밀리초의 순번을 모두 사용 - 시계가 그 밀리초를 지날 때까지 대기
+                    Thread.onSpinWait();
+                    continue;
+                }
+                next = current + 1;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                        | nodeBits
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * 문자열 식별자 - 19자리로 0을 채워 문자열 정렬과 생성 순서가 같게 한다
+     */
+    public String nextIdString() {
+        return format(nextId());
+    }
+
+    public static String format(long id) {
+        String digits = Long.toString(id);
+        return digits.length() >= 19 ? digits : "0".repeat(19 - digits.length()) + digits;
+    }
+
+    /**
+     * 식별자에 기록된 생성 시각
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    /**
+     * 주어진 시각 이후 생성되는 식별자의 하한값 - 식별자 범위로 기간을 조회할 때 사용
+     */
+    public static long lowerBoundOf(Instant instant) {
+        return Math.max(0L, instant.toEpochMilli() - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS);
+    }
+
+    private long currentMillis() {
+        return System.currentTimeMillis();
+    }
+}
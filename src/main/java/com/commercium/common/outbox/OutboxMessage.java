@@ -0,0 +1,11 @@
+package com.commercium.common.outbox;
+
+/**
+ * 아웃박스에 기록할 메시지 (토픽, 메시지 키, 이벤트)
+ */
+public record OutboxMessage(String topic, String key, Object payload) {
+
+    public static OutboxMessage of(String topic, String key, Object payload) {
+        return new OutboxMessage(topic, key, payload);
+    }
+}
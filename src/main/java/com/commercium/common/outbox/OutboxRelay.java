@@ -0,0 +1,230 @@
+package com.commercium.common.outbox;
+
+import com.commercium.config.properties.OutboxProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 아웃박스 이벤트를 Kafka 로 전송
+ *
+ * 이벤트가 남은 파티션마다 트랜잭션 하나에서 outbox_partitions 행을 FOR UPDATE SKIP LOCKED 로 잡고,
+ * event_id 순서로 batch-size 행을 읽어 모두 보낸 뒤(응답은 배치 끝에서 한 번에 기다림) 성공한 앞부분의 행만 ID 로 골라 삭제한다.
+ * event_id 는 여러 노드가 커밋 직전에 발급하므로 읽은 뒤에 더 작은 ID 가 커밋될 수 있어, ID 범위로 지우면 보내지 않은 행이 지워진다.
+ * 파티션 행을 잡은 노드만 그 파티션을 보내므로 여러 노드가 떠 있어도 같은 키의 순서가 유지되고,
+ * 중간 전송이 실패하면 그 뒤 행은 남겨 다음 폴링에서 다시 보낸다.
+ * 삭제 전에 노드가 죽으면 보낸 행이 다시 전송될 수 있으므로 컨슈머는 중복을 견뎌야 한다 (at-least-once).
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String CLAIM_SQL =
+            "SELECT partition_no FROM outbox_partitions WHERE partition_no = ? FOR UPDATE SKIP LOCKED";
+
+    private static final String SELECT_SQL = """
+            SELECT event_id, topic, message_key, payload_type, payload
+            FROM outbox_events
+            WHERE partition_no = ?
+            ORDER BY event_id
+            LIMIT ?
+            """;
+
+    private static final String PENDING_PARTITIONS_SQL = """
+            SELECT p.partition_no FROM outbox_partitions p
+            WHERE EXISTS (SELECT 1 FROM outbox_events e WHERE e.partition_no = p.partition_no)
+            ORDER BY p.partition_no
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE partition_no = ? AND event_id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+    private final OutboxProperties outboxProperties;
+
+    private volatile ExecutorService workers;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                       OutboxProperties outboxProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.outboxProperties = outboxProperties;
+    }
+
+    /**
+     * 파티션 잠금 행 준비 (이미 있으면 그대로)
+     */
+    @PostConstruct
+    public void ensurePartitions() {
+        if (!outboxProperties.isEnabled()) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO outbox_partitions (partition_no)
+                SELECT generate_series(0, ? - 1)
+                ON CONFLICT (partition_no) DO NOTHING
+                """, outboxProperties.getPartitions());
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:100}")
+    public void relay() {
+        if (!outboxProperties.isEnabled()) {
+            return;
+        }
+
+        List<Integer> partitions = jdbcTemplate.queryForList(PENDING_PARTITIONS_SQL, Integer.class);
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<Integer>> drains = new ArrayList<>(partitions.size());
+        for (Integer partition : partitions) {
+            drains.add(CompletableFuture.supplyAsync(() -> drain(partition), workers()));
+        }
+
+        int sent = 0;
+        for (CompletableFuture<Integer> drain : drains) {
+            try {
+                sent += drain.join();
+            } catch (RuntimeException e) {
+                log.error("아웃박스 파티션 전송 실패", e);
+            }
+        }
+        if (sent > 0) {
+            log.debug("아웃박스 전송: 파티션={}, 건수={}", partitions.size(), sent);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * 파티션이 빌 때까지(최대 max-batches-per-poll 배치) 전송
+     */
+    private int drain(int partition) {
+        int total = 0;
+        for (int i = 0; i < outboxProperties.getMaxBatchesPerPoll(); i++) {
+            BatchResult result = transactionTemplate.execute(status -> relayBatch(partition));
+            if (result == null) {
+                break;
+            }
+            total += result.sent();
+            if (!result.full()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private BatchResult relayBatch(int partition) {
+        if (jdbcTemplate.queryForList(CLAIM_SQL, Integer.class, partition).isEmpty()) {
+            return null; // 다른 노드가 처리 중
+        }
+
+        List<OutboxRow> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new OutboxRow(
+                rs.getLong("event_id"),
+                rs.getString("topic"),
+                rs.getString("message_key"),
+                rs.getString("payload_type"),
+                rs.getBytes("payload")), partition, outboxProperties.getBatchSize());
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        // 모두 보낸 뒤 한 번에 기다린다 - 프로듀서가 같은 Kafka 파티션 메시지를 묶어 보냄
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            sends.add(outboxKafkaTemplate.send(row.toRecord()));
+        }
+        outboxKafkaTemplate.flush();
+
+        int succeeded = awaitPrefix(sends, rows);
+        if (succeeded > 0) {
+            Long[] sentIds = rows.subList(0, succeeded).stream().map(OutboxRow::eventId).toArray(Long[]::new);
+            jdbcTemplate.update(DELETE_SQL, ps -> {
+                ps.setInt(1, partition);
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", sentIds));
+            });
+        }
+        return new BatchResult(succeeded, succeeded == rows.size() && rows.size() == outboxProperties.getBatchSize());
+    }
+
+    /**
+     * 앞에서부터 연속으로 성공한 전송 수 (첫 실패 뒤는 다음 폴링에서 순서대로 다시 보냄)
+     */
+    private int awaitPrefix(List<CompletableFuture<SendResult<String, byte[]>>> sends, List<OutboxRow> rows) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(outboxProperties.getSendTimeoutMs());
+        for (int i = 0; i < sends.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return i;
+            } catch (ExecutionException | TimeoutException e) {
+                OutboxRow row = rows.get(i);
+                log.warn("아웃박스 이벤트 전송 실패: eventId={}, topic={}, key={}",
+                        row.eventId(), row.topic(), row.key(), e);
+                return i;
+            }
+        }
+        return sends.size();
+    }
+
+    private ExecutorService workers() {
+        if (workers == null) {
+            synchronized (this) {
+                if (workers == null) {
+                    AtomicInteger sequence = new AtomicInteger();
+                    workers = Executors.newFixedThreadPool(outboxProperties.getRelayThreads(), runnable -> {
+                        Thread thread = new Thread(runnable, "outbox-relay-" + sequence.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return workers;
+    }
+
+    private record OutboxRow(long eventId, String topic, String key, String payloadType, byte[] payload) {
+
+        private ProducerRecord<String, byte[]> toRecord() {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, payload);
+            // JsonDeserializer 가 타입을 찾도록 JsonSerializer 와 같은 헤더를 붙인다
+            record.headers().add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                    payloadType.getBytes(StandardCharsets.UTF_8));
+            return record;
+        }
+    }
+
+    private record BatchResult(int sent, boolean full) {
+    }
+}
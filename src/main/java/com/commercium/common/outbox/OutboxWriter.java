@@ -0,0 +1,115 @@
+package com.commercium.common.outbox;
+
+import com.commercium.common.id.SnowflakeIdGenerator;
+import com.commercium.config.properties.OutboxProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 도메인 이벤트를 아웃박스 테이블에 기록
+ *
+ * 이벤트를 발생시킨 트랜잭션 안에서(BEFORE_COMMIT 리스너) 호출해 업무 데이터와 함께 커밋되게 한다.
+ * 전송은 OutboxRelay 가 맡으므로 커밋 후 노드가 죽어도 이벤트가 사라지지 않는다.
+ * 페이로드는 JsonSerializer 와 같은 ObjectMapper 로 기록 시점에 직렬화해 둔다.
+ */
+@Component
+@Slf4j
+public class OutboxWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_events (event_id, partition_no, topic, message_key, payload_type, payload, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnowflakeIdGenerator idGenerator;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxProperties outboxProperties;
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, SnowflakeIdGenerator idGenerator,
+                        KafkaTemplate<String, Object> kafkaTemplate, OutboxProperties outboxProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idGenerator = idGenerator;
+        this.kafkaTemplate = kafkaTemplate;
+        this.outboxProperties = outboxProperties;
+    }
+
+    public void append(OutboxMessage... messages) {
+        append(List.of(messages));
+    }
+
+    /**
+     * 한 이벤트의 메시지들을 배치 INSERT 한 번으로 기록
+     */
+    public void append(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (!outboxProperties.isEnabled()) {
+            sendAfterCommit(messages);
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            rows.add(new Object[]{
+                    idGenerator.nextId(),
+                    partitionOf(message.key(), outboxProperties.getPartitions()),
+                    message.topic(),
+                    message.key(),
+                    message.payload().getClass().getName(),
+                    serialize(message),
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * 같은 키는 항상 같은 파티션 (키가 없으면 0번)
+     */
+    static int partitionOf(String key, int partitions) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), partitions);
+    }
+
+    private byte[] serialize(OutboxMessage message) {
+        try {
+            return objectMapper.writeValueAsBytes(message.payload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("아웃박스 이벤트를 직렬화할 수 없습니다: " + message.payload().getClass().getName(), e);
+        }
+    }
+
+    /**
+     * 아웃박스를 끈 경우 - 이전 방식대로 커밋 후 직접 전송 (노드 장애 시 유실 가능)
+     */
+    private void sendAfterCommit(List<OutboxMessage> messages) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (OutboxMessage message : messages) {
+                    kafkaTemplate.send(message.topic(), message.key(), message.payload())
+                            .whenComplete((result, ex) -> {
+                                if (ex != null) {
+                                    log.error("이벤트 발행 실패: topic={}, key={}", message.topic(), message.key(), ex);
+                                }
+                            });
+                }
+            }
+        });
+    }
+}
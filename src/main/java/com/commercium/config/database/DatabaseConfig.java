@@ -3,7 +3,10 @@ package com.commercium.config.database;
 import com.commercium.config.properties.DatabaseProperties;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +16,7 @@ import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.util.Map;
 
 @Configuration
 @EnableTransactionManagement
@@ -23,10 +27,34 @@ public class DatabaseConfig {
     private final DatabaseProperties databaseProperties;
 
     /**
-     * 쓰기 전용 데이터소스 (Master DB)
+     * 애플리케이션이 쓰는 데이터소스 - 읽기 전용 트랜잭션은 Replica, 나머지는 Master 로 라우팅
+     * 라우팅은 첫 SQL 실행 시점에 정해지도록 지연 커넥션으로 감싼다
      */
     @Bean
     @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") ObjectProvider<DataSource> readDataSource,
+                                 ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        DataSource replica = readDataSource.getIfAvailable();
+        ReplicaLagMonitor lagMonitor = replicaLagMonitor.getIfAvailable();
+        if (replica == null || lagMonitor == null || !databaseProperties.getRouting().isEnabled()) {
+            return new LazyConnectionDataSourceProxy(writeDataSource);
+        }
+
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(lagMonitor,
+                new ReadYourWritesTracker(writeDataSource, databaseProperties.getRouting()));
+        routing.setTargetDataSources(Map.of(
+                ReplicationRoutingDataSource.Target.PRIMARY, writeDataSource,
+                ReplicationRoutingDataSource.Target.REPLICA, replica));
+        routing.setDefaultTargetDataSource(writeDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * 쓰기 전용 데이터소스 (Master DB)
+     */
+    @Bean
     public DataSource writeDataSource() {
         HikariConfig config = new HikariConfig();
         config.setJdbcUrl(databaseProperties.getWrite().getUrl());
@@ -46,8 +74,10 @@ public class DatabaseConfig {
         config.addDataSourceProperty("cachePrepStmts", "true");
         config.addDataSourceProperty("prepStmtCacheSize", "250");
         config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        // JDBC 배치 INSERT 를 다중 행 INSERT 로 묶어 전송 (재고 이력 저장)
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
 
-        return new LazyConnectionDataSourceProxy(new HikariDataSource(config));
+        return new HikariDataSource(config);
     }
 
     /**
@@ -67,6 +97,16 @@ public class DatabaseConfig {
         config.setMaximumPoolSize(30);
         config.setMinimumIdle(10);
 
-        return new LazyConnectionDataSourceProxy(new HikariDataSource(config));
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Replica 복제 지연 측정 (라우팅 판단용)
+     */
+    @Bean
+    @Profile("!test")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("readDataSource") DataSource readDataSource,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(readDataSource, databaseProperties.getRouting(), meterRegistry);
     }
 }
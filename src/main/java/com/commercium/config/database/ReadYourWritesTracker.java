@@ -0,0 +1,117 @@
+package com.commercium.config.database;
+
+import com.commercium.config.properties.DatabaseProperties;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.replication.LogSequenceNumber;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+/**
+ * 자기 쓰기 확인 (read-your-writes) 토큰
+ *
+ * HTTP 요청 안의 쓰기 트랜잭션이 커밋되면 Master 의 WAL 위치를 쿠키로 내려준다.
+ * 이후 같은 클라이언트의 읽기 트랜잭션은 Replica 가 그 위치까지 재생했을 때만 Replica 로 보내고, 아니면 Master 에서 읽는다.
+ * 세션을 쓰지 않으므로(STATELESS) 토큰은 클라이언트 쿠키에 둔다.
+ *
+ * 비용: 커밋된 HTTP 쓰기 트랜잭션마다 Master 에 pg_current_wal_lsn() 조회가 한 번 더 간다.
+ * 그래서 Replica 라우팅이 켜진 경우에만 만들어지고 (DatabaseConfig), read-your-writes-seconds 가 0 이면 조회하지 않는다.
+ */
+@Slf4j
+public class ReadYourWritesTracker {
+
+    static final String COOKIE_NAME = "db-written-lsn";
+
+    private static final String WRITE_TRACKED = ReadYourWritesTracker.class.getName() + ".TRACKED";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final DatabaseProperties.Routing settings;
+
+    public ReadYourWritesTracker(DataSource writeDataSource, DatabaseProperties.Routing settings) {
+        this.primaryJdbcTemplate = new JdbcTemplate(writeDataSource);
+        this.settings = settings;
+    }
+
+    /**
+     * 쓰기 트랜잭션이 Master 커넥션을 얻을 때 호출 - 커밋 후 WAL 위치를 쿠키로 기록 (트랜잭션당 한 번)
+     */
+    public void trackWrite() {
+        if (settings.getReadYourWritesSeconds() <= 0
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null || attributes.getResponse() == null) {
+            return; // Kafka 컨슈머, 스케줄러 등 HTTP 요청이 아닌 경우
+        }
+
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writeToken(attributes.getResponse());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+
+    /**
+     * 현재 요청의 쓰기가 Replica 에 반영되었는지 (토큰이 없으면 true)
+     */
+    public boolean isVisible(long replayedLsn) {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return true;
+        }
+        long written = tokenOf(attributes.getRequest());
+        return written == 0 || replayedLsn >= written;
+    }
+
+    private void writeToken(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        try {
+            String lsn = primaryJdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+            Cookie cookie = new Cookie(COOKIE_NAME, lsn.replace('/', '-'));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(settings.getReadYourWritesSeconds());
+            response.addCookie(cookie);
+        } catch (RuntimeException e) {
+            // 토큰이 없으면 다음 읽기가 지연된 Replica 에서 이전 값을 볼 수 있을 뿐이다
+            log.warn("쓰기 위치 토큰 기록 실패", e);
+        }
+    }
+
+    private static long tokenOf(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return LogSequenceNumber.valueOf(cookie.getValue().replace('-', '/')).asLong();
+            }
+        }
+        return 0;
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes : null;
+    }
+}
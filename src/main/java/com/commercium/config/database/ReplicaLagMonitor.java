@@ -0,0 +1,89 @@
+package com.commercium.config.database;
+
+import com.commercium.config.properties.DatabaseProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.replication.LogSequenceNumber;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Replica 복제 지연 측정
+ *
+ * 주기적으로 Replica 의 재생 위치(LSN)와 지연을 읽어 둔다. 라우팅은 이 값만 보므로 요청마다 Replica 에 묻지 않는다.
+ * 받은 WAL 을 모두 재생했으면 지연을 0 으로 본다 (Master 에 쓰기가 없을 때 마지막 재생 시각이 오래되어도 지연이 아님).
+ * 측정이 실패하거나 오래되었으면 Replica 를 쓰지 않는다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String PROBE_SQL = """
+            SELECT CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END::text,
+                   CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END::bigint
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final DatabaseProperties.Routing settings;
+
+    private volatile Probe last;
+
+    public ReplicaLagMonitor(DataSource readDataSource, DatabaseProperties.Routing settings, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(readDataSource);
+        this.settings = settings;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.last == null ? -1 : monitor.last.lagMs())
+                .description("Replica 복제 지연 (ms, 측정 실패 시 -1)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.database.routing.lag-check-interval-ms:1000}")
+    public void probe() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        Probe previous = last;
+        try {
+            last = replicaJdbcTemplate.queryForObject(PROBE_SQL, (rs, rowNum) -> new Probe(
+                    LogSequenceNumber.valueOf(rs.getString(1)).asLong(), rs.getLong(2), System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            last = null;
+            if (previous != null) {
+                log.warn("Replica 지연 측정 실패 - 읽기를 Master 로 보냅니다", e);
+            }
+            return;
+        }
+
+        boolean wasUsable = previous != null && previous.lagMs() <= settings.getMaxLagMs();
+        if (wasUsable != (last.lagMs() <= settings.getMaxLagMs())) {
+            log.info("Replica 라우팅 {}: lagMs={}, maxLagMs={}",
+                    wasUsable ? "중단" : "재개", last.lagMs(), settings.getMaxLagMs());
+        }
+    }
+
+    /**
+     * 최근 측정이 유효하고 지연이 허용 범위 안이면 true
+     */
+    public boolean isReplicaUsable() {
+        Probe probe = last;
+        return probe != null
+                && probe.lagMs() <= settings.getMaxLagMs()
+                && System.currentTimeMillis() - probe.measuredAt() <= settings.getLagCheckIntervalMs() * 3;
+    }
+
+    /**
+     * 마지막 측정 시점에 Replica 가 재생을 마친 위치 (측정 전이면 0)
+     */
+    public long replayedLsn() {
+        Probe probe = last;
+        return probe == null ? 0 : probe.replayedLsn();
+    }
+
+    private record Probe(long replayedLsn, long lagMs, long measuredAt) {
+    }
+}
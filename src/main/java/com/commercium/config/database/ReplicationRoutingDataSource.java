@@ -0,0 +1,39 @@
+package com.commercium.config.database;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 Replica, 나머지는 Master 로 보내는 데이터소스
+ *
+ * 커넥션을 실제로 얻는 시점에 판단하므로 LazyConnectionDataSourceProxy 로 감싸 써야 한다
+ * (트랜잭션 시작 시점에는 readOnly 표시가 아직 동기화되지 않음).
+ * Replica 지연이 허용 범위를 넘었거나, 클라이언트의 마지막 쓰기를 Replica 가 아직 재생하지 않았으면 Master 에서 읽는다.
+ */
+class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    ReplicationRoutingDataSource(ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWritesTracker.trackWrite();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable() || !readYourWritesTracker.isVisible(lagMonitor.replayedLsn())) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+}
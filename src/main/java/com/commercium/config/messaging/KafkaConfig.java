@@ -1,10 +1,14 @@
 package com.commercium.config.messaging;
 
+import com.commercium.config.properties.OutboxProperties;
+import com.commercium.inventory.event.InventoryCommandConsumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
@@ -19,6 +23,7 @@ import java.util.Map;
 
 @Configuration
 @EnableKafka
+@EnableConfigurationProperties(OutboxProperties.class)
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
@@ -27,6 +32,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${app.inventory.command.concurrency:3}")
+    private int inventoryCommandConcurrency;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -49,6 +57,31 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * 아웃박스 릴레이용 - 이미 직렬화된 페이로드를 그대로 전송
+     * 재시도 중에도 같은 키의 순서가 바뀌지 않도록 멱등 프로듀서를 쓰고, 배치 전송이므로 묶음 크기를 키운다
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> outboxProducerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 10);
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(outboxProducerFactory());
+    }
+
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -76,4 +109,36 @@ public class KafkaConfig {
 
         return factory;
     }
+
+    /**
+     * 재고 명령 컨슈머용 - 배치로 받아 파티션별로 처리하고 컨슈머가 직접 오프셋을 커밋
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> inventoryCommandListenerContainerFactory(
+            InventoryCommandConsumer inventoryCommandConsumer) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(inventoryCommandConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // 회수된 파티션의 처리 스레드 정리
+        factory.getContainerProperties().setConsumerRebalanceListener(inventoryCommandConsumer);
+
+        return factory;
+    }
+
+    /**
+     * 주문 이벤트 배치 컨슈머용 - poll 단위로 받아 배치당 한 번 커밋
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> inventoryBatchListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        return factory;
+    }
 }
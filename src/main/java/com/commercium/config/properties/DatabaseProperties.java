@@ -9,6 +9,7 @@ public class DatabaseProperties {
 
     private DataSourceProperties write;
     private DataSourceProperties read;
+    private Routing routing = new Routing();
 
     @Data
     public static class DataSourceProperties {
@@ -16,5 +17,21 @@ public class DatabaseProperties {
         private String username;
         private String password;
     }
-}
 
+    /**
+     * 읽기 전용 트랜잭션의 Replica 라우팅
+     */
+    @Data
+    public static class Routing {
+        /** false 면 모든 트랜잭션이 Master 사용 (Replica 를 둔 환경에서만 켠다) */
+        private boolean enabled = false;
+        /** 이 지연을 넘으면 읽기도 Master 로 보냄 */
+        private long maxLagMs = 1000;
+        private long lagCheckIntervalMs = 1000;
+        /**
+         * 쓰기 후 자기 변경을 확인하기 위해 Replica 반영 위치를 비교하는 기간 (쿠키 유효 시간)
+         * 켜져 있으면 HTTP 쓰기 트랜잭션마다 커밋 후 Master 조회가 한 번 더 든다. 0 이면 토큰을 쓰지 않는다.
+         */
+        private int readYourWritesSeconds = 30;
+    }
+}
@@ -0,0 +1,245 @@
+package com.commercium.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.inventory")
+public class InventoryProperties {
+
+    /** 재고 변경을 처리할 저장소 (DATABASE: 행 단위 락, REDIS: Lua 스크립트 원장) */
+    private StockEngine stockEngine = StockEngine.DATABASE;
+
+    private WriteBehind writeBehind = new WriteBehind();
+
+    private Ledger ledger = new Ledger();
+
+    private Snapshot snapshot = new Snapshot();
+
+    private Reconciliation reconciliation = new Reconciliation();
+
+    private Alert alert = new Alert();
+
+    private BulkImport bulkImport = new BulkImport();
+
+    private Idempotency idempotency = new Idempotency();
+
+    private Coalescing coalescing = new Coalescing();
+
+    private Concurrency concurrency = new Concurrency();
+
+    private ReservationExpiry reservationExpiry = new ReservationExpiry();
+
+    private Command command = new Command();
+
+    private BatchConsumer batchConsumer = new BatchConsumer();
+
+    private Lock lock = new Lock();
+
+    private InlineReservation inlineReservation = new InlineReservation();
+
+    public enum StockEngine {
+        DATABASE,
+        REDIS
+    }
+
+    @Data
+    public static class WriteBehind {
+        /** Redis 원장을 DB로 반영하는 주기 (ms) */
+        private long flushIntervalMs = 200;
+        /** 한 번에 반영할 상품별 최대 원장 건수 */
+        private int batchSize = 500;
+    }
+
+    @Data
+    public static class Ledger {
+        /** 재고 이력 JDBC 배치 INSERT 한 번에 보낼 최대 행 수 */
+        private int insertBatchSize = 500;
+        /** 이번 달 이후로 미리 만들어 둘 월 파티션 수 */
+        private int partitionPremakeMonths = 3;
+        /** 상품 이력 페이지 조회 최대 크기 */
+        private int historyMaxPageSize = 100;
+        /** 보존 기간이 지난 파티션을 파일로 보관하고 삭제할지 여부 */
+        private boolean archiveEnabled = false;
+        /** DB에 남겨둘 월 파티션 수 (이번 달 제외) */
+        private int retentionMonths = 12;
+        /** 보관 파일(gzip CSV) 저장 경로 */
+        private String archiveDirectory = "./archive/inventory-transactions";
+    }
+
+    @Data
+    public static class Snapshot {
+        /** 주기적으로 상품별 재고 스냅샷을 갱신할지 여부 */
+        private boolean enabled = true;
+        /** 전체 상품 재생/감사 시 한 번에 나눠 처리할 상품 수 */
+        private int productBatchSize = 500;
+        /** 상품 재생 병렬 스레드 수 */
+        private int parallelism = 4;
+        /** 스냅샷에서 제외할 최근 이력 구간 (ms) - 늦게 커밋되는 이력 대비 */
+        private long snapshotLagMs = 60000;
+    }
+
+    @Data
+    public static class Reconciliation {
+        /** Redis 재고와 DB 재고 정합성 점검 여부 (Redis 엔진일 때만 동작) */
+        private boolean enabled = false;
+        /** 불일치가 확정되면 Redis 값을 DB 값으로 덮어쓸지 여부 (분할 재고는 보고만) */
+        private boolean repair = false;
+        /** 한 번에 DB에서 읽고 Redis 파이프라인으로 조회할 상품 수 */
+        private int batchSize = 1000;
+        /** 초당 최대 점검 상품 수 (0이면 제한 없음) */
+        private int maxProductsPerSecond = 50000;
+        /** 불일치 확정용 원장 반영 락 대기 시간 (ms) */
+        private long fenceWaitMs = 50;
+        /** 불일치 확정용 원장 반영 락 최대 보유 시간 (ms) */
+        private long fenceLeaseMs = 2000;
+        /** 진행 위치 보관 시간 (초) - 이 시간 안에 다시 실행되면 이어서 점검 */
+        private long checkpointTtlSeconds = 86400;
+    }
+
+    @Data
+    public static class Alert {
+        /** 상품별 재고 알림을 창 단위로 묶을지 여부 (false면 시도마다 발행) */
+        private boolean enabled = true;
+        /** 상품/종류별 알림 창 길이 (ms) - 창마다 최대 한 건 발행 */
+        private long windowMs = 60000;
+        /** 끝난 창의 요약 알림을 확인하는 주기 (ms) */
+        private long flushIntervalMs = 1000;
+        /** 기본 재고 부족 임계값 (사용가능 재고가 이 값 이하로 내려가면 알림) */
+        private int lowStockThreshold = 10;
+        /** 상품별 재고 부족 임계값 (상품 ID -> 임계값) */
+        private Map<String, Integer> lowStockThresholds = new HashMap<>();
+    }
+
+    @Data
+    public static class BulkImport {
+        /** COPY 로 한 번에 보낼 CSV 버퍼 크기 (문자 수) */
+        private int copyBufferChars = 65536;
+        /** 한 트랜잭션에서 반영할 상품 수 (행 락을 잡는 범위) */
+        private int mergeBatchSize = 10000;
+        /** 응답에 포함할 최대 거절 사유 수 */
+        private int maxReportedErrors = 100;
+    }
+
+    @Data
+    public static class Idempotency {
+        /** 주문 이벤트 재전달 시 (주문, 상품, 작업) 단위 중복 처리 방지 여부 */
+        private boolean enabled = true;
+        /** 처리 중 선점 유지 시간 (ms) - 처리 도중 노드가 죽으면 이 시간 뒤 재처리 가능 */
+        private long processingTtlMs = 60000;
+        /** 처리 완료 기록 보관 시간 (초) */
+        private long doneTtlSeconds = 86400;
+        /** 노드 메모리 최근 키 필터의 세대 길이 (ms) - 키는 이 시간의 1~2배 동안 남음, done-ttl 보다 짧아야 함 */
+        private long localWindowMs = 600000;
+        /** 노드 메모리 최근 키 필터의 세대당 최대 키 수 */
+        private int localMaxEntries = 200000;
+    }
+
+    @Data
+    public static class Coalescing {
+        /** 같은 상품의 동시 예약 요청을 한 트랜잭션으로 묶어 처리할지 여부 */
+        private boolean enabled = false;
+        /** 배치를 모으기 위해 기다리는 시간 (ms, 0이면 처리 중에 쌓인 요청만 묶음) */
+        private long windowMs = 2;
+        /** 배치 최대 요청 수 */
+        private int maxBatchSize = 200;
+        /** 한 요청 스레드가 연속으로 처리할 최대 배치 수 */
+        private int maxBatchesPerCombiner = 4;
+        /** 예약 결과 대기 제한 시간 (ms) */
+        private long timeoutMs = 10000;
+    }
+
+    @Data
+    public static class Concurrency {
+        /** DB 재고 변경 동시성 제어 방식 (ADAPTIVE: 상품별 경합률에 따라 자동 전환) */
+        private ConcurrencyMode mode = ConcurrencyMode.ADAPTIVE;
+        /** 버전 충돌 시 최대 시도 횟수 */
+        private int maxAttempts = 5;
+        /** 이 시간(ms) 이상 락을 기다리면 경합으로 기록 */
+        private long contendedWaitMs = 20;
+        /** 경합률 지수 이동 평균 가중치 */
+        private double ewmaAlpha = 0.1;
+        /** 행 락 전략으로 전환하는 경합률 */
+        private double pessimisticThreshold = 0.1;
+        /** 분산 락 전략으로 전환하는 경합률 */
+        private double redisLockThreshold = 0.4;
+        /** 한 단계 낮은 전략으로 되돌리기 전 최소 유지 시간 (ms) */
+        private long cooldownMs = 30000;
+    }
+
+    @Data
+    public static class ReservationExpiry {
+        /** 결제되지 않은 예약을 만료시켜 재고를 돌려놓을지 여부 */
+        private boolean enabled = true;
+        /** 예약 유지 시간 (ms) */
+        private long ttlMs = 900000;
+        /** 타이밍 휠 틱 간격 (ms) */
+        private long tickMs = 100;
+        /** 타이밍 휠 단계별 슬롯 수 */
+        private int wheelSize = 512;
+        /** 한 번에 만료 처리할 최대 예약 수 */
+        private int batchSize = 200;
+        /** 다른 노드/재시작으로 휠에 없는 만료 예약을 찾는 주기 (ms) */
+        private long sweepIntervalMs = 5000;
+        /** 만료 시각이 이만큼(ms) 지나도 처리되지 않은 예약만 주기 점검에서 처리 */
+        private long sweepGraceMs = 5000;
+        /** 만료 해제 실패 시 재시도까지 대기 시간 (ms) */
+        private long retryDelayMs = 30000;
+        /** 만료로 해제된 예약 표식 유지 시간 (초) - 이후 도착한 취소/결제 판별용 */
+        private long expiredMarkerTtlSeconds = 604800;
+    }
+
+    @Data
+    public static class Command {
+        /** 주문 이벤트를 상품 ID 키의 재고 명령으로 나눠 파티션 단일 처리자로 반영할지 여부 */
+        private boolean enabled = false;
+        /** 재고 명령 토픽 */
+        private String topic = "inventory.command";
+        /** 재고 명령 컨슈머 수 (파티션 수 이하) */
+        private int concurrency = 3;
+        /** 재고 부족 외 실패를 재시도하는 횟수 - 다 쓰면 dead-letter 토픽으로 보내고 다음 명령으로 넘어간다 */
+        private int maxAttempts = 5;
+        /** 처리하지 못한 재고 명령을 보내는 토픽 */
+        private String deadLetterTopic = "inventory.command.dlt";
+    }
+
+    @Data
+    public static class BatchConsumer {
+        /** 주문 이벤트를 poll 단위로 모아 상품별 일괄 반영 (켜면 건별 컨슈머와 재고 명령 발행은 멈춤) */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Lock {
+        /** 분산 락 최소 리스 (ms) */
+        private long minLeaseMs = 1000;
+        /** 분산 락 최대 리스 (ms) - 보유 시간 측정 전에도 사용 */
+        private long maxLeaseMs = 30000;
+        /** 최근 최대 보유 시간에 곱할 여유 배수 */
+        private double leaseMultiplier = 4.0;
+        /** 리스를 조정하기 전에 필요한 보유 시간 샘플 수 */
+        private int leaseMinSamples = 20;
+        /** 핫 키 통계를 따로 모을 최대 락 키 수 */
+        private int maxTrackedKeys = 10000;
+        /** 같은 노드의 대기 스레드에게 Redis 락을 풀지 않고 넘겨줄지 여부 */
+        private boolean localHandoff = true;
+        /** Redis 락 한 번으로 연속해서 넘겨줄 최대 횟수 (다른 노드 기아 방지, 펜싱 토큰 하위 16비트라 65535 이하) */
+        private int maxHandoffs = 32;
+    }
+
+    @Data
+    public static class InlineReservation {
+        /** 주문 생성 요청 안에서 Redis 스크립트로 주문 재고를 예약 (redis 엔진과 중복 방지가 켜져 있어야 함) */
+        private boolean enabled = false;
+    }
+
+    public enum ConcurrencyMode {
+        ADAPTIVE,
+        OPTIMISTIC,
+        PESSIMISTIC,
+        REDIS_LOCK
+    }
+}
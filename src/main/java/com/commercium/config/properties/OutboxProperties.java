@@ -0,0 +1,29 @@
+package com.commercium.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /** false 면 아웃박스를 거치지 않고 커밋 후 바로 Kafka 로 전송 */
+    private boolean enabled = true;
+
+    /** 메시지 키 해시로 나누는 릴레이 파티션 수 (같은 키는 같은 파티션에서 순서대로 전송, 운영 중 변경 시 잠시 순서가 섞일 수 있음) */
+    private int partitions = 16;
+
+    /** 파티션을 동시에 처리할 노드당 작업 스레드 수 */
+    private int relayThreads = 4;
+
+    /** 파티션 한 번 처리에서 읽어 보낼 최대 행 수 */
+    private int batchSize = 500;
+
+    /** 한 폴링에서 파티션당 처리할 최대 배치 수 (밀린 파티션이 다른 파티션을 막지 않도록) */
+    private int maxBatchesPerPoll = 10;
+
+    private long pollIntervalMs = 100;
+
+    /** 배치 전송 결과를 기다리는 최대 시간 */
+    private long sendTimeoutMs = 10000;
+}
@@ -1,10 +1,17 @@
 package com.commercium.inventory.controller;
 
 import com.commercium.common.dto.ApiResponse;
+import com.commercium.inventory.domain.service.InventoryLedgerReplayer;
+import com.commercium.inventory.infrastructure.InventoryBulkImporter;
 import com.commercium.inventory.service.InventoryService;
 import com.commercium.inventory.service.StockReservationService;
+import com.commercium.inventory.service.dto.InventoryImportResponse;
 import com.commercium.inventory.service.dto.InventoryResponse;
+import com.commercium.inventory.service.dto.LedgerAuditResponse;
+import com.commercium.inventory.service.dto.StockAvailabilityRequest;
+import com.commercium.inventory.service.dto.StockAvailabilityResponse;
 import com.commercium.inventory.service.dto.StockReservationRequest;
+import com.commercium.inventory.service.dto.StockTransactionPageResponse;
 import com.commercium.inventory.service.dto.StockTransactionResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,8 +25,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -32,6 +41,8 @@ public class InventoryController {
 
     private final InventoryService inventoryService;
     private final StockReservationService stockReservationService;
+    private final InventoryLedgerReplayer inventoryLedgerReplayer;
+    private final InventoryBulkImporter inventoryBulkImporter;
 
     @PostMapping("/{productId}")
     @Operation(summary = "재고 생성", description = "새로운 상품의 재고를 생성합니다")
@@ -50,6 +61,18 @@ public class InventoryController {
                 .body(ApiResponse.success(response, "재고가 성공적으로 생성되었습니다"));
     }
 
+    @PostMapping("/availability")
+    @Operation(summary = "재고 일괄 조회", description = "여러 상품(최대 200개)의 주문 가능 수량을 한 번에 조회합니다 (목록 화면용)")
+    public ResponseEntity<ApiResponse<StockAvailabilityResponse>> getStockAvailability(
+            @Valid @RequestBody StockAvailabilityRequest request) {
+
+        log.debug("재고 일괄 조회 요청: count={}", request.getProductIds().size());
+
+        StockAvailabilityResponse response = inventoryService.getStockAvailability(request.getProductIds());
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/{productId}")
     @Operation(summary = "재고 조회", description = "특정 상품의 재고 정보를 조회합니다")
     public ResponseEntity<ApiResponse<InventoryResponse>> getInventory(
@@ -99,20 +122,87 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success(null, "재고 조정이 완료되었습니다"));
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    @Operation(summary = "재고 일괄 입고/조정", description = "product_id,quantity 형식의 CSV 본문을 스트리밍으로 읽어 재고를 일괄 반영합니다 (SET: 전체 수량으로 조정, ADD: 입고)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<InventoryImportResponse>> importInventory(
+            @Parameter(description = "반영 방식", required = true)
+            @RequestParam(defaultValue = "SET") InventoryBulkImporter.Mode mode,
+            @Parameter(description = "사유")
+            @RequestParam(required = false, defaultValue = "창고 재고 동기화") String reason,
+            InputStream csv) {
+
+        log.info("재고 일괄 입고 요청: mode={}, reason={}", mode, reason);
+
+        InventoryImportResponse response = inventoryBulkImporter.importCsv(csv, mode, reason);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                response,
+                String.format("%d건 중 %d건을 거절했습니다", response.getTotalRows(), response.getRejectedRows())
+        ));
+    }
+
+    @PutMapping("/{productId}/split-stock")
+    @Operation(summary = "분할 재고 설정", description = "초고트래픽 상품의 재고를 여러 버킷으로 나눠 처리합니다 (1이면 분할 해제)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<InventoryResponse>> configureSplitStock(
+            @Parameter(description = "상품 ID", required = true)
+            @PathVariable String productId,
+            @Parameter(description = "버킷 수", required = true)
+            @RequestParam @NotNull @Min(1) @Max(64) Integer buckets) {
+
+        log.info("분할 재고 설정 요청: productId={}, buckets={}", productId, buckets);
+
+        InventoryResponse response = inventoryService.configureSplitStock(productId, buckets);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "분할 재고 설정이 완료되었습니다"));
+    }
+
     @GetMapping("/{productId}/transactions")
-    @Operation(summary = "재고 이력 조회", description = "특정 상품의 재고 변동 이력을 조회합니다")
+    @Operation(summary = "재고 이력 조회", description = "특정 상품의 재고 변동 이력을 최신순으로 페이지 단위 조회합니다")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SELLER')")
-    public ResponseEntity<ApiResponse<List<StockTransactionResponse>>> getStockTransactions(
+    public ResponseEntity<ApiResponse<StockTransactionPageResponse>> getStockTransactions(
+            @Parameter(description = "상품 ID", required = true)
+            @PathVariable String productId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer size) {
+
+        log.info("재고 이력 조회 요청: productId={}, size={}", productId, size);
+
+        StockTransactionPageResponse page = inventoryService.getStockTransactions(productId, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                page,
+                String.format("%d건의 재고 이력을 조회했습니다", page.getTransactions().size())
+        ));
+    }
+
+    @GetMapping("/{productId}/ledger-audit")
+    @Operation(summary = "재고 원장 감사", description = "스냅샷과 이후 이력으로 재고를 재구성해 현재 재고와 비교합니다")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LedgerAuditResponse>> auditLedger(
             @Parameter(description = "상품 ID", required = true)
             @PathVariable String productId) {
 
-        log.info("재고 이력 조회 요청: productId={}", productId);
+        log.info("재고 원장 감사 요청: productId={}", productId);
 
-        List<StockTransactionResponse> transactions = inventoryService.getStockTransactions(productId);
+        return ResponseEntity.ok(ApiResponse.success(inventoryLedgerReplayer.audit(productId)));
+    }
+
+    @GetMapping("/ledger-audit")
+    @Operation(summary = "전체 재고 원장 감사", description = "전체 상품을 병렬로 재구성해 현재 재고와 다른 상품만 반환합니다")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<LedgerAuditResponse>>> auditAllLedgers() {
+
+        log.info("전체 재고 원장 감사 요청");
+
+        List<LedgerAuditResponse> mismatches = inventoryLedgerReplayer.auditAll();
 
         return ResponseEntity.ok(ApiResponse.success(
-                transactions,
-                String.format("총 %d건의 재고 이력을 조회했습니다", transactions.size())
+                mismatches,
+                String.format("불일치 상품 %d건", mismatches.size())
         ));
     }
 
@@ -1,6 +1,7 @@
 package com.commercium.inventory.domain;
 
 import com.commercium.common.event.DomainEvents;
+import com.commercium.common.id.DomainIds;
 import com.commercium.inventory.event.StockDepletedEvent;
 import com.commercium.inventory.event.StockReleasedEvent;
 import com.commercium.inventory.event.StockReservedEvent;
@@ -19,6 +20,8 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Inventory {
 
+    public static final int MAX_STOCK_BUCKETS = 64;
+
     @Id
     @Column(name = "inventory_id")
     private String inventoryId;
@@ -34,6 +37,12 @@ public class Inventory {
     })
     private StockQuantity stockQuantity;
 
+    @Column(name = "stock_buckets")
+    private Integer stockBuckets; // 분할 재고 버킷 수 (1이면 분할하지 않음)
+
+    @Column(name = "fencing_token")
+    private Long fencingToken; // 마지막으로 반영한 분산 락 보유자의 펜싱 토큰
+
     @Version
     private Integer version; // 낙관적 락
 
@@ -43,10 +52,20 @@ public class Inventory {
     @Transient
     private List<InventoryTransaction> pendingTransactions = new ArrayList<>();
 
+    @Transient
+    private StockCounter stockCounter; // 변경 중인 재고 (플러시/저장 시 stockQuantity 로 반영)
+
+    @Transient
+    private boolean stockChanged;
+
+    @Transient
+    private LocalDateTime mutatedAt; // 저장 전 변경 묶음의 시각 (이력 created_at 과 updated_at 에 공통 사용)
+
     private Inventory(ProductId productId, Integer initialQuantity) {
-        this.inventoryId = java.util.UUID.randomUUID().toString();
+        this.inventoryId = DomainIds.next();
         this.productId = productId;
         this.stockQuantity = StockQuantity.initialStock(initialQuantity);
+        this.stockBuckets = 1;
         this.version = 1;
         this.updatedAt = LocalDateTime.now();
     }
@@ -62,29 +81,31 @@ public class Inventory {
      * 재고 예약 (주문 시)
      */
     public void reserve(String orderId, Integer quantity, String reason) {
-        StockQuantity beforeStock = this.stockQuantity;
+        StockCounter counter = counter();
 
-        if (!beforeStock.canReserve(quantity)) {
+        if (!counter.canReserve(quantity)) {
             // 재고 부족 이벤트 발행
             DomainEvents.raise(new StockDepletedEvent(
                     productId.getValue(),
                     quantity,
-                    beforeStock.getAvailable()
+                    counter.available()
             ));
             throw new IllegalStateException("재고가 부족합니다");
         }
 
-        this.stockQuantity = beforeStock.reserve(quantity);
-        this.updatedAt = LocalDateTime.now();
+        int beforeAvailable = counter.available();
+        int beforeReserved = counter.reserved();
+        counter.reserve(quantity);
 
         // 트랜잭션 이력 생성
-        addPendingTransaction(orderId, TransactionType.RESERVE, quantity, beforeStock, reason);
+        addPendingTransaction(orderId, TransactionType.RESERVE, quantity, beforeAvailable, beforeReserved, reason);
 
         // 재고 예약 완료 이벤트 발행
         DomainEvents.raise(new StockReservedEvent(
                 productId.getValue(),
                 orderId,
-                quantity
+                quantity,
+                counter.available()
         ));
     }
 
@@ -92,12 +113,13 @@ public class Inventory {
      * 예약 해제 (주문 취소 시)
      */
     public void releaseReservation(String orderId, Integer quantity, String reason) {
-        StockQuantity beforeStock = this.stockQuantity;
-        this.stockQuantity = beforeStock.release(quantity);
-        this.updatedAt = LocalDateTime.now();
+        StockCounter counter = counter();
+        int beforeAvailable = counter.available();
+        int beforeReserved = counter.reserved();
+        counter.release(quantity);
 
         // 트랜잭션 이력 생성
-        addPendingTransaction(orderId, TransactionType.RELEASE, quantity, beforeStock, reason);
+        addPendingTransaction(orderId, TransactionType.RELEASE, quantity, beforeAvailable, beforeReserved, reason);
 
         // 재고 해제 완료 이벤트 발행
         DomainEvents.raise(new StockReleasedEvent(
@@ -111,54 +133,140 @@ public class Inventory {
      * 재고 차감 (결제 완료 시)
      */
     public void decrease(String orderId, Integer quantity, String reason) {
-        StockQuantity beforeStock = this.stockQuantity;
-        this.stockQuantity = beforeStock.decrease(quantity);
-        this.updatedAt = LocalDateTime.now();
+        StockCounter counter = counter();
+        int beforeAvailable = counter.available();
+        int beforeReserved = counter.reserved();
+        counter.decrease(quantity);
 
         // 트랜잭션 이력 생성
-        addPendingTransaction(orderId, TransactionType.DECREASE, quantity, beforeStock, reason);
+        addPendingTransaction(orderId, TransactionType.DECREASE, quantity, beforeAvailable, beforeReserved, reason);
     }
 
     /**
      * 재고 증가 (입고, 반품 등)
      */
     public void increase(Integer quantity, String reason) {
-        StockQuantity beforeStock = this.stockQuantity;
-        this.stockQuantity = beforeStock.increase(quantity);
-        this.updatedAt = LocalDateTime.now();
+        StockCounter counter = counter();
+        int beforeAvailable = counter.available();
+        int beforeReserved = counter.reserved();
+        counter.increase(quantity);
 
         // 트랜잭션 이력 생성
-        addPendingTransaction(null, TransactionType.INCREASE, quantity, beforeStock, reason);
+        addPendingTransaction(null, TransactionType.INCREASE, quantity, beforeAvailable, beforeReserved, reason);
     }
 
     /**
      * 관리자 재고 조정
      */
     public void adjust(Integer newQuantity, String reason) {
-        StockQuantity beforeStock = this.stockQuantity;
-        Integer adjustmentQuantity = newQuantity - beforeStock.getTotalStock();
+        StockCounter counter = counter();
+        int beforeAvailable = counter.available();
+        int beforeReserved = counter.reserved();
+        int adjustmentQuantity = newQuantity - (beforeAvailable + beforeReserved);
 
-        this.stockQuantity = StockQuantity.of(newQuantity, 0); // 조정 시 예약 재고는 모두 해제
-        this.updatedAt = LocalDateTime.now();
+        counter.reset(newQuantity); // 조정 시 예약 재고는 모두 해제
 
         // 트랜잭션 이력 생성
-        addPendingTransaction(null, TransactionType.ADJUSTMENT, adjustmentQuantity, beforeStock, reason);
+        addPendingTransaction(null, TransactionType.ADJUSTMENT, adjustmentQuantity, beforeAvailable, beforeReserved, reason);
+    }
+
+    /**
+     * 분산 락 보유자의 펜싱 토큰 확인
+     * 리스가 만료된 뒤 늦게 도착한 이전 보유자의 변경은 더 큰 토큰이 이미 반영되어 있으므로 거부된다.
+     */
+    public void acceptFencingToken(long token) {
+        if (this.fencingToken != null && token < this.fencingToken) {
+            throw new StaleFencingTokenException(productId.getValue(), token, this.fencingToken);
+        }
+        this.fencingToken = token;
+    }
+
+    /**
+     * Redis 원장에서 확정된 재고 상태 반영 (write-behind)
+     */
+    public void syncStockQuantity(StockQuantity stockQuantity, LocalDateTime updatedAt) {
+        this.stockCounter = null;
+        this.stockChanged = false;
+        this.mutatedAt = null;
+        this.stockQuantity = stockQuantity;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * 분할 재고 버킷 수 변경 (초고트래픽 상품용, 1이면 분할 해제)
+     */
+    public void changeStockBuckets(int stockBuckets) {
+        if (stockBuckets < 1 || stockBuckets > MAX_STOCK_BUCKETS) {
+            throw new IllegalArgumentException("재고 버킷 수는 1 이상 " + MAX_STOCK_BUCKETS + " 이하여야 합니다");
+        }
+        this.stockBuckets = stockBuckets;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public int getStockBucketCount() {
+        return stockBuckets == null ? 1 : stockBuckets;
     }
 
     public boolean isStockSufficient(Integer requiredQuantity) {
-        return stockQuantity.canReserve(requiredQuantity);
+        return stockCounter != null ? stockCounter.canReserve(requiredQuantity) : stockQuantity.canReserve(requiredQuantity);
+    }
+
+    /**
+     * 예약 재고 (값 객체를 만들지 않는 조회)
+     */
+    public int getReservedStock() {
+        return stockCounter != null ? stockCounter.reserved() : stockQuantity.getReserved();
+    }
+
+    /**
+     * 현재 재고 (반영 전 변경이 있으면 카운터 값으로 만든 값 객체, 엔티티 상태는 바꾸지 않음)
+     */
+    public StockQuantity getStockQuantity() {
+        return stockChanged ? stockCounter.toStockQuantity() : stockQuantity;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return stockChanged ? mutatedAt : updatedAt;
+    }
+
+    /**
+     * 변경 중인 재고를 JPA 값 객체로 반영 (플러시 직전 InventoryFlushInterceptor 와 저장소 save() 에서 호출, 카운터는 계속 사용)
+     */
+    public void materializeStock() {
+        if (stockChanged) {
+            this.stockQuantity = stockCounter.toStockQuantity();
+            this.updatedAt = mutatedAt;
+            this.stockChanged = false;
+        }
     }
 
     public List<InventoryTransaction> getAndClearPendingTransactions() {
         List<InventoryTransaction> transactions = new ArrayList<>(pendingTransactions);
         pendingTransactions.clear();
+        mutatedAt = null; // 다음 변경 묶음은 새 시각을 사용
         return transactions;
     }
 
+    /**
+     * 변경용 카운터 (첫 변경 시 값 객체에서 한 번만 복사, 같은 엔티티의 이후 변경은 객체를 만들지 않음)
+     */
+    private StockCounter counter() {
+        if (stockCounter == null) {
+            stockCounter = StockCounter.from(stockQuantity);
+        }
+        if (mutatedAt == null) {
+            mutatedAt = LocalDateTime.now();
+        }
+        stockChanged = true;
+        return stockCounter;
+    }
+
     private void addPendingTransaction(String orderId, TransactionType type, Integer quantity,
-                                       StockQuantity beforeStock, String reason) {
+                                       int beforeAvailable, int beforeReserved, String reason) {
         InventoryTransaction transaction = InventoryTransaction.create(
-                productId, orderId, type, quantity, beforeStock, stockQuantity, reason
+                productId, orderId, type, quantity,
+                beforeAvailable, beforeReserved, stockCounter.available(), stockCounter.reserved(),
+                reason, mutatedAt
         );
         pendingTransactions.add(transaction);
     }
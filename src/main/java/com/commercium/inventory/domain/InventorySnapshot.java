@@ -0,0 +1,65 @@
+package com.commercium.inventory.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 상품별 재고 원장 스냅샷
+ *
+ * 마지막으로 반영한 이력 위치(created_at, transaction_id)까지의 재고를 기록해 두고,
+ * 재구성 시 이 위치 이후의 이력만 다시 적용한다. 상품마다 최신 스냅샷 한 건만 유지한다.
+ */
+@Entity
+@Table(name = "inventory_snapshots")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class InventorySnapshot {
+
+    @Id
+    @Column(name = "product_id")
+    private String productId;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "available", column = @Column(name = "available_quantity")),
+            @AttributeOverride(name = "reserved", column = @Column(name = "reserved_quantity"))
+    })
+    private StockQuantity stockQuantity;
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    @Column(name = "last_transaction_at", nullable = false)
+    private LocalDateTime lastTransactionAt;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+
+    private InventorySnapshot(String productId) {
+        this.productId = productId;
+    }
+
+    public static InventorySnapshot of(String productId, StockQuantity stockQuantity,
+                                       Long lastTransactionId, LocalDateTime lastTransactionAt) {
+        InventorySnapshot snapshot = new InventorySnapshot(productId);
+        snapshot.advance(stockQuantity, lastTransactionId, lastTransactionAt);
+        return snapshot;
+    }
+
+    /**
+     * 더 뒤의 이력 위치로 스냅샷 갱신
+     */
+    public void advance(StockQuantity stockQuantity, Long lastTransactionId, LocalDateTime lastTransactionAt) {
+        if (this.lastTransactionAt != null && lastTransactionAt.isBefore(this.lastTransactionAt)) {
+            throw new IllegalStateException("스냅샷은 이전 이력 위치로 되돌릴 수 없습니다: productId=" + productId);
+        }
+        this.stockQuantity = stockQuantity;
+        this.lastTransactionId = lastTransactionId;
+        this.lastTransactionAt = lastTransactionAt;
+        this.snapshotAt = LocalDateTime.now();
+    }
+}
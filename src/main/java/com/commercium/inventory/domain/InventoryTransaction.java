@@ -6,7 +6,6 @@ import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity
 @Table(name = "inventory_transactions")
@@ -14,9 +13,10 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class InventoryTransaction {
 
+    /** 시간 순서 64비트 식별자 - 저장 시점에 InventoryTransactionWriter 가 부여 */
     @Id
     @Column(name = "transaction_id")
-    private String transactionId;
+    private Long transactionId;
 
     @Embedded
     @AttributeOverride(name = "value", column = @Column(name = "product_id"))
@@ -51,7 +51,6 @@ public class InventoryTransaction {
 
     private InventoryTransaction(ProductId productId, String orderId, TransactionType transactionType,
                                  Integer quantity, StockQuantity beforeStock, StockQuantity afterStock, String reason) {
-        this.transactionId = UUID.randomUUID().toString();
         this.productId = productId;
         this.orderId = orderId;
         this.transactionType = transactionType;
@@ -68,4 +67,49 @@ public class InventoryTransaction {
                                               Integer quantity, StockQuantity beforeStock, StockQuantity afterStock, String reason) {
         return new InventoryTransaction(productId, orderId, transactionType, quantity, beforeStock, afterStock, reason);
     }
+
+    /**
+     * 기본형 재고 값으로 이력 생성 (StockCounter 경로 - 같은 저장 묶음의 이력은 발생 시각을 공유)
+     */
+    public static InventoryTransaction create(ProductId productId, String orderId, TransactionType transactionType,
+                                              Integer quantity, int beforeAvailable, int beforeReserved,
+                                              int afterAvailable, int afterReserved, String reason,
+                                              LocalDateTime occurredAt) {
+        InventoryTransaction transaction = new InventoryTransaction();
+        transaction.productId = productId;
+        transaction.orderId = orderId;
+        transaction.transactionType = transactionType;
+        transaction.quantity = quantity;
+        transaction.beforeAvailable = beforeAvailable;
+        transaction.beforeReserved = beforeReserved;
+        transaction.afterAvailable = afterAvailable;
+        transaction.afterReserved = afterReserved;
+        transaction.reason = reason;
+        transaction.createdAt = occurredAt;
+        return transaction;
+    }
+
+    /**
+     * Redis 원장 항목으로부터 이력 생성 (원장의 식별자와 발생 시각 유지)
+     */
+    public static InventoryTransaction fromLedger(Long transactionId, ProductId productId, String orderId,
+                                                  TransactionType transactionType, Integer quantity,
+                                                  StockQuantity beforeStock, StockQuantity afterStock,
+                                                  String reason, LocalDateTime occurredAt) {
+        InventoryTransaction transaction = new InventoryTransaction(
+                productId, orderId, transactionType, quantity, beforeStock, afterStock, reason);
+        transaction.transactionId = transactionId;
+        transaction.createdAt = occurredAt;
+        return transaction;
+    }
+
+    /**
+     * 식별자 부여 (이미 부여된 이력은 변경 불가)
+     */
+    public void assignTransactionId(long transactionId) {
+        if (this.transactionId != null) {
+            throw new IllegalStateException("이미 식별자가 부여된 재고 이력입니다: " + this.transactionId);
+        }
+        this.transactionId = transactionId;
+    }
 }
@@ -0,0 +1,23 @@
+package com.commercium.inventory.domain;
+
+import lombok.Getter;
+
+/**
+ * 리스가 만료된 분산 락 보유자의 재고 변경 시도
+ *
+ * 재고 부족 같은 업무 오류가 아니므로 호출자는 락을 다시 잡고 재시도해야 한다.
+ */
+@Getter
+public class StaleFencingTokenException extends RuntimeException {
+
+    private final String productId;
+    private final long token;
+    private final long currentToken;
+
+    public StaleFencingTokenException(String productId, long token, long currentToken) {
+        super("만료된 락 보유자의 재고 변경입니다: productId=" + productId + ", token=" + token + ", 현재=" + currentToken);
+        this.productId = productId;
+        this.token = token;
+        this.currentToken = currentToken;
+    }
+}
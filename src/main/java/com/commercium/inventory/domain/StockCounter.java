@@ -0,0 +1,80 @@
+package com.commercium.inventory.domain;
+
+/**
+ * 변경 중인 재고 수량 (가변, 기본형)
+ *
+ * StockQuantity 는 변경마다 새 객체를 만들기 때문에, 한 엔티티에 변경이 몰리는 배치/병합 처리에서는
+ * 이 카운터를 제자리에서 바꾸고 조회나 저장 시점에만 StockQuantity 로 옮긴다. 검증 규칙과 메시지는 StockQuantity 와 같다.
+ * 스레드 안전하지 않으므로 엔티티와 같은 범위(한 트랜잭션)에서만 사용한다.
+ */
+public final class StockCounter {
+
+    private int available;
+    private int reserved;
+
+    private StockCounter(int available, int reserved) {
+        this.available = available;
+        this.reserved = reserved;
+    }
+
+    public static StockCounter from(StockQuantity stockQuantity) {
+        return new StockCounter(stockQuantity.getAvailable(), stockQuantity.getReserved());
+    }
+
+    public int available() {
+        return available;
+    }
+
+    public int reserved() {
+        return reserved;
+    }
+
+    public boolean canReserve(int quantity) {
+        return available >= quantity;
+    }
+
+    public void reserve(int quantity) {
+        if (!canReserve(quantity)) {
+            throw new IllegalStateException("재고가 부족합니다. 요청: " + quantity + ", 사용가능: " + available);
+        }
+        available -= quantity;
+        reserved += quantity;
+    }
+
+    public void release(int quantity) {
+        if (reserved < quantity) {
+            throw new IllegalStateException("해제할 예약 재고가 부족합니다. 요청: " + quantity + ", 예약됨: " + reserved);
+        }
+        available += quantity;
+        reserved -= quantity;
+    }
+
+    public void decrease(int quantity) {
+        if (reserved < quantity) {
+            throw new IllegalStateException("차감할 예약 재고가 부족합니다. 요청: " + quantity + ", 예약됨: " + reserved);
+        }
+        reserved -= quantity;
+    }
+
+    public void increase(int quantity) {
+        if (available + quantity < 0) {
+            throw new IllegalArgumentException("사용 가능한 재고는 0 이상이어야 합니다");
+        }
+        available += quantity;
+    }
+
+    /**
+     * 관리자 조정 - 예약 재고는 모두 해제
+     */
+    public void reset(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("사용 가능한 재고는 0 이상이어야 합니다");
+        }
+        available = quantity;
+        reserved = 0;
+    }
+
+    public StockQuantity toStockQuantity() {
+        return StockQuantity.of(available, reserved);
+    }
+}
@@ -2,7 +2,10 @@ package com.commercium.inventory.domain.repository;
 
 import com.commercium.inventory.domain.Inventory;
 import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.StockQuantity;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface InventoryRepository {
@@ -13,6 +16,9 @@ public interface InventoryRepository {
 
     Optional<Inventory> findByProductIdWithLock(ProductId productId);
 
+    /** 여러 상품의 재고 수량만 한 번의 IN 쿼리로 조회 (엔티티 적재 없음, 없는 상품은 빠짐) */
+    Map<String, StockQuantity> findStockQuantities(Collection<String> productIds);
+
     void delete(Inventory inventory);
 
     boolean existsByProductId(ProductId productId);
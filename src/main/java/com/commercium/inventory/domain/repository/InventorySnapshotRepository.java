@@ -0,0 +1,12 @@
+package com.commercium.inventory.domain.repository;
+
+import com.commercium.inventory.domain.InventorySnapshot;
+
+import java.util.Optional;
+
+public interface InventorySnapshotRepository {
+
+    InventorySnapshot save(InventorySnapshot snapshot);
+
+    Optional<InventorySnapshot> findByProductId(String productId);
+}
@@ -5,6 +5,7 @@ import com.commercium.inventory.domain.ProductId;
 import com.commercium.inventory.domain.TransactionType;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface InventoryTransactionRepository {
@@ -15,9 +16,15 @@ public interface InventoryTransactionRepository {
 
     List<InventoryTransaction> findByProductId(ProductId productId);
 
+    /** 상품 이력 키셋 페이지 - after 보다 오래된 이력을 최신순으로 최대 limit 건 (after 가 null 이면 첫 페이지) */
+    List<InventoryTransaction> findPageByProductId(ProductId productId, TransactionCursor after, int limit);
+
     List<InventoryTransaction> findByOrderId(String orderId);
 
     List<InventoryTransaction> findByProductIdAndTransactionType(ProductId productId, TransactionType type);
 
     List<InventoryTransaction> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    /** 생성 시각 범위를 함께 받아 해당 월 파티션만 조회한다 */
+    List<Long> findExistingTransactionIds(Collection<Long> transactionIds, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
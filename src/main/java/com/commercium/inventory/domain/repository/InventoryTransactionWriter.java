@@ -0,0 +1,79 @@
+package com.commercium.inventory.domain.repository;
+
+import com.commercium.common.id.SnowflakeIdGenerator;
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.InventoryTransaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 재고 이력 전용 저장기 (insert-only)
+ *
+ * 재고 이력은 추가만 되므로 JPA 영속성 컨텍스트를 거치지 않고 JDBC 배치 INSERT 로 저장한다.
+ * 식별자가 미리 정해진 엔티티를 JPA 로 저장하면 건마다 merge(SELECT 후 INSERT)가 일어나기 때문이다.
+ * JDBC URL 의 reWriteBatchedInserts 옵션으로 드라이버가 배치를 다중 행 INSERT 로 묶어 전송한다.
+ * 현재 트랜잭션의 커넥션을 그대로 사용하므로 재고 행 갱신과 함께 커밋/롤백된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class InventoryTransactionWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO inventory_transactions (
+                transaction_id, product_id, order_id, transaction_type, quantity,
+                before_available, after_available, before_reserved, after_reserved,
+                reason, created_at
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnowflakeIdGenerator idGenerator;
+    private final InventoryProperties inventoryProperties;
+
+    public List<InventoryTransaction> insertAll(List<InventoryTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return transactions;
+        }
+
+        for (InventoryTransaction transaction : transactions) {
+            if (transaction.getTransactionId() == null) {
+                transaction.assignTransactionId(idGenerator.nextId());
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, inventoryProperties.getLedger().getInsertBatchSize(),
+                (ps, transaction) -> {
+                    ps.setLong(1, transaction.getTransactionId());
+                    ps.setString(2, transaction.getProductId().getValue());
+                    ps.setString(3, transaction.getOrderId());
+                    ps.setString(4, transaction.getTransactionType().name());
+                    ps.setInt(5, transaction.getQuantity());
+                    setNullableInt(ps, 6, transaction.getBeforeAvailable());
+                    setNullableInt(ps, 7, transaction.getAfterAvailable());
+                    setNullableInt(ps, 8, transaction.getBeforeReserved());
+                    setNullableInt(ps, 9, transaction.getAfterReserved());
+                    ps.setString(10, transaction.getReason());
+                    ps.setTimestamp(11, Timestamp.valueOf(transaction.getCreatedAt()));
+                });
+
+        log.debug("재고 이력 일괄 저장: count={}", transactions.size());
+        return transactions;
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.commercium.inventory.domain.repository;
+
+import com.commercium.inventory.domain.InventorySnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+interface SpringDataInventorySnapshotRepository extends JpaRepository<InventorySnapshot, String> {
+}
+
+@Repository
+@RequiredArgsConstructor
+public class JpaInventorySnapshotRepository implements InventorySnapshotRepository {
+
+    private final SpringDataInventorySnapshotRepository snapshotRepository;
+
+    @Override
+    public InventorySnapshot save(InventorySnapshot snapshot) {
+        return snapshotRepository.save(snapshot);
+    }
+
+    @Override
+    public Optional<InventorySnapshot> findByProductId(String productId) {
+        return snapshotRepository.findById(productId);
+    }
+}
@@ -3,6 +3,7 @@ package com.commercium.inventory.domain.repository;
 import com.commercium.inventory.domain.Inventory;
 import com.commercium.inventory.domain.InventoryTransaction;
 import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.StockQuantity;
 import com.commercium.inventory.domain.TransactionType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,7 +14,10 @@ import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 interface SpringDataInventoryRepository extends JpaRepository<Inventory, String> {
@@ -25,9 +29,13 @@ interface SpringDataInventoryRepository extends JpaRepository<Inventory, String>
     Optional<Inventory> findByProductIdWithLock(@Param("productId") ProductId productId);
 
     boolean existsByProductId(ProductId productId);
+
+    @Query("SELECT i.productId.value, i.stockQuantity.available, i.stockQuantity.reserved " +
+            "FROM Inventory i WHERE i.productId.value IN :productIds")
+    List<Object[]> findStockQuantities(@Param("productIds") Collection<String> productIds);
 }
 
-interface SpringDataInventoryTransactionRepository extends JpaRepository<InventoryTransaction, String> {
+interface SpringDataInventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long> {
 
     List<InventoryTransaction> findByProductIdOrderByCreatedAtDesc(ProductId productId);
 
@@ -36,6 +44,26 @@ interface SpringDataInventoryTransactionRepository extends JpaRepository<Invento
     List<InventoryTransaction> findByProductIdAndTransactionTypeOrderByCreatedAtDesc(ProductId productId, TransactionType transactionType);
 
     List<InventoryTransaction> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate, LocalDateTime endDate);
+
+    // 키셋 페이지 - (product_id, created_at DESC, transaction_id DESC) 인덱스를 순서대로 읽고 LIMIT 에서 멈춘다
+    @Query(value = "SELECT * FROM inventory_transactions WHERE product_id = :productId " +
+            "ORDER BY created_at DESC, transaction_id DESC LIMIT :limit", nativeQuery = true)
+    List<InventoryTransaction> findFirstPageByProductId(@Param("productId") String productId,
+                                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM inventory_transactions WHERE product_id = :productId " +
+            "AND (created_at, transaction_id) < (:createdAt, :transactionId) " +
+            "ORDER BY created_at DESC, transaction_id DESC LIMIT :limit", nativeQuery = true)
+    List<InventoryTransaction> findPageByProductIdBefore(@Param("productId") String productId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("transactionId") long transactionId,
+                                                         @Param("limit") int limit);
+
+    @Query("SELECT t.transactionId FROM InventoryTransaction t " +
+            "WHERE t.transactionId IN :transactionIds AND t.createdAt BETWEEN :from AND :to")
+    List<Long> findExistingTransactionIds(@Param("transactionIds") Collection<Long> transactionIds,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
 }
 
 @Repository
@@ -44,16 +72,15 @@ public class JpaInventoryRepository implements InventoryRepository, InventoryTra
 
     private final SpringDataInventoryRepository inventoryRepository;
     private final SpringDataInventoryTransactionRepository transactionRepository;
+    private final InventoryTransactionWriter transactionWriter;
 
     @Override
     public Inventory save(Inventory inventory) {
+        inventory.materializeStock(); // merge 는 @Transient 카운터를 복사하지 않으므로 먼저 반영 (관리 중인 엔티티는 플러시 때도 반영)
         Inventory savedInventory = inventoryRepository.save(inventory);
 
-        // 펜딩 트랜잭션들 저장
-        List<InventoryTransaction> transactions = savedInventory.getAndClearPendingTransactions();
-        if (!transactions.isEmpty()) {
-            transactionRepository.saveAll(transactions);
-        }
+        // 펜딩 트랜잭션들 저장 (JPA 를 거치지 않는 배치 INSERT)
+        transactionWriter.insertAll(savedInventory.getAndClearPendingTransactions());
 
         return savedInventory;
     }
@@ -68,6 +95,15 @@ public class JpaInventoryRepository implements InventoryRepository, InventoryTra
         return inventoryRepository.findByProductIdWithLock(productId);
     }
 
+    @Override
+    public Map<String, StockQuantity> findStockQuantities(Collection<String> productIds) {
+        Map<String, StockQuantity> result = new HashMap<>(productIds.size() * 2);
+        for (Object[] row : inventoryRepository.findStockQuantities(productIds)) {
+            result.put((String) row[0], StockQuantity.of((Integer) row[1], (Integer) row[2]));
+        }
+        return result;
+    }
+
     @Override
     public void delete(Inventory inventory) {
         inventoryRepository.delete(inventory);
@@ -81,12 +117,13 @@ public class JpaInventoryRepository implements InventoryRepository, InventoryTra
     // InventoryTransaction 메서드들
     @Override
     public InventoryTransaction save(InventoryTransaction transaction) {
-        return transactionRepository.save(transaction);
+        transactionWriter.insertAll(List.of(transaction));
+        return transaction;
     }
 
     @Override
     public List<InventoryTransaction> saveAll(List<InventoryTransaction> transactions) {
-        return transactionRepository.saveAll(transactions);
+        return transactionWriter.insertAll(transactions);
     }
 
     @Override
@@ -94,6 +131,15 @@ public class JpaInventoryRepository implements InventoryRepository, InventoryTra
         return transactionRepository.findByProductIdOrderByCreatedAtDesc(productId);
     }
 
+    @Override
+    public List<InventoryTransaction> findPageByProductId(ProductId productId, TransactionCursor after, int limit) {
+        if (after == null) {
+            return transactionRepository.findFirstPageByProductId(productId.getValue(), limit);
+        }
+        return transactionRepository.findPageByProductIdBefore(
+                productId.getValue(), after.createdAt(), after.transactionId(), limit);
+    }
+
     @Override
     public List<InventoryTransaction> findByOrderId(String orderId) {
         return transactionRepository.findByOrderIdOrderByCreatedAtDesc(orderId);
@@ -108,4 +154,9 @@ public class JpaInventoryRepository implements InventoryRepository, InventoryTra
     public List<InventoryTransaction> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
         return transactionRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate);
     }
+
+    @Override
+    public List<Long> findExistingTransactionIds(Collection<Long> transactionIds, LocalDateTime from, LocalDateTime to) {
+        return transactionRepository.findExistingTransactionIds(transactionIds, from, to);
+    }
 }
@@ -0,0 +1,44 @@
+package com.commercium.inventory.domain.repository;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.inventory.domain.InventoryTransaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 재고 이력 키셋 페이지 커서 - 마지막으로 읽은 이력의 (created_at, transaction_id)
+ *
+ * 클라이언트에는 불투명한 문자열로 전달하고, 다음 페이지는 이 위치보다 오래된 이력부터 읽는다.
+ */
+public record TransactionCursor(LocalDateTime createdAt, long transactionId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TransactionCursor of(InventoryTransaction transaction) {
+        return new TransactionCursor(transaction.getCreatedAt(), transaction.getTransactionId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessRuleViolationException("잘못된 커서입니다: " + cursor);
+            }
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64, 숫자 형식 오류 포함
+            throw new BusinessRuleViolationException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.common.event.DomainEvents;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.repository.InventoryRepository;
+import com.commercium.inventory.event.StockDepletedEvent;
+import com.commercium.inventory.infrastructure.RedisReservationExpiryStore;
+import com.commercium.order.domain.OrderItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 여러 주문의 재고 변경을 상품별로 모아 한 트랜잭션에서 처리 (Kafka 배치 컨슈머용)
+ *
+ * 배치에 등장하는 상품을 ID 순서로 한 번씩 행 락으로 조회하고, 주문 순서대로 메모리에서 반영한 뒤 한 번에 저장한다.
+ * 주문 단위로 모든 상품을 먼저 검사하므로 한 주문이 일부만 반영되지 않으며, 처리할 수 없는 주문만 거절된다.
+ * 취소/결제는 만료 처리와 겹치지 않도록 먼저 만료 추적에서 예약을 가져가고, 거절되거나 롤백된 주문의 예약은 트랜잭션 종료 후 돌려놓는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchStockReservationService {
+
+    private final InventoryRepository inventoryRepository;
+    private final ReservationExpiryScheduler expiryScheduler;
+
+    /**
+     * 주문들의 재고 예약
+     *
+     * @return 재고 부족으로 거절된 주문 ID
+     */
+    @Transactional
+    public Set<String> reserveOrders(Map<String, List<OrderItem>> itemsByOrder) {
+        Map<String, Map<String, Integer>> linesByOrder = mergeLines(itemsByOrder);
+        Map<String, Inventory> inventories = loadWithLock(linesByOrder);
+        Set<String> rejected = new LinkedHashSet<>();
+
+        linesByOrder.forEach((orderId, lines) -> {
+            String shortage = findShortage(lines, inventories, (productId, inventory, quantity) -> inventory.isStockSufficient(quantity));
+            if (shortage != null) {
+                rejected.add(orderId);
+                Inventory inventory = inventories.get(shortage);
+                DomainEvents.raise(new StockDepletedEvent(shortage, lines.get(shortage),
+                        inventory == null ? 0 : inventory.getStockQuantity().getAvailable()));
+                return;
+            }
+
+            lines.forEach((productId, quantity) -> {
+                inventories.get(productId).reserve(orderId, quantity, "주문 생성으로 인한 재고 예약");
+                expiryScheduler.schedule(orderId, productId, quantity);
+            });
+        });
+
+        saveAll(inventories);
+        log.info("주문 재고 일괄 예약 완료: 주문수={}, 상품수={}, 거절={}", linesByOrder.size(), inventories.size(), rejected.size());
+        return rejected;
+    }
+
+    /**
+     * 주문들의 예약 해제 (이미 만료로 해제된 상품은 건너뜀)
+     *
+     * @return 해제할 예약 재고가 부족해 거절된 주문 ID
+     */
+    @Transactional
+    public Set<String> releaseOrders(Map<String, List<OrderItem>> itemsByOrder) {
+        Map<String, Map<String, Integer>> linesByOrder = mergeLines(itemsByOrder);
+        Map<String, Inventory> inventories = loadWithLock(linesByOrder);
+        Set<String> rejected = new LinkedHashSet<>();
+        ResolvedReservations resolved = resolveUntilCompletion();
+
+        linesByOrder.forEach((orderId, lines) -> {
+            Map<String, Integer> tracked = new TreeMap<>(lines);
+            resolved.resolve(orderId, lines).forEach(tracked::remove);
+
+            String shortage = findShortage(tracked, inventories, (productId, inventory, quantity) -> inventory.getReservedStock() >= quantity);
+            if (shortage != null) {
+                rejected.add(orderId);
+                log.warn("해제할 예약 재고 부족: orderId={}, productId={}", orderId, shortage);
+                return;
+            }
+
+            tracked.forEach((productId, quantity) ->
+                    inventories.get(productId).releaseReservation(orderId, quantity, "주문 취소로 인한 재고 해제"));
+            resolved.markApplied(orderId);
+        });
+
+        saveAll(inventories);
+        log.info("주문 재고 일괄 해제 완료: 주문수={}, 상품수={}, 거절={}", linesByOrder.size(), inventories.size(), rejected.size());
+        return rejected;
+    }
+
+    /**
+     * 주문들의 재고 차감 (만료된 예약은 남은 재고로 다시 예약한 뒤 차감)
+     *
+     * @return 차감할 재고가 부족해 거절된 주문 ID
+     */
+    @Transactional
+    public Set<String> decreaseOrders(Map<String, List<OrderItem>> itemsByOrder) {
+        Map<String, Map<String, Integer>> linesByOrder = mergeLines(itemsByOrder);
+        Map<String, Inventory> inventories = loadWithLock(linesByOrder);
+        Set<String> rejected = new LinkedHashSet<>();
+        ResolvedReservations resolved = resolveUntilCompletion();
+
+        linesByOrder.forEach((orderId, lines) -> {
+            Set<String> expired = resolved.resolve(orderId, lines);
+
+            String shortage = findShortage(lines, inventories, (productId, inventory, quantity) ->
+                    expired.contains(productId) ? inventory.isStockSufficient(quantity) : inventory.getReservedStock() >= quantity);
+            if (shortage != null) {
+                rejected.add(orderId);
+                log.warn("차감할 재고 부족: orderId={}, productId={}", orderId, shortage);
+                return;
+            }
+
+            lines.forEach((productId, quantity) -> {
+                Inventory inventory = inventories.get(productId);
+                if (expired.contains(productId)) {
+                    inventory.reserve(orderId, quantity, "만료된 예약의 결제 완료로 인한 재고 재예약");
+                }
+                inventory.decrease(orderId, quantity, "결제 완료로 인한 재고 차감");
+            });
+            resolved.markApplied(orderId);
+        });
+
+        saveAll(inventories);
+        log.info("주문 재고 일괄 차감 완료: 주문수={}, 상품수={}, 거절={}", linesByOrder.size(), inventories.size(), rejected.size());
+        return rejected;
+    }
+
+    private Map<String, Map<String, Integer>> mergeLines(Map<String, List<OrderItem>> itemsByOrder) {
+        Map<String, Map<String, Integer>> linesByOrder = new LinkedHashMap<>();
+        itemsByOrder.forEach((orderId, items) -> {
+            Map<String, Integer> lines = new TreeMap<>();
+            items.forEach(item -> lines.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+            linesByOrder.put(orderId, lines);
+        });
+        return linesByOrder;
+    }
+
+    /**
+     * 배치의 모든 상품을 ID 순서로 행 락 조회 (교착 상태 방지), 없는 상품은 결과에서 빠진다
+     */
+    private Map<String, Inventory> loadWithLock(Map<String, Map<String, Integer>> linesByOrder) {
+        Set<String> productIds = new TreeSet<>();
+        linesByOrder.values().forEach(lines -> productIds.addAll(lines.keySet()));
+
+        Map<String, Inventory> inventories = new TreeMap<>();
+        for (String productId : productIds) {
+            inventoryRepository.findByProductIdWithLock(ProductId.of(productId))
+                    .ifPresent(inventory -> inventories.put(productId, inventory));
+        }
+        return inventories;
+    }
+
+    /**
+     * 만료 추적에서 가져간 예약 - 트랜잭션이 끝나면 반영되지 않은 주문(거절, 롤백)의 예약을 돌려놓는다
+     */
+    private ResolvedReservations resolveUntilCompletion() {
+        ResolvedReservations resolved = new ResolvedReservations();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                resolved.restoreUnapplied(status == STATUS_COMMITTED);
+            }
+        });
+        return resolved;
+    }
+
+    /**
+     * 반영할 수 없는 첫 상품 ID (재고 정보 없음 포함), 모두 가능하면 null
+     */
+    private String findShortage(Map<String, Integer> lines, Map<String, Inventory> inventories, LineCheck check) {
+        for (Map.Entry<String, Integer> line : lines.entrySet()) {
+            Inventory inventory = inventories.get(line.getKey());
+            if (inventory == null || !check.test(line.getKey(), inventory, line.getValue())) {
+                return line.getKey();
+            }
+        }
+        return null;
+    }
+
+    private void saveAll(Map<String, Inventory> inventories) {
+        inventories.values().forEach(inventoryRepository::save);
+    }
+
+    private final class ResolvedReservations {
+
+        private final Map<String, Map<String, Integer>> trackedByOrder = new LinkedHashMap<>();
+        private final Set<String> appliedOrders = new HashSet<>();
+
+        /**
+         * 주문 상품들의 예약을 만료 추적에서 가져온다
+         *
+         * @return 이미 만료로 해제된 상품 ID
+         */
+        Set<String> resolve(String orderId, Map<String, Integer> lines) {
+            Set<String> expired = new HashSet<>();
+            lines.forEach((productId, quantity) -> {
+                RedisReservationExpiryStore.ResolveStatus status = expiryScheduler.resolve(orderId, productId, quantity);
+                if (status == RedisReservationExpiryStore.ResolveStatus.EXPIRED) {
+                    expired.add(productId);
+                } else if (status == RedisReservationExpiryStore.ResolveStatus.TRACKED) {
+                    trackedByOrder.computeIfAbsent(orderId, key -> new TreeMap<>()).put(productId, quantity);
+                }
+            });
+            return expired;
+        }
+
+        void markApplied(String orderId) {
+            appliedOrders.add(orderId);
+        }
+
+        void restoreUnapplied(boolean committed) {
+            trackedByOrder.forEach((orderId, lines) -> {
+                if (committed && appliedOrders.contains(orderId)) {
+                    return;
+                }
+                lines.forEach((productId, quantity) -> expiryScheduler.restore(orderId, productId, quantity));
+                log.info("반영되지 않은 주문의 예약 만료 추적 복구: orderId={}, 상품수={}", orderId, lines.size());
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineCheck {
+        boolean test(String productId, Inventory inventory, int quantity);
+    }
+}
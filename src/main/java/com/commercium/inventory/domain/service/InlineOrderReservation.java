@@ -0,0 +1,94 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.infrastructure.InventoryIdempotencyStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 주문 생성 요청 안에서 주문 재고 예약 (app.inventory.inline-reservation.enabled)
+ *
+ * 주문 트랜잭션 안에서 Redis 스크립트 한 번으로 주문의 모든 상품을 예약하고, 실패하면 주문도 만들지 않는다.
+ * 커밋되면 StockReservationService 와 같이 상품별 예약 만료를 등록하고, 롤백되면 예약을 되돌린다.
+ * 되돌리는 해제까지 실패한 상품은 그 자리에서 예약 만료를 등록해 만료 처리가 회수하게 한다 (만료 처리가 꺼져 있으면 점검 대상으로 로그만 남긴다).
+ * 예약 즉시 RESERVE 처리 완료를 기록해, 커밋 후 전달되는 inventory.reserve 이벤트는 다시 예약하지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InlineOrderReservation {
+
+    private static final String REASON = "주문 생성";
+    private static final String COMPENSATION_REASON = "주문 생성 실패 보상";
+
+    private final RedisStockEngine redisStockEngine;
+    private final InventoryIdempotencyStore idempotencyStore;
+    private final InventoryProperties inventoryProperties;
+    private final ReservationExpiryScheduler expiryScheduler;
+
+    @PostConstruct
+    public void validate() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!redisStockEngine.isEnabled()) {
+            throw new IllegalStateException("주문 생성 시 재고 예약은 redis 재고 엔진에서만 사용할 수 있습니다");
+        }
+        if (!inventoryProperties.getIdempotency().isEnabled()) {
+            throw new IllegalStateException("주문 생성 시 재고 예약은 재고 요청 중복 방지가 켜져 있어야 합니다");
+        }
+    }
+
+    public boolean isEnabled() {
+        return inventoryProperties.getInlineReservation().isEnabled();
+    }
+
+    /**
+     * 주문 재고 예약 (전부 성공 또는 전부 실패) - 주문 트랜잭션 안에서 호출
+     */
+    public void reserve(String orderId, Map<String, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("주문 생성 시 재고 예약은 주문 트랜잭션 안에서만 할 수 있습니다");
+        }
+
+        Map<String, Integer> lines = new TreeMap<>(quantities);
+        redisStockEngine.reserveOrder(orderId, lines, REASON);
+        lines.forEach((productId, quantity) -> expiryScheduler.schedule(orderId, productId, quantity));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    compensate(orderId, lines);
+                }
+            }
+        });
+        idempotencyStore.complete(InventoryIdempotencyStore.Operation.RESERVE, orderId, lines.keySet());
+    }
+
+    private void compensate(String orderId, Map<String, Integer> lines) {
+        lines.forEach((productId, quantity) -> {
+            try {
+                redisStockEngine.release(productId, orderId, quantity, COMPENSATION_REASON);
+            } catch (RuntimeException e) {
+                if (expiryScheduler.isEnabled()) {
+                    // 커밋되지 않아 만료 등록이 없으므로 여기서 등록해 만료 처리가 회수하게 한다
+                    expiryScheduler.restore(orderId, productId, quantity);
+                    log.error("주문 생성 실패 보상 해제 실패 (예약 만료 시 회수): orderId={}, productId={}, quantity={}",
+                            orderId, productId, quantity, e);
+                } else {
+                    log.error("주문 생성 실패 보상 해제 실패 (재고 정합성 점검 필요): orderId={}, productId={}, quantity={}",
+                            orderId, productId, quantity, e);
+                }
+            }
+        });
+        log.info("주문 생성 실패로 재고 예약 해제: orderId={}, 상품수={}", orderId, lines.size());
+    }
+}
@@ -0,0 +1,197 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.InventorySnapshot;
+import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.repository.InventoryRepository;
+import com.commercium.inventory.domain.repository.InventorySnapshotRepository;
+import com.commercium.inventory.domain.repository.TransactionCursor;
+import com.commercium.inventory.infrastructure.InventoryLedgerStreamReader;
+import com.commercium.inventory.service.dto.LedgerAuditResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 재고 원장 재생
+ *
+ * 상품의 최신 스냅샷에서 시작해 이후 이력의 변화량(after - before)을 누적해 재고를 재구성한다.
+ * 스냅샷이 없으면 가장 오래된 이력의 before 값에서 시작한다.
+ * 이력의 before 가 직전까지 누적한 값과 다르면 누락/중복 이력이 있다는 뜻이므로 불연속으로 센다.
+ * 전체 상품 작업은 상품 ID 배치 단위로 전용 스레드 풀에서 병렬 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLedgerReplayer {
+
+    private final InventoryLedgerStreamReader ledgerReader;
+    private final InventorySnapshotRepository snapshotRepository;
+    private final InventoryRepository inventoryRepository;
+    private final RedisStockEngine redisStockEngine;
+    private final InventoryProperties inventoryProperties;
+
+    private volatile ExecutorService workers;
+
+    /**
+     * 스냅샷 이후 until 이전까지의 이력으로 재고 재구성
+     */
+    public ReplayResult replay(String productId, LocalDateTime until) {
+        Optional<InventorySnapshot> snapshot = snapshotRepository.findByProductId(productId);
+        ReplayState state = snapshot
+                .map(s -> new ReplayState(s.getStockQuantity().getAvailable(), s.getStockQuantity().getReserved(),
+                        s.getLastTransactionId(), s.getLastTransactionAt()))
+                .orElseGet(ReplayState::new);
+        TransactionCursor after = snapshot
+                .map(s -> new TransactionCursor(s.getLastTransactionAt(), s.getLastTransactionId()))
+                .orElse(null);
+
+        ledgerReader.forEachSince(productId, after, until, state::apply);
+
+        return new ReplayResult(productId, state.toStockQuantity(), state.applied, state.discontinuities,
+                state.lastTransactionId, state.lastTransactionAt, snapshot.isPresent());
+    }
+
+    /**
+     * 원장 재생 결과와 DB 재고(및 Redis 엔진이면 Redis 재고) 비교
+     */
+    public LedgerAuditResponse audit(String productId) {
+        ReplayResult replayed = replay(productId, LocalDateTime.now().plusSeconds(1));
+
+        StockQuantity database = inventoryRepository.findByProductId(ProductId.of(productId))
+                .map(Inventory::getStockQuantity)
+                .orElse(null);
+        StockQuantity redis = redisStockEngine.isEnabled()
+                ? redisStockEngine.currentStock(productId).orElse(null)
+                : null;
+
+        return LedgerAuditResponse.of(replayed, database, redis);
+    }
+
+    /**
+     * 전체 상품 감사 - 원장과 DB 재고가 다르거나 불연속 이력이 있는 상품만 반환
+     */
+    public List<LedgerAuditResponse> auditAll() {
+        List<LedgerAuditResponse> mismatches = new ArrayList<>();
+        forEachProductInParallel(this::audit, result -> {
+            if (!result.isConsistent()) {
+                mismatches.add(result);
+            }
+        });
+        log.info("전체 재고 원장 감사 완료: 불일치={}", mismatches.size());
+        return mismatches;
+    }
+
+    /**
+     * 전체 상품에 작업을 병렬 적용하고 결과를 호출 스레드에서 차례로 넘긴다 (배치 단위로 대기하므로 메모리 사용이 일정)
+     */
+    public <T> int forEachProductInParallel(Function<String, T> task, Consumer<T> resultHandler) {
+        AtomicInteger processed = new AtomicInteger();
+        ExecutorService executor = workers();
+
+        ledgerReader.forEachProductIdBatch(inventoryProperties.getSnapshot().getProductBatchSize(), productIds -> {
+            List<CompletableFuture<T>> futures = productIds.stream()
+                    .map(productId -> CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return task.apply(productId);
+                        } catch (RuntimeException e) {
+                            log.error("재고 원장 재생 실패: productId={}", productId, e);
+                            return null;
+                        }
+                    }, executor))
+                    .toList();
+
+            for (CompletableFuture<T> future : futures) {
+                T result = future.join();
+                if (result != null) {
+                    resultHandler.accept(result);
+                    processed.incrementAndGet();
+                }
+            }
+        });
+        return processed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    private ExecutorService workers() {
+        if (workers == null) {
+            synchronized (this) {
+                if (workers == null) {
+                    AtomicInteger sequence = new AtomicInteger();
+                    workers = Executors.newFixedThreadPool(inventoryProperties.getSnapshot().getParallelism(), runnable -> {
+                        Thread thread = new Thread(runnable, "inventory-replay-" + sequence.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return workers;
+    }
+
+    private static class ReplayState {
+        private Integer available;
+        private Integer reserved;
+        private Long lastTransactionId;
+        private LocalDateTime lastTransactionAt;
+        private long applied;
+        private long discontinuities;
+
+        private ReplayState() {
+        }
+
+        private ReplayState(int available, int reserved, Long lastTransactionId, LocalDateTime lastTransactionAt) {
+            this.available = available;
+            this.reserved = reserved;
+            this.lastTransactionId = lastTransactionId;
+            this.lastTransactionAt = lastTransactionAt;
+        }
+
+        private void apply(InventoryLedgerStreamReader.LedgerRow row) {
+            if (available == null) {
+                available = row.beforeAvailable();
+                reserved = row.beforeReserved();
+            } else if (available != row.beforeAvailable() || reserved != row.beforeReserved()) {
+                discontinuities++;
+            }
+
+            // 변화량을 누적하므로 불연속이 있어도 반영된 이력 기준의 재고는 정확하다
+            available += row.availableDelta();
+            reserved += row.reservedDelta();
+            lastTransactionId = row.transactionId();
+            lastTransactionAt = row.createdAt();
+            applied++;
+        }
+
+        private StockQuantity toStockQuantity() {
+            return available == null ? null : StockQuantity.of(available, reserved);
+        }
+    }
+
+    /**
+     * 재생 결과 (quantity 가 null 이면 스냅샷도 이력도 없는 상품)
+     */
+    public record ReplayResult(String productId, StockQuantity quantity, long applied, long discontinuities,
+                               Long lastTransactionId, LocalDateTime lastTransactionAt, boolean fromSnapshot) {
+    }
+}
@@ -1,19 +1,32 @@
 package com.commercium.inventory.domain.service;
 
 import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.config.properties.InventoryProperties;
 import com.commercium.inventory.domain.Inventory;
 import com.commercium.inventory.domain.InventoryTransaction;
 import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.repository.TransactionCursor;
 import com.commercium.inventory.repository.InventoryRepository;
 import com.commercium.inventory.repository.InventoryTransactionRepository;
 import com.commercium.inventory.service.dto.InventoryResponse;
+import com.commercium.inventory.service.dto.StockAvailabilityResponse;
+import com.commercium.inventory.service.dto.StockTransactionPageResponse;
 import com.commercium.inventory.service.dto.StockTransactionResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -23,6 +36,8 @@ public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
     private final InventoryTransactionRepository transactionRepository;
+    private final RedisStockEngine redisStockEngine;
+    private final InventoryProperties inventoryProperties;
 
     /**
      * 상품 재고 생성
@@ -51,13 +66,63 @@ public class InventoryService {
         Inventory inventory = inventoryRepository.findByProductId(prodId)
                 .orElseThrow(() -> new BusinessRuleViolationException("재고 정보를 찾을 수 없습니다"));
 
+        if (redisStockEngine.isEnabled()) {
+            return redisStockEngine.currentStock(productId)
+                    .map(stockQuantity -> InventoryResponse.from(inventory, stockQuantity))
+                    .orElseGet(() -> InventoryResponse.from(inventory));
+        }
+
         return InventoryResponse.from(inventory);
     }
 
+    /**
+     * 여러 상품의 주문 가능 수량 일괄 조회 (목록 화면용)
+     *
+     * Redis 엔진이면 MGET 으로 읽고, Redis에 적재되지 않은 상품만 DB IN 쿼리 한 번으로 보충한다.
+     */
+    @Transactional(readOnly = true)
+    public StockAvailabilityResponse getStockAvailability(List<String> productIds) {
+        Set<String> requested = new LinkedHashSet<>(productIds);
+        Map<String, StockQuantity> quantities = new HashMap<>(requested.size() * 2);
+
+        if (redisStockEngine.isEnabled()) {
+            quantities.putAll(redisStockEngine.currentStocks(requested));
+        }
+
+        if (quantities.size() < requested.size()) {
+            List<String> misses = requested.stream()
+                    .filter(productId -> !quantities.containsKey(productId))
+                    .toList();
+            quantities.putAll(inventoryRepository.findStockQuantities(misses));
+        }
+
+        Map<String, Integer> available = new LinkedHashMap<>(requested.size() * 2);
+        List<String> notFound = new ArrayList<>();
+        for (String productId : requested) {
+            StockQuantity quantity = quantities.get(productId);
+            if (quantity == null) {
+                notFound.add(productId);
+            } else {
+                available.put(productId, quantity.getAvailable());
+            }
+        }
+
+        return StockAvailabilityResponse.builder()
+                .available(available)
+                .notFound(notFound)
+                .build();
+    }
+
     /**
      * 재고 입고
      */
     public void increaseStock(String productId, Integer quantity, String reason) {
+        if (redisStockEngine.isEnabled()) {
+            redisStockEngine.increase(productId, quantity, reason);
+            log.info("재고 입고 완료(Redis): productId={}, quantity={}", productId, quantity);
+            return;
+        }
+
         ProductId prodId = ProductId.of(productId);
         Inventory inventory = inventoryRepository.findByProductId(prodId)
                 .orElseThrow(() -> new BusinessRuleViolationException("재고 정보를 찾을 수 없습니다"));
@@ -72,6 +137,12 @@ public class InventoryService {
      * 관리자 재고 조정
      */
     public void adjustStock(String productId, Integer newQuantity, String reason) {
+        if (redisStockEngine.isEnabled()) {
+            redisStockEngine.adjust(productId, newQuantity, reason);
+            log.info("재고 조정 완료(Redis): productId={}, newQuantity={}", productId, newQuantity);
+            return;
+        }
+
         ProductId prodId = ProductId.of(productId);
         Inventory inventory = inventoryRepository.findByProductId(prodId)
                 .orElseThrow(() -> new BusinessRuleViolationException("재고 정보를 찾을 수 없습니다"));
@@ -83,16 +154,57 @@ public class InventoryService {
     }
 
     /**
-     * 재고 트랜잭션 이력 조회
+     * 분할 재고 모드 설정 (buckets=1 이면 해제)
+     *
+     * Redis 버킷 재분배는 커밋 후에 한다 - 커밋이 실패(@Version 충돌 등)하면 DB 버킷 수는 그대로이므로 Redis 도 건드리지 않는다.
+     * 재분배가 실패하면 DB 와 Redis 버킷 수가 달라지므로 같은 설정을 다시 요청해야 한다.
      */
-    @Transactional(readOnly = true)
-    public List<StockTransactionResponse> getStockTransactions(String productId) {
+    public InventoryResponse configureSplitStock(String productId, Integer buckets) {
         ProductId prodId = ProductId.of(productId);
-        List<InventoryTransaction> transactions = transactionRepository.findByProductId(prodId);
+        Inventory inventory = inventoryRepository.findByProductId(prodId)
+                .orElseThrow(() -> new BusinessRuleViolationException("재고 정보를 찾을 수 없습니다"));
 
-        return transactions.stream()
-                .map(StockTransactionResponse::from)
-                .toList();
+        inventory.changeStockBuckets(buckets);
+        inventoryRepository.save(inventory);
+
+        if (redisStockEngine.isEnabled()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        redisStockEngine.resplit(productId, buckets);
+                    } catch (RuntimeException e) {
+                        log.error("분할 재고 Redis 재분배 실패 (재요청 필요): productId={}, buckets={}", productId, buckets, e);
+                        throw e;
+                    }
+                }
+            });
+        }
+
+        log.info("분할 재고 설정 완료: productId={}, buckets={}", productId, buckets);
+
+        return getInventory(productId);
+    }
+
+    /**
+     * 재고 트랜잭션 이력 조회 (최신순 키셋 페이지)
+     */
+    @Transactional(readOnly = true)
+    public StockTransactionPageResponse getStockTransactions(String productId, String cursor, int size) {
+        ProductId prodId = ProductId.of(productId);
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), inventoryProperties.getLedger().getHistoryMaxPageSize());
+
+        // 한 건 더 읽어 다음 페이지 존재 여부 판단
+        List<InventoryTransaction> transactions = transactionRepository.findPageByProductId(prodId, after, pageSize + 1);
+        boolean hasNext = transactions.size() > pageSize;
+        List<InventoryTransaction> page = hasNext ? transactions.subList(0, pageSize) : transactions;
+
+        return StockTransactionPageResponse.builder()
+                .transactions(page.stream().map(StockTransactionResponse::from).toList())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? TransactionCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
     }
 
     /**
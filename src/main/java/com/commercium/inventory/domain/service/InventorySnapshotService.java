@@ -0,0 +1,99 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.InventorySnapshot;
+import com.commercium.inventory.domain.repository.InventorySnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품별 재고 스냅샷 생성
+ *
+ * 직전 스냅샷 이후 이력을 재생해 스냅샷 위치를 앞으로 옮긴다. 새 이력이 없는 상품은 건너뛴다.
+ * 최근 snapshot-lag-ms 이내 이력은 제외한다 - 노드 간 시계 차이로 늦게 커밋된 이전 시각 이력이
+ * 스냅샷 위치 뒤에 끼어 재생에서 빠지는 것을 막기 위함이다.
+ * Redis 엔진에서는 이력이 원장 발생 시각으로 늦게 저장되므로 (락 경합, 반영 실패 후 재시도, 적체),
+ * 스냅샷 위치를 아직 DB에 반영되지 않은 가장 오래된 원장 발생 시각 앞으로 제한한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventorySnapshotService {
+
+    private static final String SNAPSHOT_LOCK = "inventory:snapshot:all";
+
+    private final InventoryLedgerReplayer ledgerReplayer;
+    private final InventorySnapshotRepository snapshotRepository;
+    private final RedisStockEngine redisStockEngine;
+    private final RedissonClient redissonClient;
+    private final InventoryProperties inventoryProperties;
+
+    /**
+     * 한 상품의 스냅샷 갱신
+     *
+     * @return 새 이력을 반영했으면 true
+     */
+    public boolean snapshot(String productId) {
+        LocalDateTime until = LocalDateTime.now();
+        if (redisStockEngine.isEnabled()) {
+            LocalDateTime oldestUnflushed = redisStockEngine.oldestUnflushedAt(productId).orElse(until);
+            if (oldestUnflushed.isBefore(until)) {
+                until = oldestUnflushed;
+            }
+        }
+        until = until.minusNanos(inventoryProperties.getSnapshot().getSnapshotLagMs() * 1_000_000L);
+        InventoryLedgerReplayer.ReplayResult replayed = ledgerReplayer.replay(productId, until);
+        if (replayed.applied() == 0) {
+            return false;
+        }
+
+        if (replayed.discontinuities() > 0) {
+            log.warn("재고 이력 불연속 발견: productId={}, 불연속={}", productId, replayed.discontinuities());
+        }
+
+        InventorySnapshot snapshot = snapshotRepository.findByProductId(productId)
+                .map(existing -> {
+                    existing.advance(replayed.quantity(), replayed.lastTransactionId(), replayed.lastTransactionAt());
+                    return existing;
+                })
+                .orElseGet(() -> InventorySnapshot.of(productId, replayed.quantity(),
+                        replayed.lastTransactionId(), replayed.lastTransactionAt()));
+        snapshotRepository.save(snapshot);
+
+        log.debug("재고 스냅샷 갱신: productId={}, 반영이력={}", productId, replayed.applied());
+        return true;
+    }
+
+    @Scheduled(cron = "${app.inventory.snapshot.cron:0 0 3 * * *}")
+    public void snapshotAll() {
+        if (!inventoryProperties.getSnapshot().isEnabled()) {
+            return;
+        }
+
+        RLock lock = redissonClient.getLock(SNAPSHOT_LOCK);
+        if (!lock.tryLock()) {
+            return; // 다른 노드가 처리 중
+        }
+
+        try {
+            long startedAt = System.currentTimeMillis();
+            AtomicInteger updated = new AtomicInteger();
+            int processed = ledgerReplayer.forEachProductInParallel(this::snapshot, changed -> {
+                if (changed) {
+                    updated.incrementAndGet();
+                }
+            });
+            log.info("전체 재고 스냅샷 완료: 처리={}, 갱신={}, 소요={}ms",
+                    processed, updated.get(), System.currentTimeMillis() - startedAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.common.event.DomainEvents;
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.repository.InventoryRepository;
+import com.commercium.inventory.event.StockDepletedEvent;
+import com.commercium.inventory.event.StockReleasedEvent;
+import com.commercium.inventory.event.StockReservedEvent;
+import com.commercium.inventory.infrastructure.RedisOrderStockResult;
+import com.commercium.inventory.infrastructure.RedisStockLedger;
+import com.commercium.inventory.infrastructure.RedisStockResult;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Redis 원장 기반 재고 처리
+ *
+ * app.inventory.stock-engine=redis 일 때 분산 락과 DB 행 갱신 대신 사용된다.
+ * 재고 검증과 변경은 Lua 스크립트 한 번으로 끝나고, DB 반영은 StockWriteBehindFlusher 가 담당한다.
+ * Inventory 도메인 검증을 거치지 않으므로 수량 검증은 여기서 한다.
+ * 주문 단위 예약 스크립트가 여러 상품의 해시 슬롯을 다루므로 단일 노드 Redis 에서만 켤 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@EnableConfigurationProperties(InventoryProperties.class)
+public class RedisStockEngine {
+
+    private static final long LOAD_FENCE_WAIT_MS = 200;
+    private static final long LOAD_FENCE_LEASE_MS = 5000;
+
+    private final RedisStockLedger stockLedger;
+    private final SplitStockRouter splitStockRouter;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryProperties inventoryProperties;
+
+    @PostConstruct
+    public void validate() {
+        if (isEnabled() && stockLedger.isClusterEnabled()) {
+            throw new IllegalStateException("redis 재고 엔진은 단일 노드 Redis 에서만 사용할 수 있습니다 (Redis Cluster 미지원)");
+        }
+    }
+
+    public boolean isEnabled() {
+        return inventoryProperties.getStockEngine() == InventoryProperties.StockEngine.REDIS;
+    }
+
+    /**
+     * 재고 예약
+     */
+    public void reserve(String productId, String orderId, Integer quantity, String reason) {
+        requirePositive(quantity);
+        RedisStockResult result = route(productId,
+                () -> stockLedger.reserve(productId, orderId, quantity, reason),
+                buckets -> splitStockRouter.reserve(productId, buckets, orderId, quantity, reason));
+
+        if (!result.isApplied()) {
+            DomainEvents.raise(new StockDepletedEvent(productId, quantity, result.getAvailable()));
+            throw new IllegalStateException("재고가 부족합니다");
+        }
+
+        DomainEvents.raise(new StockReservedEvent(productId, orderId, quantity, result.getAvailable()));
+
+        log.info("재고 예약 완료(Redis): productId={}, 사용가능재고={}, 예약재고={}",
+                productId, result.getAvailable(), result.getReserved());
+    }
+
+    /**
+     * 주문 단위 재고 예약 (전부 성공 또는 전부 실패)
+     *
+     * 일반 상품은 스크립트 1회로 예약하고, 분할 재고 상품은 버킷 라우팅으로 예약한다.
+     * 분할 재고 상품에서 실패하면 앞서 예약한 상품을 모두 되돌린다.
+     */
+    public void reserveOrder(String orderId, Map<String, Integer> quantities, String reason) {
+        quantities.values().forEach(RedisStockEngine::requirePositive);
+        Map<String, Integer> scripted = new TreeMap<>();
+        RedisOrderStockResult result = RedisOrderStockResult.of(RedisStockResult.Status.APPLIED, null, 0);
+
+        // 적재되지 않은 상품은 한 번에 하나씩 적재하고 다시 시도한다 (적재 후 분할 재고로 드러날 수 있음)
+        for (int attempt = 0; attempt <= quantities.size(); attempt++) {
+            scripted.clear();
+            quantities.forEach((productId, quantity) -> {
+                if (stockLedger.bucketCount(productId) <= 1) {
+                    scripted.put(productId, quantity);
+                }
+            });
+
+            result = scripted.isEmpty()
+                    ? RedisOrderStockResult.of(RedisStockResult.Status.APPLIED, null, 0)
+                    : stockLedger.reserveOrder(orderId, scripted, reason);
+            if (!result.isNotLoaded()) {
+                break;
+            }
+            loadFromDatabase(result.getFailedProductId());
+        }
+
+        if (!result.isApplied()) {
+            DomainEvents.raise(new StockDepletedEvent(result.getFailedProductId(),
+                    quantities.get(result.getFailedProductId()), result.getFailedAvailable()));
+            throw new IllegalStateException("재고가 부족합니다");
+        }
+
+        Map<String, Integer> reserved = new TreeMap<>(scripted);
+        for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+            if (reserved.containsKey(line.getKey())) {
+                continue;
+            }
+
+            String productId = line.getKey();
+            Integer quantity = line.getValue();
+            RedisStockResult lineResult = route(productId,
+                    () -> stockLedger.reserve(productId, orderId, quantity, reason),
+                    buckets -> splitStockRouter.reserve(productId, buckets, orderId, quantity, reason));
+
+            if (!lineResult.isApplied()) {
+                reserved.forEach((reservedProductId, reservedQuantity) ->
+                        releaseQuietly(reservedProductId, orderId, reservedQuantity));
+                DomainEvents.raise(new StockDepletedEvent(productId, quantity, lineResult.getAvailable()));
+                throw new IllegalStateException("재고가 부족합니다");
+            }
+            reserved.put(productId, quantity);
+        }
+
+        quantities.forEach((productId, quantity) ->
+                DomainEvents.raise(new StockReservedEvent(productId, orderId, quantity)));
+
+        log.info("주문 재고 예약 완료(Redis): orderId={}, 상품수={}", orderId, quantities.size());
+    }
+
+    /**
+     * 예약 해제
+     */
+    public void release(String productId, String orderId, Integer quantity, String reason) {
+        requirePositive(quantity);
+        RedisStockResult result = route(productId,
+                () -> stockLedger.release(productId, orderId, quantity, reason),
+                buckets -> splitStockRouter.release(productId, buckets, orderId, quantity, reason));
+
+        if (!result.isApplied()) {
+            throw new IllegalStateException("해제할 예약 재고가 부족합니다. 요청: " + quantity + ", 예약됨: " + result.getReserved());
+        }
+
+        DomainEvents.raise(new StockReleasedEvent(productId, orderId, quantity));
+
+        log.info("재고 예약 해제 완료(Redis): productId={}", productId);
+    }
+
+    /**
+     * 예약 재고 차감
+     */
+    public void decrease(String productId, String orderId, Integer quantity, String reason) {
+        requirePositive(quantity);
+        RedisStockResult result = route(productId,
+                () -> stockLedger.decrease(productId, orderId, quantity, reason),
+                buckets -> splitStockRouter.decrease(productId, buckets, orderId, quantity, reason));
+
+        if (!result.isApplied()) {
+            throw new IllegalStateException("차감할 예약 재고가 부족합니다. 요청: " + quantity + ", 예약됨: " + result.getReserved());
+        }
+
+        log.info("재고 차감 완료(Redis): productId={}", productId);
+    }
+
+    /**
+     * 재고 입고
+     */
+    public void increase(String productId, Integer quantity, String reason) {
+        requirePositive(quantity);
+        route(productId,
+                () -> stockLedger.increase(productId, quantity, reason),
+                buckets -> splitStockRouter.increase(productId, buckets, quantity, reason));
+    }
+
+    /**
+     * 관리자 재고 조정
+     */
+    public void adjust(String productId, Integer newQuantity, String reason) {
+        if (newQuantity == null || newQuantity < 0) {
+            throw new IllegalArgumentException("사용 가능한 재고는 0 이상이어야 합니다");
+        }
+        route(productId,
+                () -> stockLedger.adjust(productId, newQuantity, reason),
+                buckets -> splitStockRouter.adjust(productId, buckets, newQuantity, reason));
+    }
+
+    /**
+     * 분할 재고 버킷 수 변경 (1이면 분할 해제) - 현재 합계를 유지한 채 재분배
+     */
+    public void resplit(String productId, int buckets) {
+        stockLedger.resplit(productId, buckets);
+    }
+
+    /**
+     * Redis에 적재된 현재 재고 (분할 재고는 전체 버킷 합계)
+     */
+    public Optional<StockQuantity> currentStock(String productId) {
+        return stockLedger.find(productId);
+    }
+
+    /**
+     * DB에 반영되지 않은 가장 오래된 원장 발생 시각 (반영 대기 중인 원장이 없으면 empty)
+     */
+    public Optional<LocalDateTime> oldestUnflushedAt(String productId) {
+        return stockLedger.oldestPendingAt(productId);
+    }
+
+    /**
+     * 여러 상품의 Redis 재고 일괄 조회 (적재되지 않은 상품은 빠짐)
+     */
+    public Map<String, StockQuantity> currentStocks(Collection<String> productIds) {
+        return stockLedger.findAll(productIds);
+    }
+
+    /**
+     * 이 노드가 알고 있는 버킷 수에 따라 기본 키 또는 버킷으로 보내고,
+     * 키가 없으면 DB에서 적재(버킷 수도 갱신)한 뒤 한 번 더 시도한다.
+     */
+    private RedisStockResult route(String productId, Supplier<RedisStockResult> baseOperation,
+                                   IntFunction<RedisStockResult> splitOperation) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            int buckets = stockLedger.bucketCount(productId);
+            RedisStockResult result = buckets > 1 ? splitOperation.apply(buckets) : baseOperation.get();
+            if (!result.isNotLoaded()) {
+                return result;
+            }
+            loadFromDatabase(productId);
+        }
+        throw new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private static void requirePositive(Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("재고 수량은 0보다 커야 합니다: " + quantity);
+        }
+    }
+
+    private void releaseQuietly(String productId, String orderId, Integer quantity) {
+        try {
+            release(productId, orderId, quantity, "주문 재고 예약 실패로 인한 재고 해제");
+        } catch (RuntimeException e) {
+            log.error("주문 재고 예약 보상 해제 실패: productId={}, orderId={}, quantity={}", productId, orderId, quantity, e);
+        }
+    }
+
+    /**
+     * 원장 반영 락을 잡고 DB 재고를 읽어 적재 - 반영 커밋과 원장 정리 사이에 읽은 이전 값으로 적재하지 않도록
+     */
+    private void loadFromDatabase(String productId) {
+        RLock fence = stockLedger.flushLock(productId);
+        boolean locked;
+        try {
+            locked = fence.tryLock(LOAD_FENCE_WAIT_MS, LOAD_FENCE_LEASE_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locked = false;
+        }
+        if (!locked) {
+            throw new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            loadLocked(productId);
+        } finally {
+            if (fence.isHeldByCurrentThread()) {
+                fence.unlock();
+            }
+        }
+    }
+
+    private void loadLocked(String productId) {
+        Inventory inventory = inventoryRepository.findByProductId(ProductId.of(productId))
+                .orElseThrow(() -> new BusinessRuleViolationException("상품 재고 정보를 찾을 수 없습니다"));
+
+        int buckets = inventory.getStockBucketCount();
+        long loaded = buckets > 1
+                ? stockLedger.loadSplit(productId, inventory.getStockQuantity(), buckets)
+                : stockLedger.load(productId, inventory.getStockQuantity());
+
+        if (loaded < 0) {
+            // 키(분할 재고는 버킷 중 하나라도)가 유실됐지만 DB에 반영되지 않은 원장이 남아 있음 - 반영 후 재시도해야 한다
+            stockLedger.markDirty(productId);
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                stockLedger.markDirty(RedisStockLedger.bucketSlotId(productId, bucket));
+            }
+            throw new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        log.info("Redis 재고 적재: productId={}, 사용가능재고={}, 예약재고={}, 버킷수={}", productId,
+                inventory.getStockQuantity().getAvailable(), inventory.getStockQuantity().getReserved(), buckets);
+    }
+}
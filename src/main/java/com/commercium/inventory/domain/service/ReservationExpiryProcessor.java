@@ -0,0 +1,88 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.infrastructure.RedisReservationExpiryStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 만료된 재고 예약 해제
+ *
+ * 틱마다 타이밍 휠에서 만료된 예약을 꺼내 배치 단위로 Redis에서 가져간 뒤 해제하고,
+ * 주기적으로 Redis에서 만료 시각이 지난 예약(다른 노드 중단, 재시작 등)을 찾아 같은 방식으로 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExpiryProcessor {
+
+    private final ReservationExpiryScheduler expiryScheduler;
+    private final RedisReservationExpiryStore expiryStore;
+    private final StockReservationService stockReservationService;
+    private final InventoryProperties inventoryProperties;
+
+    @Scheduled(fixedDelayString = "${app.inventory.reservation-expiry.tick-ms:100}")
+    public void expireDue() {
+        if (!expiryScheduler.isEnabled()) {
+            return;
+        }
+
+        List<String> expired = new ArrayList<>();
+        expiryScheduler.drainExpired(System.currentTimeMillis(), expired::add);
+        process(expired);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.reservation-expiry.sweep-interval-ms:5000}")
+    public void sweepOverdue() {
+        if (!expiryScheduler.isEnabled()) {
+            return;
+        }
+
+        InventoryProperties.ReservationExpiry settings = inventoryProperties.getReservationExpiry();
+        long before = System.currentTimeMillis() - settings.getSweepGraceMs();
+
+        List<String> overdue;
+        do {
+            overdue = expiryStore.findOverdue(before, settings.getBatchSize());
+            process(overdue);
+        } while (overdue.size() == settings.getBatchSize());
+    }
+
+    private void process(List<String> members) {
+        InventoryProperties.ReservationExpiry settings = inventoryProperties.getReservationExpiry();
+
+        for (int from = 0; from < members.size(); from += settings.getBatchSize()) {
+            List<String> batch = members.subList(from, Math.min(from + settings.getBatchSize(), members.size()));
+            long now = System.currentTimeMillis();
+
+            List<RedisReservationExpiryStore.ExpiredReservation> claimed;
+            try {
+                claimed = expiryStore.claim(batch, now, settings.getExpiredMarkerTtlSeconds());
+            } catch (RuntimeException e) {
+                // Redis에 남아 있으므로 주기 점검에서 다시 처리된다
+                log.error("만료 예약 조회 실패: count={}", batch.size(), e);
+                continue;
+            }
+
+            for (RedisReservationExpiryStore.ExpiredReservation reservation : claimed) {
+                try {
+                    stockReservationService.expireReservation(
+                            reservation.productId(), reservation.orderId(), reservation.quantity());
+                } catch (RuntimeException e) {
+                    log.error("만료 예약 해제 실패, 재시도 예정: orderId={}, productId={}, quantity={}",
+                            reservation.orderId(), reservation.productId(), reservation.quantity(), e);
+                    expiryStore.reschedule(reservation, now + settings.getRetryDelayMs());
+                }
+            }
+
+            if (!claimed.isEmpty()) {
+                log.info("만료 예약 해제 완료: count={}", claimed.size());
+            }
+        }
+    }
+}
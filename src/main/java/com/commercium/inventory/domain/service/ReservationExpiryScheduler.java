@@ -0,0 +1,112 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.infrastructure.HierarchicalTimingWheel;
+import com.commercium.inventory.infrastructure.RedisReservationExpiryStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * 재고 예약 만료 등록
+ *
+ * 예약이 커밋되면 만료 시각을 Redis에 기록(재시작/다른 노드 대비)하고 이 노드의 타이밍 휠에 올린다.
+ * 휠 항목은 취소하지 않으며, 만료 시점에 Redis에서 예약을 가져가는 데 성공한 경우에만 해제한다.
+ */
+@Component
+@Slf4j
+public class ReservationExpiryScheduler {
+
+    private final RedisReservationExpiryStore expiryStore;
+    private final InventoryProperties inventoryProperties;
+    private final HierarchicalTimingWheel<String> timingWheel;
+    private final Queue<String> overdue = new ConcurrentLinkedQueue<>();
+
+    public ReservationExpiryScheduler(RedisReservationExpiryStore expiryStore, InventoryProperties inventoryProperties) {
+        InventoryProperties.ReservationExpiry settings = inventoryProperties.getReservationExpiry();
+        this.expiryStore = expiryStore;
+        this.inventoryProperties = inventoryProperties;
+        this.timingWheel = new HierarchicalTimingWheel<>(
+                settings.getTickMs(), settings.getWheelSize(), System.currentTimeMillis());
+    }
+
+    public boolean isEnabled() {
+        return inventoryProperties.getReservationExpiry().isEnabled();
+    }
+
+    /**
+     * 예약 만료 등록 - 트랜잭션 안이면 커밋 후 등록 (롤백된 예약이 해제되지 않도록)
+     */
+    public void schedule(String orderId, String productId, int quantity) {
+        if (!isEnabled() || orderId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    register(orderId, productId, quantity);
+                }
+            });
+        } else {
+            register(orderId, productId, quantity);
+        }
+    }
+
+    /**
+     * 취소/결제로 예약을 정리하기 전에 호출 - 만료 처리와 동시에 일어나도 한쪽만 예약을 가져간다
+     */
+    public RedisReservationExpiryStore.ResolveStatus resolve(String orderId, String productId, int quantity) {
+        if (!isEnabled() || orderId == null) {
+            return RedisReservationExpiryStore.ResolveStatus.UNTRACKED;
+        }
+        return expiryStore.resolve(orderId, productId, quantity);
+    }
+
+    /**
+     * resolve 로 가져갔지만 취소/결제에 반영되지 않은 예약을 다시 등록 (원래 만료 시각을 알 수 없으므로 지금부터 다시 센다)
+     */
+    public void restore(String orderId, String productId, int quantity) {
+        if (!isEnabled() || orderId == null) {
+            return;
+        }
+        register(orderId, productId, quantity);
+    }
+
+    /**
+     * now 까지 만료된 예약 멤버 전달
+     */
+    public void drainExpired(long now, Consumer<String> expired) {
+        String member;
+        while ((member = overdue.poll()) != null) {
+            expired.accept(member);
+        }
+        timingWheel.advance(now, expired);
+    }
+
+    public int pendingCount() {
+        return timingWheel.size();
+    }
+
+    private void register(String orderId, String productId, int quantity) {
+        long expiresAt = System.currentTimeMillis() + inventoryProperties.getReservationExpiry().getTtlMs();
+        try {
+            expiryStore.schedule(orderId, productId, quantity, expiresAt);
+        } catch (RuntimeException e) {
+            // 예약 자체는 커밋됐으므로 실패를 전파하지 않는다 - 취소/결제 이벤트로만 정리된다
+            log.error("재고 예약 만료 등록 실패: orderId={}, productId={}, quantity={}", orderId, productId, quantity, e);
+            return;
+        }
+
+        String member = RedisReservationExpiryStore.member(orderId, productId);
+        if (!timingWheel.add(member, expiresAt)) {
+            overdue.add(member);
+        }
+    }
+}
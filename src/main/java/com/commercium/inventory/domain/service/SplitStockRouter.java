@@ -0,0 +1,167 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.TransactionType;
+import com.commercium.inventory.infrastructure.RedisStockLedger;
+import com.commercium.inventory.infrastructure.RedisStockResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 분할 재고(버킷) 라우팅
+ *
+ * 주문 ID 해시로 기본 버킷을 정하고, 부족하면 형제 버킷에서 가져온다(work-stealing).
+ * 한 버킷으로 부족하면 여러 버킷에서 나눠 가져오며, 그래도 모자라면 가져온 만큼 되돌린다.
+ * 버킷마다 StockQuantity 불변식(0 이상)이 지켜지므로 합계도 항상 0 이상이다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SplitStockRouter {
+
+    private final RedisStockLedger stockLedger;
+
+    /**
+     * 재고 예약 - 기본 버킷 → 형제 버킷 → 여러 버킷 분할 순
+     */
+    public RedisStockResult reserve(String productId, int buckets, String orderId, int quantity, String reason) {
+        RedisStockResult whole = applyWhole(TransactionType.RESERVE, productId, buckets, orderId, quantity, reason);
+        if (whole != null) {
+            return whole;
+        }
+
+        Map<Integer, Integer> taken = gather(TransactionType.RESERVE, productId, buckets, orderId, quantity, reason);
+        int gathered = taken.values().stream().mapToInt(Integer::intValue).sum();
+        if (gathered == quantity) {
+            return aggregate(RedisStockResult.Status.APPLIED, productId, buckets, quantity);
+        }
+
+        // 부족분이 있으면 가져온 만큼 원래 버킷에 되돌린다
+        taken.forEach((bucket, amount) -> stockLedger.applyToBucket(
+                TransactionType.RELEASE, productId, bucket, orderId, amount, false, "분할 재고 예약 취소"));
+        return aggregate(RedisStockResult.Status.INSUFFICIENT, productId, buckets, 0);
+    }
+
+    /**
+     * 예약 해제 - 예약은 어느 버킷에 있어도 되므로 예약 재고가 있는 버킷에서 해제한다
+     */
+    public RedisStockResult release(String productId, int buckets, String orderId, int quantity, String reason) {
+        return applyToReserved(TransactionType.RELEASE, productId, buckets, orderId, quantity, reason);
+    }
+
+    /**
+     * 예약 재고 차감
+     */
+    public RedisStockResult decrease(String productId, int buckets, String orderId, int quantity, String reason) {
+        return applyToReserved(TransactionType.DECREASE, productId, buckets, orderId, quantity, reason);
+    }
+
+    /**
+     * 입고 - 임의의 버킷에 추가
+     */
+    public RedisStockResult increase(String productId, int buckets, int quantity, String reason) {
+        int bucket = ThreadLocalRandom.current().nextInt(buckets);
+        return stockLedger.applyToBucket(TransactionType.INCREASE, productId, bucket, null, quantity, false, reason);
+    }
+
+    /**
+     * 조정 - 새 수량을 버킷에 고르게 나눠 설정 (모든 버킷을 한 스크립트로 반영)
+     */
+    public RedisStockResult adjust(String productId, int buckets, int newQuantity, String reason) {
+        return stockLedger.adjustSplit(productId, buckets, newQuantity, reason);
+    }
+
+    private RedisStockResult applyToReserved(TransactionType type, String productId, int buckets,
+                                             String orderId, int quantity, String reason) {
+        // 전체 예약 재고가 부족하면 아무 버킷도 건드리지 않는다
+        RedisStockResult total = aggregate(RedisStockResult.Status.INSUFFICIENT, productId, buckets, 0);
+        if (total.isNotLoaded() || total.getReserved() < quantity) {
+            return total;
+        }
+
+        RedisStockResult whole = applyWhole(type, productId, buckets, orderId, quantity, reason);
+        if (whole != null) {
+            return whole;
+        }
+
+        Map<Integer, Integer> taken = gather(type, productId, buckets, orderId, quantity, reason);
+        int gathered = taken.values().stream().mapToInt(Integer::intValue).sum();
+        if (gathered == quantity) {
+            return aggregate(RedisStockResult.Status.APPLIED, productId, buckets, quantity);
+        }
+
+        if (type == TransactionType.RELEASE) {
+            taken.forEach((bucket, amount) -> stockLedger.applyToBucket(
+                    TransactionType.RESERVE, productId, bucket, orderId, amount, false, "분할 재고 해제 취소"));
+        } else {
+            // 예약 합계는 확인했으므로 동시 변경이 아니면 발생하지 않는다 - 버킷 불변식은 유지된 상태
+            log.error("분할 재고 차감 중 예약 재고 부족: productId={}, orderId={}, 요청={}, 차감={}",
+                    productId, orderId, quantity, gathered);
+        }
+        return aggregate(RedisStockResult.Status.INSUFFICIENT, productId, buckets, 0);
+    }
+
+    /**
+     * 요청 수량 전체를 한 버킷에서 처리 (기본 버킷부터 순서대로 시도)
+     *
+     * @return 처리 결과, 어느 버킷에서도 처리하지 못하면 null
+     */
+    private RedisStockResult applyWhole(TransactionType type, String productId, int buckets,
+                                        String orderId, int quantity, String reason) {
+        int home = homeBucket(orderId, buckets);
+        for (int i = 0; i < buckets; i++) {
+            int bucket = (home + i) % buckets;
+            RedisStockResult result = stockLedger.applyToBucket(type, productId, bucket, orderId, quantity, false, reason);
+            if (result.isApplied() || result.isNotLoaded()) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 여러 버킷에서 가능한 만큼씩 나눠 처리
+     *
+     * @return 버킷별 처리 수량
+     */
+    private Map<Integer, Integer> gather(TransactionType type, String productId, int buckets,
+                                         String orderId, int quantity, String reason) {
+        Map<Integer, Integer> taken = new LinkedHashMap<>();
+        int remaining = quantity;
+        int home = homeBucket(orderId, buckets);
+
+        for (int i = 0; i < buckets && remaining > 0; i++) {
+            int bucket = (home + i) % buckets;
+            RedisStockResult result = stockLedger.applyToBucket(type, productId, bucket, orderId, remaining, true, reason);
+            if (result.isApplied()) {
+                taken.put(bucket, result.getQuantity());
+                remaining -= result.getQuantity();
+            }
+        }
+        return taken;
+    }
+
+    private RedisStockResult aggregate(RedisStockResult.Status status, String productId, int buckets, int quantity) {
+        List<StockQuantity> values = stockLedger.findBuckets(productId, buckets);
+        int available = 0;
+        int reserved = 0;
+        for (StockQuantity value : values) {
+            if (value == null) {
+                return RedisStockResult.of(RedisStockResult.Status.NOT_LOADED, 0, 0, 0);
+            }
+            available += value.getAvailable();
+            reserved += value.getReserved();
+        }
+        return RedisStockResult.of(status, available, reserved, quantity);
+    }
+
+    private static int homeBucket(String orderId, int buckets) {
+        return orderId == null ? ThreadLocalRandom.current().nextInt(buckets) : Math.floorMod(orderId.hashCode(), buckets);
+    }
+}
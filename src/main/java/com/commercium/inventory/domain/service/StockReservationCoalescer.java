@@ -0,0 +1,215 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.repository.InventoryRepository;
+import com.commercium.inventory.domain.service.concurrency.RedisLockStockConcurrencyStrategy;
+import com.commercium.inventory.infrastructure.RedisStockLockManager;
+import com.commercium.inventory.infrastructure.StockLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 상품별 재고 예약 병합 처리 (group commit)
+ *
+ * 같은 상품에 동시에 들어온 예약 요청을 모아 분산 락 1회, 재고 조회 1회, 트랜잭션 1회로 처리한다.
+ * 별도 스레드 없이 요청 스레드 중 하나가 배치 처리를 맡고(flat combining), 나머지는 자기 결과를 기다린다.
+ * 재고 부족은 요청별로 판정되어 해당 호출자에게만 전달된다.
+ * 배치는 독립 트랜잭션으로 커밋되므로 트랜잭션 밖에서만 호출할 수 있다. 대기하는 호출자가 트랜잭션 커넥션을 잡고 있으면
+ * 대기자 N명 + 처리자 1명이 커넥션 N+1개를 쓰게 되어, 경합이 심할수록 풀이 고갈된다.
+ * 상품별 대기열은 처리자가 비운 뒤 맵에서 제거한다 (요청 추가와 제거는 같은 키의 compute 로 직렬화되어 제거된 대기열에 요청이 들어가지 않음).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationCoalescer {
+
+    private static final long POLL_INTERVAL_MS = 5;
+
+    private final InventoryRepository inventoryRepository;
+    private final RedisStockLockManager lockManager;
+    private final PlatformTransactionManager transactionManager;
+    private final InventoryProperties inventoryProperties;
+
+    private final ConcurrentHashMap<String, ProductQueue> queues = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return inventoryProperties.getCoalescing().isEnabled();
+    }
+
+    /**
+     * 예약 요청을 상품별 배치에 합류시키고 개별 결과를 기다린다
+     */
+    public void reserve(String productId, String orderId, Integer quantity, String reason) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("재고 예약 병합은 트랜잭션 밖에서만 호출할 수 있습니다");
+        }
+
+        ReservationRequest request = new ReservationRequest(orderId, quantity, reason);
+        ProductQueue queue = queues.compute(productId, (id, existing) -> {
+            ProductQueue target = existing != null ? existing : new ProductQueue();
+            target.pending.add(request);
+            return target;
+        });
+
+        long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(inventoryProperties.getCoalescing().getTimeoutMs());
+
+        while (!request.result.isDone()) {
+            if (!queue.pending.isEmpty() && queue.combining.compareAndSet(false, true)) {
+                combine(productId, queue);
+                continue;
+            }
+
+            // 배치에 이미 포함된 요청은 결과가 나올 때까지 기다린다 (예약만 되고 실패로 응답되는 것 방지)
+            if (System.nanoTime() > deadline && request.claimed.compareAndSet(false, true)) {
+                request.result.completeExceptionally(
+                        new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요."));
+                break;
+            }
+
+            try {
+                request.result.get(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException ignored) {
+                // 완료 여부는 루프 조건에서 확인
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (request.claimed.compareAndSet(false, true)) {
+                    request.result.completeExceptionally(
+                            new BusinessRuleViolationException("재고 예약 대기 중 중단되었습니다"));
+                }
+            }
+        }
+
+        try {
+            request.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void combine(String productId, ProductQueue queue) {
+        try {
+            int maxBatches = inventoryProperties.getCoalescing().getMaxBatchesPerCombiner();
+            for (int i = 0; i < maxBatches && !queue.pending.isEmpty(); i++) {
+                processBatch(productId, queue);
+            }
+        } finally {
+            queue.combining.set(false);
+            // 빈 대기열 제거 - 상품 수만큼 맵이 계속 커지지 않게 한다
+            queues.computeIfPresent(productId,
+                    (id, existing) -> existing == queue && existing.pending.isEmpty() && !existing.combining.get() ? null : existing);
+        }
+    }
+
+    private void processBatch(String productId, ProductQueue queue) {
+        InventoryProperties.Coalescing settings = inventoryProperties.getCoalescing();
+
+        // 짧게 기다려 동시 요청이 더 모이게 한다
+        if (settings.getWindowMs() > 0 && queue.pending.size() < settings.getMaxBatchSize()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(settings.getWindowMs()));
+        }
+
+        List<ReservationRequest> batch = new ArrayList<>();
+        ReservationRequest next;
+        while (batch.size() < settings.getMaxBatchSize() && (next = queue.pending.poll()) != null) {
+            if (next.claimed.compareAndSet(false, true)) { // 대기 시간이 지난 요청은 제외
+                batch.add(next);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        String lockKey = RedisLockStockConcurrencyStrategy.lockKey(productId);
+        Optional<StockLock> acquired = lockManager.acquire(lockKey, Duration.ofSeconds(10));
+        if (acquired.isEmpty()) {
+            failAll(batch, new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요."));
+            return;
+        }
+
+        try (StockLock lock = acquired.get()) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Inventory inventory = inventoryRepository.findByProductId(ProductId.of(productId))
+                        .orElseThrow(() -> new BusinessRuleViolationException("상품 재고 정보를 찾을 수 없습니다"));
+                inventory.acceptFencingToken(lock.getFencingToken());
+
+                for (ReservationRequest request : batch) {
+                    try {
+                        inventory.reserve(request.orderId, request.quantity, request.reason);
+                    } catch (IllegalStateException e) {
+                        request.rejection = e; // 재고 부족 - 이 요청만 실패
+                    }
+                }
+
+                inventoryRepository.save(inventory);
+            });
+
+            for (ReservationRequest request : batch) {
+                if (request.rejection != null) {
+                    request.result.completeExceptionally(request.rejection);
+                } else {
+                    request.result.complete(null);
+                }
+            }
+
+            log.debug("재고 예약 배치 처리 완료: productId={}, 요청수={}", productId, batch.size());
+
+        } catch (RuntimeException e) {
+            log.error("재고 예약 배치 처리 실패: productId={}, 요청수={}", productId, batch.size(), e);
+            failAll(batch, e);
+        }
+    }
+
+    private void failAll(List<ReservationRequest> batch, RuntimeException cause) {
+        batch.forEach(request -> request.result.completeExceptionally(cause));
+    }
+
+    private static class ProductQueue {
+        private final Queue<ReservationRequest> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean combining = new AtomicBoolean(false);
+    }
+
+    private static class ReservationRequest {
+        private final String orderId;
+        private final Integer quantity;
+        private final String reason;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private RuntimeException rejection;
+
+        private ReservationRequest(String orderId, Integer quantity, String reason) {
+            this.orderId = orderId;
+            this.quantity = quantity;
+            this.reason = reason;
+        }
+    }
+}
@@ -3,109 +3,206 @@ package com.commercium.inventory.domain.service;
 import com.commercium.common.exception.BusinessRuleViolationException;
 import com.commercium.inventory.domain.Inventory;
 import com.commercium.inventory.domain.ProductId;
-import com.commercium.inventory.infrastructure.RedisStockLockManager;
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.service.concurrency.AdaptiveStockConcurrencySelector;
+import com.commercium.inventory.domain.service.concurrency.StockConcurrencyStrategy;
+import com.commercium.inventory.event.InventoryCommand;
+import com.commercium.inventory.infrastructure.RedisReservationExpiryStore;
 import com.commercium.inventory.repository.InventoryRepository;
+import com.commercium.order.domain.OrderItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
-
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * 재고 예약/해제/차감 진입점
+ *
+ * 상품 단위 처리(reserveStock, releaseReservation, expireReservation, decreaseStock, handleCommand)는 트랜잭션을 열지 않는다.
+ * DB 동시성 전략과 예약 병합은 각자 독립 트랜잭션(REQUIRES_NEW)으로 커밋하므로 바깥 트랜잭션이 있어도 되돌릴 수 없고,
+ * 분산 락이나 병합 결과를 기다리는 동안 바깥 트랜잭션의 커넥션만 잡혀 있게 된다.
+ * Redis 엔진은 도메인 이벤트를 아웃박스에 기록할 짧은 트랜잭션만 연다.
+ * 주문 단위 예약(reserveOrder)은 상품 행 락을 한 트랜잭션에서 잡아야 하므로 트랜잭션 안에서 처리한다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StockReservationService {
 
     private final InventoryRepository inventoryRepository;
-    private final RedisStockLockManager lockManager;
+    private final AdaptiveStockConcurrencySelector concurrencySelector;
+    private final RedisStockEngine redisStockEngine;
+    private final StockReservationCoalescer reservationCoalescer;
+    private final ReservationExpiryScheduler expiryScheduler;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * 재고 예약 (분산락 사용)
+     * 재고 예약 (상품별 경합률에 따라 선택된 동시성 전략 사용)
      */
-    @Transactional
     public void reserveStock(String productId, String orderId, Integer quantity) {
-        String lockKey = "stock:reserve:" + productId;
+        reserve(productId, orderId, quantity, "주문 생성으로 인한 재고 예약", false);
+        expiryScheduler.schedule(orderId, productId, quantity);
+    }
 
-        boolean acquired = lockManager.tryLock(lockKey, Duration.ofSeconds(10));
-        if (!acquired) {
-            throw new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    /**
+     * 주문 단위 재고 예약 (전부 성공 또는 전부 실패)
+     *
+     * Redis 엔진이면 스크립트 1회로, 아니면 상품 ID 정렬 순서로 행 락을 잡아 한 트랜잭션에서 처리한다.
+     * 정렬된 순서로 락을 잡으므로 여러 주문이 같은 상품들을 예약해도 교착 상태가 생기지 않는다.
+     */
+    @Transactional
+    public void reserveOrder(String orderId, List<OrderItem> orderItems) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        orderItems.forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+
+        log.info("주문 재고 예약 시작: orderId={}, 상품수={}", orderId, quantities.size());
+
+        if (redisStockEngine.isEnabled()) {
+            redisStockEngine.reserveOrder(orderId, quantities, "주문 생성으로 인한 재고 예약");
+        } else {
+            quantities.forEach((productId, quantity) -> {
+                Inventory inventory = inventoryRepository.findByProductIdWithLock(ProductId.of(productId))
+                        .orElseThrow(() -> new BusinessRuleViolationException("상품 재고 정보를 찾을 수 없습니다"));
+
+                inventory.reserve(orderId, quantity, "주문 생성으로 인한 재고 예약");
+                inventoryRepository.save(inventory);
+            });
         }
 
-        try {
-            log.info("재고 예약 시작: productId={}, orderId={}, quantity={}", productId, orderId, quantity);
+        quantities.forEach((productId, quantity) -> expiryScheduler.schedule(orderId, productId, quantity));
 
-            ProductId prodId = ProductId.of(productId);
-            Inventory inventory = inventoryRepository.findByProductId(prodId)
-                    .orElseThrow(() -> new BusinessRuleViolationException("상품 재고 정보를 찾을 수 없습니다"));
+        log.info("주문 재고 예약 완료: orderId={}", orderId);
+    }
 
-            inventory.reserve(orderId, quantity, "주문 생성으로 인한 재고 예약");
-            inventoryRepository.save(inventory);
+    /**
+     * 예약 해제 (주문 취소 시)
+     */
+    public void releaseReservation(String productId, String orderId, Integer quantity) {
+        releaseTracked(productId, orderId, quantity, false);
+    }
 
-            log.info("재고 예약 완료: productId={}, 사용가능재고={}, 예약재고={}",
-                    productId, inventory.getStockQuantity().getAvailable(), inventory.getStockQuantity().getReserved());
+    /**
+     * 만료된 예약 해제 (ReservationExpiryProcessor 가 예약을 가져간 뒤 호출)
+     */
+    public void expireReservation(String productId, String orderId, Integer quantity) {
+        release(productId, orderId, quantity, "예약 만료로 인한 재고 해제", false);
+    }
 
-        } finally {
-            lockManager.unlock(lockKey);
-        }
+    /**
+     * 재고 차감 (결제 완료 시)
+     */
+    public void decreaseStock(String productId, String orderId, Integer quantity) {
+        decreaseTracked(productId, orderId, quantity, false);
     }
 
     /**
-     * 예약 해제 (주문 취소 시)
+     * 상품 단위 재고 명령 처리 (InventoryCommandConsumer)
+     *
+     * 같은 상품의 명령은 한 파티션 처리 스레드에서만 실행되므로 분산 락 없이 낙관적 전략으로 반영한다.
      */
-    @Transactional
-    public void releaseReservation(String productId, String orderId, Integer quantity) {
-        String lockKey = "stock:release:" + productId;
+    public void handleCommand(InventoryCommand command) {
+        String productId = command.getProductId();
+        String orderId = command.getOrderId();
+        Integer quantity = command.getQuantity();
+
+        switch (command.getType()) {
+            case RESERVE -> {
+                reserve(productId, orderId, quantity, "주문 생성으로 인한 재고 예약", true);
+                expiryScheduler.schedule(orderId, productId, quantity);
+            }
+            case RELEASE -> releaseTracked(productId, orderId, quantity, true);
+            case DECREASE -> decreaseTracked(productId, orderId, quantity, true);
+        }
+    }
 
-        boolean acquired = lockManager.tryLock(lockKey, Duration.ofSeconds(10));
-        if (!acquired) {
-            throw new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    private void releaseTracked(String productId, String orderId, Integer quantity, boolean partitionOwned) {
+        if (expiryScheduler.resolve(orderId, productId, quantity) == RedisReservationExpiryStore.ResolveStatus.EXPIRED) {
+            log.info("이미 만료로 해제된 예약: productId={}, orderId={}, quantity={}", productId, orderId, quantity);
+            return;
         }
 
-        try {
-            log.info("재고 예약 해제 시작: productId={}, orderId={}, quantity={}", productId, orderId, quantity);
+        release(productId, orderId, quantity, "주문 취소로 인한 재고 해제", partitionOwned);
+    }
 
-            ProductId prodId = ProductId.of(productId);
-            Inventory inventory = inventoryRepository.findByProductId(prodId)
-                    .orElseThrow(() -> new BusinessRuleViolationException("상품 재고 정보를 찾을 수 없습니다"));
+    private void decreaseTracked(String productId, String orderId, Integer quantity, boolean partitionOwned) {
+        if (expiryScheduler.resolve(orderId, productId, quantity) == RedisReservationExpiryStore.ResolveStatus.EXPIRED) {
+            // 만료 후 결제가 완료된 경우 - 남은 재고로 다시 예약한 뒤 차감 (재고가 없으면 예외)
+            log.warn("만료된 예약에 대한 결제, 재고 재예약: productId={}, orderId={}, quantity={}", productId, orderId, quantity);
+            reserve(productId, orderId, quantity, "만료된 예약의 결제 완료로 인한 재고 재예약", partitionOwned);
+        }
 
-            inventory.releaseReservation(orderId, quantity, "주문 취소로 인한 재고 해제");
-            inventoryRepository.save(inventory);
+        if (redisStockEngine.isEnabled()) {
+            inTransaction(() -> redisStockEngine.decrease(productId, orderId, quantity, "결제 완료로 인한 재고 차감"));
+            return;
+        }
 
-            log.info("재고 예약 해제 완료: productId={}", productId);
+        log.info("재고 차감 시작: productId={}, orderId={}, quantity={}", productId, orderId, quantity);
 
-        } finally {
-            lockManager.unlock(lockKey);
-        }
-    }
+        execute(productId, partitionOwned, inventory -> {
+            inventory.decrease(orderId, quantity, "결제 완료로 인한 재고 차감");
+            return null;
+        });
 
-    /**
-     * 재고 차감 (결제 완료 시)
-     */
-    @Transactional
-    public void decreaseStock(String productId, String orderId, Integer quantity) {
-        String lockKey = "stock:decrease:" + productId;
+        log.info("재고 차감 완료: productId={}", productId);
+    }
 
-        boolean acquired = lockManager.tryLock(lockKey, Duration.ofSeconds(10));
-        if (!acquired) {
-            throw new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    private void reserve(String productId, String orderId, Integer quantity, String reason, boolean partitionOwned) {
+        if (redisStockEngine.isEnabled()) {
+            inTransaction(() -> redisStockEngine.reserve(productId, orderId, quantity, reason));
+            return;
         }
 
-        try {
-            log.info("재고 차감 시작: productId={}, orderId={}, quantity={}", productId, orderId, quantity);
+        // 호출자 트랜잭션이 있으면 병합 대기 동안 그 커넥션이 잡혀 있으므로 병합하지 않는다
+        if (!partitionOwned && reservationCoalescer.isEnabled()
+                && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            reservationCoalescer.reserve(productId, orderId, quantity, reason);
+            return;
+        }
 
-            ProductId prodId = ProductId.of(productId);
-            Inventory inventory = inventoryRepository.findByProductId(prodId)
-                    .orElseThrow(() -> new BusinessRuleViolationException("상품 재고 정보를 찾을 수 없습니다"));
+        log.info("재고 예약 시작: productId={}, orderId={}, quantity={}", productId, orderId, quantity);
 
-            inventory.decrease(orderId, quantity, "결제 완료로 인한 재고 차감");
-            inventoryRepository.save(inventory);
+        StockQuantity stockQuantity = execute(productId, partitionOwned, inventory -> {
+            inventory.reserve(orderId, quantity, reason);
+            return inventory.getStockQuantity();
+        });
 
-            log.info("재고 차감 완료: productId={}", productId);
+        log.info("재고 예약 완료: productId={}, 사용가능재고={}, 예약재고={}",
+                productId, stockQuantity.getAvailable(), stockQuantity.getReserved());
+    }
 
-        } finally {
-            lockManager.unlock(lockKey);
+    private void release(String productId, String orderId, Integer quantity, String reason, boolean partitionOwned) {
+        if (redisStockEngine.isEnabled()) {
+            inTransaction(() -> redisStockEngine.release(productId, orderId, quantity, reason));
+            return;
         }
+
+        log.info("재고 예약 해제 시작: productId={}, orderId={}, quantity={}", productId, orderId, quantity);
+
+        execute(productId, partitionOwned, inventory -> {
+            inventory.releaseReservation(orderId, quantity, reason);
+            return null;
+        });
+
+        log.info("재고 예약 해제 완료: productId={}", productId);
+    }
+
+    /**
+     * Redis 엔진 처리 - 발생한 재고 이벤트를 아웃박스에 기록할 트랜잭션 (호출자 트랜잭션이 있으면 합류)
+     */
+    private void inTransaction(Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> action.run());
+    }
+
+    private <T> T execute(String productId, boolean partitionOwned, Function<Inventory, T> mutation) {
+        return partitionOwned
+                ? concurrencySelector.execute(productId, StockConcurrencyStrategy.Type.OPTIMISTIC, mutation)
+                : concurrencySelector.execute(productId, mutation);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.commercium.inventory.domain.service.concurrency;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.Inventory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 상품별 동시성 전략 선택
+ *
+ * mode=ADAPTIVE 이면 상품별 경합률에 따라 낙관적 → 행 락 → 분산 락 순으로 전환하고,
+ * 그 외에는 설정된 전략을 고정으로 사용한다.
+ */
+@Component
+@Slf4j
+public class AdaptiveStockConcurrencySelector {
+
+    private final Map<StockConcurrencyStrategy.Type, StockConcurrencyStrategy> strategies =
+            new EnumMap<>(StockConcurrencyStrategy.Type.class);
+    private final StockContentionStats contentionStats;
+    private final InventoryProperties inventoryProperties;
+
+    public AdaptiveStockConcurrencySelector(List<StockConcurrencyStrategy> strategies,
+                                            StockContentionStats contentionStats,
+                                            InventoryProperties inventoryProperties) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.getType(), strategy));
+        this.contentionStats = contentionStats;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    /**
+     * 선택된 전략으로 재고 변경 실행
+     */
+    public <T> T execute(String productId, Function<Inventory, T> mutation) {
+        StockConcurrencyStrategy strategy = select(productId);
+        log.debug("재고 동시성 전략: productId={}, strategy={}", productId, strategy.getType());
+        return strategy.execute(productId, mutation);
+    }
+
+    /**
+     * 지정한 전략으로 재고 변경 실행 (호출자가 이미 상호 배제를 보장하는 경우 등)
+     */
+    public <T> T execute(String productId, StockConcurrencyStrategy.Type type, Function<Inventory, T> mutation) {
+        return strategies.get(type).execute(productId, mutation);
+    }
+
+    public StockConcurrencyStrategy select(String productId) {
+        StockConcurrencyStrategy.Type type = switch (inventoryProperties.getConcurrency().getMode()) {
+            case OPTIMISTIC -> StockConcurrencyStrategy.Type.OPTIMISTIC;
+            case PESSIMISTIC -> StockConcurrencyStrategy.Type.PESSIMISTIC;
+            case REDIS_LOCK -> StockConcurrencyStrategy.Type.REDIS_LOCK;
+            case ADAPTIVE -> contentionStats.recommend(productId);
+        };
+        return strategies.get(type);
+    }
+}
@@ -0,0 +1,27 @@
+package com.commercium.inventory.domain.service.concurrency;
+
+import com.commercium.inventory.domain.Inventory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * 낙관적 전략 - 락 없이 @Version 충돌 시 재시도 (경합이 적은 상품용)
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimisticStockConcurrencyStrategy implements StockConcurrencyStrategy {
+
+    private final StockTransactionExecutor transactionExecutor;
+
+    @Override
+    public Type getType() {
+        return Type.OPTIMISTIC;
+    }
+
+    @Override
+    public <T> T execute(String productId, Function<Inventory, T> mutation) {
+        return transactionExecutor.execute(productId, false, 0, mutation);
+    }
+}
@@ -0,0 +1,29 @@
+package com.commercium.inventory.domain.service.concurrency;
+
+import com.commercium.inventory.domain.Inventory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * 비관적 전략 - DB 행 락(PESSIMISTIC_WRITE)으로 직렬화 (경합이 중간 수준인 상품용)
+ *
+ * 잠긴 행을 최신 버전으로 읽으므로 다른 전략과 섞여도 버전 충돌이 거의 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PessimisticStockConcurrencyStrategy implements StockConcurrencyStrategy {
+
+    private final StockTransactionExecutor transactionExecutor;
+
+    @Override
+    public Type getType() {
+        return Type.PESSIMISTIC;
+    }
+
+    @Override
+    public <T> T execute(String productId, Function<Inventory, T> mutation) {
+        return transactionExecutor.execute(productId, true, 0, mutation);
+    }
+}
@@ -0,0 +1,54 @@
+package com.commercium.inventory.domain.service.concurrency;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.infrastructure.RedisStockLockManager;
+import com.commercium.inventory.infrastructure.StockLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 분산 락 전략 - Redisson 락으로 직렬화 (경합이 심한 상품용)
+ *
+ * 락을 얻은 뒤에 트랜잭션을 시작하므로, 트랜잭션 밖에서 호출된 대기자는 DB 커넥션을 잡지 않고 Redis에서 기다린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisLockStockConcurrencyStrategy implements StockConcurrencyStrategy {
+
+    private final StockTransactionExecutor transactionExecutor;
+    private final RedisStockLockManager lockManager;
+
+    /**
+     * 상품 재고 락 키 (예약/해제/차감이 같은 키를 사용)
+     */
+    public static String lockKey(String productId) {
+        return "stock:lock:" + productId;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.REDIS_LOCK;
+    }
+
+    @Override
+    public <T> T execute(String productId, Function<Inventory, T> mutation) {
+        String lockKey = lockKey(productId);
+
+        long startedAt = System.nanoTime();
+        StockLock lock = lockManager.acquire(lockKey, Duration.ofSeconds(10))
+                .orElseThrow(() -> new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요."));
+        long lockWaitNanos = System.nanoTime() - startedAt;
+
+        try (lock) {
+            // 리스가 만료된 뒤 늦게 쓰는 경우 더 최근 보유자의 토큰이 있으면 거부된다
+            return transactionExecutor.execute(productId, false, lockWaitNanos, inventory -> {
+                inventory.acceptFencingToken(lock.getFencingToken());
+                return mutation.apply(inventory);
+            });
+        }
+    }
+}
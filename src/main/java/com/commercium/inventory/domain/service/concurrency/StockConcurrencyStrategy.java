@@ -0,0 +1,26 @@
+package com.commercium.inventory.domain.service.concurrency;
+
+import com.commercium.inventory.domain.Inventory;
+
+import java.util.function.Function;
+
+/**
+ * 재고 변경 동시성 제어 전략
+ *
+ * 재고 조회 → 변경 → 저장을 독립 트랜잭션(REQUIRES_NEW)으로 실행한다. 어떤 전략이든 @Version 검사를 거치므로
+ * 노드마다 다른 전략이 선택되어도 갱신 유실은 생기지 않는다.
+ * 변경은 호출자 트랜잭션과 별개로 커밋되므로 트랜잭션 밖에서 호출한다 (바깥 트랜잭션이 있으면 롤백으로 되돌릴 수 없고,
+ * 대기하는 동안 그 트랜잭션의 커넥션이 잡혀 있다).
+ */
+public interface StockConcurrencyStrategy {
+
+    Type getType();
+
+    <T> T execute(String productId, Function<Inventory, T> mutation);
+
+    enum Type {
+        OPTIMISTIC,     // 락 없이 버전 충돌 시 재시도
+        PESSIMISTIC,    // DB 행 락 (SELECT ... FOR UPDATE)
+        REDIS_LOCK      // Redisson 분산 락 (트랜잭션 밖에서 호출하면 대기자가 DB 커넥션을 점유하지 않음)
+    }
+}
@@ -0,0 +1,94 @@
+package com.commercium.inventory.domain.service.concurrency;
+
+import com.commercium.config.properties.InventoryProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품별 재고 경합률 추적 (지수 이동 평균)
+ *
+ * 버전 충돌 재시도나 락 대기가 기준 시간을 넘으면 경합으로 기록하고,
+ * 경합률에 따라 전략을 올리거나(즉시) 내린다(쿨다운 후 한 단계씩).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockContentionStats {
+
+    private final InventoryProperties inventoryProperties;
+
+    private final Map<String, ProductContention> contentions = new ConcurrentHashMap<>();
+
+    public void record(String productId, boolean contended) {
+        double alpha = inventoryProperties.getConcurrency().getEwmaAlpha();
+        contentions.computeIfAbsent(productId, id -> new ProductContention()).update(contended, alpha);
+    }
+
+    public double getContentionRate(String productId) {
+        ProductContention contention = contentions.get(productId);
+        return contention == null ? 0.0 : contention.rate;
+    }
+
+    /**
+     * 경합률에 맞는 전략 추천
+     */
+    public StockConcurrencyStrategy.Type recommend(String productId) {
+        ProductContention contention = contentions.get(productId);
+        if (contention == null) {
+            return StockConcurrencyStrategy.Type.OPTIMISTIC;
+        }
+
+        InventoryProperties.Concurrency settings = inventoryProperties.getConcurrency();
+        synchronized (contention) {
+            StockConcurrencyStrategy.Type current = contention.current;
+            StockConcurrencyStrategy.Type target = contention.rate >= settings.getRedisLockThreshold()
+                    ? StockConcurrencyStrategy.Type.REDIS_LOCK
+                    : contention.rate >= settings.getPessimisticThreshold()
+                    ? StockConcurrencyStrategy.Type.PESSIMISTIC
+                    : StockConcurrencyStrategy.Type.OPTIMISTIC;
+
+            long now = System.currentTimeMillis();
+            if (target.ordinal() > current.ordinal()) {
+                contention.switchTo(target, now);
+            } else if (target.ordinal() < current.ordinal()
+                    && now - contention.changedAt >= settings.getCooldownMs()
+                    && contention.rate < thresholdOf(current, settings) / 2) {
+                // 내릴 때는 한 단계씩, 진입 기준의 절반 아래로 충분히 내려간 뒤에만 (잦은 전환 방지)
+                contention.switchTo(StockConcurrencyStrategy.Type.values()[current.ordinal() - 1], now);
+            }
+
+            if (contention.current != current) {
+                log.info("재고 동시성 전략 변경: productId={}, {} -> {}, 경합률={}",
+                        productId, current, contention.current, String.format("%.3f", contention.rate));
+            }
+            return contention.current;
+        }
+    }
+
+    private static double thresholdOf(StockConcurrencyStrategy.Type type, InventoryProperties.Concurrency settings) {
+        return switch (type) {
+            case REDIS_LOCK -> settings.getRedisLockThreshold();
+            case PESSIMISTIC -> settings.getPessimisticThreshold();
+            case OPTIMISTIC -> 0.0;
+        };
+    }
+
+    private static class ProductContention {
+        private volatile double rate;
+        private volatile StockConcurrencyStrategy.Type current = StockConcurrencyStrategy.Type.OPTIMISTIC;
+        private volatile long changedAt = System.currentTimeMillis();
+
+        private synchronized void update(boolean contended, double alpha) {
+            rate += alpha * ((contended ? 1.0 : 0.0) - rate);
+        }
+
+        private void switchTo(StockConcurrencyStrategy.Type type, long now) {
+            current = type;
+            changedAt = now;
+        }
+    }
+}
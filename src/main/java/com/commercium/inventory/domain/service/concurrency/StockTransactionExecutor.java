@@ -0,0 +1,95 @@
+package com.commercium.inventory.domain.service.concurrency;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.repository.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 재고 조회 → 변경 → 저장을 독립 트랜잭션으로 실행하고 버전 충돌 시 재시도
+ *
+ * 각 전략이 공통으로 사용하며, 재시도 여부와 락 대기 시간으로 경합을 기록한다.
+ * 시도마다 새 트랜잭션(REQUIRES_NEW)으로 커밋하므로 호출자 트랜잭션이 롤백되어도 반영은 취소되지 않는다.
+ */
+@Component
+@Slf4j
+public class StockTransactionExecutor {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockContentionStats contentionStats;
+    private final InventoryProperties inventoryProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public StockTransactionExecutor(InventoryRepository inventoryRepository,
+                                    StockContentionStats contentionStats,
+                                    InventoryProperties inventoryProperties,
+                                    PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.contentionStats = contentionStats;
+        this.inventoryProperties = inventoryProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @param lockRow       true 이면 행 락(FOR UPDATE)으로 조회
+     * @param lockWaitNanos 호출 전에 이미 기다린 락 대기 시간 (분산 락 등)
+     */
+    public <T> T execute(String productId, boolean lockRow, long lockWaitNanos, Function<Inventory, T> mutation) {
+        InventoryProperties.Concurrency settings = inventoryProperties.getConcurrency();
+        long contendedWaitNanos = TimeUnit.MILLISECONDS.toNanos(settings.getContendedWaitMs());
+        ProductId prodId = ProductId.of(productId);
+
+        for (int attempt = 1; ; attempt++) {
+            long[] rowLockWaitNanos = {0};
+            try {
+                T result = transactionTemplate.execute(status -> {
+                    long startedAt = System.nanoTime();
+                    Inventory inventory = (lockRow
+                            ? inventoryRepository.findByProductIdWithLock(prodId)
+                            : inventoryRepository.findByProductId(prodId))
+                            .orElseThrow(() -> new BusinessRuleViolationException("상품 재고 정보를 찾을 수 없습니다"));
+                    rowLockWaitNanos[0] = lockRow ? System.nanoTime() - startedAt : 0;
+
+                    T value = mutation.apply(inventory);
+                    inventoryRepository.save(inventory);
+                    return value;
+                });
+
+                boolean contended = attempt > 1 || lockWaitNanos + rowLockWaitNanos[0] > contendedWaitNanos;
+                contentionStats.record(productId, contended);
+                return result;
+
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= settings.getMaxAttempts()) {
+                    contentionStats.record(productId, true);
+                    throw new BusinessRuleViolationException("재고 처리 중입니다. 잠시 후 다시 시도해주세요.");
+                }
+
+                log.debug("재고 버전 충돌 재시도: productId={}, attempt={}", productId, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long maxDelayMs = Math.min(50, 5L * attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, maxDelayMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessRuleViolationException("재고 처리 중 중단되었습니다");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.commercium.inventory.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품 단위 재고 명령 (inventory.command 토픽, 키 = 상품 ID)
+ *
+ * 같은 상품의 명령은 항상 같은 파티션으로 가므로 한 컨슈머 스레드에서 순서대로 처리된다.
+ * commandId 는 주문/유형/상품으로 정해지므로 재발행되어도 같은 값이다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class InventoryCommand {
+
+    private String commandId;
+    private Type type;
+    private String productId;
+    private String orderId;
+    private Integer quantity;
+
+    public static InventoryCommand of(Type type, String productId, String orderId, Integer quantity) {
+        return new InventoryCommand(orderId + ":" + type + ":" + productId, type, productId, orderId, quantity);
+    }
+
+    public enum Type {
+        RESERVE,    // 주문 생성
+        RELEASE,    // 주문 취소
+        DECREASE    // 결제 완료
+    }
+}
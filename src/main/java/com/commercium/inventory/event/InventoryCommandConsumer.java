@@ -0,0 +1,218 @@
+package com.commercium.inventory.event;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.service.StockReservationService;
+import com.commercium.inventory.infrastructure.InventoryIdempotencyStore;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파티션 단일 처리자 재고 명령 컨슈머
+ *
+ * poll 한 번에 받은 명령을 파티션별로 나눠 파티션 전용 스레드에서 순서대로 처리한다.
+ * 한 상품의 명령은 한 파티션에만 있으므로 분산 락 없이 처리한다. 같은 명령의 중복 반영은
+ * InventoryIdempotencyStore 의 원자적 선점/완료 기록이 막는다 (여러 처리자가 동시에 받아도 하나만 반영).
+ * 리스너 스레드는 파티션 작업이 끝날 때까지 기다린 뒤에 poll 하므로 정상적인 리밸런스에서는 이전 소유자와 겹치지 않는다.
+ * 다만 poll 간격 초과 등으로 그룹에서 밀려난 처리자가 아직 반영 중이면, 새 소유자와 같은 상품의 서로 다른 명령 순서가
+ * 잠시 뒤섞일 수 있다 (명령마다의 반영은 원자적이며 Redis 엔진에서는 JPA @Version 검사를 거치지 않는다).
+ *
+ * 파티션마다 성공한 위치까지만 커밋하고 실패한 명령부터 다시 받는다.
+ * 재고 부족으로 인한 예약 실패만 처리 불가로 건너뛰고, 그 외 실패는 max-attempts 번 재시도한 뒤 dead-letter 토픽으로 보낸다.
+ * 회수된 파티션의 처리 스레드는 리밸런스 시 정리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryCommandConsumer implements ConsumerAwareRebalanceListener {
+
+    private static final long RETRY_BACKOFF_MS = 1000;
+    private static final long DEAD_LETTER_SEND_TIMEOUT_MS = 5000;
+    private static final long WORKER_SHUTDOWN_TIMEOUT_MS = 5000;
+    private static final String INSUFFICIENT_STOCK = "재고가 부족합니다"; // Inventory, StockCounter, RedisStockEngine 의 예약 실패 사유
+
+    private final StockReservationService stockReservationService;
+    private final InventoryIdempotencyStore idempotencyStore;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final InventoryProperties inventoryProperties;
+
+    private final Map<TopicPartition, ExecutorService> partitionWorkers = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, FailedCommand> failures = new ConcurrentHashMap<>();
+
+    @KafkaListener(topics = "${app.inventory.command.topic:inventory.command}",
+            groupId = "inventory-command-group",
+            containerFactory = "inventoryCommandListenerContainerFactory",
+            autoStartup = "${app.inventory.command.enabled:false}")
+    public void handleCommands(List<ConsumerRecord<String, InventoryCommand>> records, Consumer<?, ?> consumer) {
+        Map<TopicPartition, List<ConsumerRecord<String, InventoryCommand>>> byPartition = new LinkedHashMap<>();
+        records.forEach(record -> byPartition
+                .computeIfAbsent(new TopicPartition(record.topic(), record.partition()), tp -> new ArrayList<>())
+                .add(record));
+
+        Map<TopicPartition, CompletableFuture<PartitionResult>> futures = new HashMap<>();
+        byPartition.forEach((partition, partitionRecords) -> futures.put(partition,
+                CompletableFuture.supplyAsync(() -> process(partition, partitionRecords), workerFor(partition))));
+
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        boolean failed = false;
+        for (Map.Entry<TopicPartition, CompletableFuture<PartitionResult>> entry : futures.entrySet()) {
+            PartitionResult result = entry.getValue().join();
+            if (result.nextOffset() >= 0) {
+                commits.put(entry.getKey(), new OffsetAndMetadata(result.nextOffset()));
+            }
+            if (result.failedOffset() >= 0) {
+                consumer.seek(entry.getKey(), result.failedOffset());
+                failed = true;
+            }
+        }
+
+        if (!commits.isEmpty()) {
+            consumer.commitSync(commits);
+        }
+
+        if (failed) {
+            try {
+                Thread.sleep(RETRY_BACKOFF_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 회수된 파티션의 처리 스레드 정리 (리스너 스레드가 작업 완료를 기다린 뒤 poll 하므로 남은 작업은 없다)
+     */
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(this::releasePartition);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(this::releasePartition);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitionWorkers.values().forEach(ExecutorService::shutdown);
+    }
+
+    /**
+     * 한 파티션의 명령을 순서대로 처리 - 재고 부족 예약은 건너뛰고, 그 외 실패에서 멈춘다
+     */
+    private PartitionResult process(TopicPartition partition, List<ConsumerRecord<String, InventoryCommand>> records) {
+        long nextOffset = -1;
+
+        for (ConsumerRecord<String, InventoryCommand> record : records) {
+            InventoryCommand command = record.value();
+            try {
+                idempotencyStore.runOnce(InventoryIdempotencyStore.Operation.valueOf(command.getType().name()),
+                        command.getOrderId(), List.of(command.getProductId()),
+                        () -> stockReservationService.handleCommand(command));
+                failures.remove(partition);
+            } catch (RuntimeException e) {
+                if (isInsufficientStock(command, e)) {
+                    // 다시 시도해도 결과가 같다
+                    failures.remove(partition);
+                    log.warn("재고 부족으로 예약 명령 건너뜀: commandId={}, 사유={}", command.getCommandId(), e.getMessage());
+                } else if (!retryOrDeadLetter(partition, record, e)) {
+                    return new PartitionResult(nextOffset, record.offset());
+                }
+            }
+            nextOffset = record.offset() + 1;
+        }
+
+        return new PartitionResult(nextOffset, -1);
+    }
+
+    /**
+     * 실패한 명령 - 재시도 횟수가 남았으면 false (파티션을 멈추고 다시 받음), 다 썼으면 dead-letter 토픽으로 보내고 true
+     */
+    private boolean retryOrDeadLetter(TopicPartition partition, ConsumerRecord<String, InventoryCommand> record,
+                                      RuntimeException error) {
+        InventoryCommand command = record.value();
+        InventoryProperties.Command settings = inventoryProperties.getCommand();
+
+        FailedCommand failure = failures.merge(partition, new FailedCommand(record.offset(), 1),
+                (previous, current) -> previous.offset() == current.offset()
+                        ? new FailedCommand(previous.offset(), previous.attempts() + 1)
+                        : current);
+        if (failure.attempts() < settings.getMaxAttempts()) {
+            log.error("재고 명령 처리 실패, 재시도 예정: commandId={}, offset={}, 시도={}",
+                    command.getCommandId(), record.offset(), failure.attempts(), error);
+            return false;
+        }
+
+        try {
+            kafkaTemplate.send(settings.getDeadLetterTopic(), record.key(), command)
+                    .get(DEAD_LETTER_SEND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // 보내지 못하면 건너뛰지 않고 파티션을 멈춘 채 계속 재시도한다
+            log.error("재고 명령 dead-letter 전송 실패, 재시도 예정: commandId={}, offset={}",
+                    command.getCommandId(), record.offset(), e);
+            return false;
+        }
+
+        failures.remove(partition);
+        log.error("재고 명령 처리 포기, dead-letter 토픽으로 이동: commandId={}, offset={}, topic={}",
+                command.getCommandId(), record.offset(), settings.getDeadLetterTopic(), error);
+        return true;
+    }
+
+    private static boolean isInsufficientStock(InventoryCommand command, RuntimeException e) {
+        return command.getType() == InventoryCommand.Type.RESERVE
+                && e instanceof IllegalStateException
+                && e.getMessage() != null && e.getMessage().startsWith(INSUFFICIENT_STOCK);
+    }
+
+    private void releasePartition(TopicPartition partition) {
+        failures.remove(partition);
+        ExecutorService worker = partitionWorkers.remove(partition);
+        if (worker == null) {
+            return;
+        }
+
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(WORKER_SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                log.warn("재고 명령 처리 스레드가 제때 끝나지 않음: partition={}", partition);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExecutorService workerFor(TopicPartition partition) {
+        return partitionWorkers.computeIfAbsent(partition, tp -> Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-command-" + tp.partition());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    private record PartitionResult(long nextOffset, long failedOffset) {
+    }
+
+    private record FailedCommand(long offset, int attempts) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.commercium.inventory.event;
 
+import com.commercium.common.outbox.OutboxMessage;
+import com.commercium.common.outbox.OutboxWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -17,80 +19,62 @@ import org.springframework.transaction.event.TransactionalEventListener;
 public class InventoryEventListener {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxWriter outboxWriter;
 
     /**
-     * 재고 예약 완료 이벤트 처리
+     * 재고 예약 완료 이벤트 처리 (재고 트랜잭션과 함께 아웃박스에 기록)
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async("eventExecutor")
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 1000))
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleStockReserved(StockReservedEvent event) {
-        log.info("재고 예약 완료 이벤트 처리: productId={}, orderId={}",
-                event.getProductId(), event.getOrderId());
-
-        try {
-            // 알림 서비스로 이벤트 전송
-            kafkaTemplate.send("notification.stock-reserved", event.getProductId(), event);
-
-            // 로그 및 통계 서비스로 이벤트 전송
-            kafkaTemplate.send("analytics.stock-movement", event.getProductId(), event);
+        outboxWriter.append(
+                // 알림 서비스로 이벤트 전송
+                OutboxMessage.of("notification.stock-reserved", event.getProductId(), event),
+                // 로그 및 통계 서비스로 이벤트 전송
+                OutboxMessage.of("analytics.stock-movement", event.getProductId(), event));
 
-            log.info("재고 예약 완료 이벤트 전송 완료: productId={}", event.getProductId());
-
-        } catch (Exception e) {
-            log.error("재고 예약 완료 이벤트 처리 실패: productId={}", event.getProductId(), e);
-            throw e;
-        }
+        log.debug("재고 예약 완료 이벤트 기록: productId={}, orderId={}", event.getProductId(), event.getOrderId());
     }
 
     /**
-     * 재고 해제 완료 이벤트 처리
+     * 재고 해제 완료 이벤트 처리 (재고 트랜잭션과 함께 아웃박스에 기록)
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async("eventExecutor")
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 1000))
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleStockReleased(StockReleasedEvent event) {
-        log.info("재고 해제 완료 이벤트 처리: productId={}, orderId={}",
-                event.getProductId(), event.getOrderId());
-
-        try {
-            // 알림 서비스로 이벤트 전송
-            kafkaTemplate.send("notification.stock-released", event.getProductId(), event);
-
-            // 통계 서비스로 이벤트 전송
-            kafkaTemplate.send("analytics.stock-movement", event.getProductId(), event);
-
-            log.info("재고 해제 완료 이벤트 전송 완료: productId={}", event.getProductId());
+        outboxWriter.append(
+                // 알림 서비스로 이벤트 전송
+                OutboxMessage.of("notification.stock-released", event.getProductId(), event),
+                // 통계 서비스로 이벤트 전송
+                OutboxMessage.of("analytics.stock-movement", event.getProductId(), event));
 
-        } catch (Exception e) {
-            log.error("재고 해제 완료 이벤트 처리 실패: productId={}", event.getProductId(), e);
-            throw e;
-        }
+        log.debug("재고 해제 완료 이벤트 기록: productId={}, orderId={}", event.getProductId(), event.getOrderId());
     }
 
     /**
-     * 재고 부족 알림 이벤트 처리
+     * 재고 알림 처리 (StockAlertAggregator 가 상품별로 묶어 창마다 최대 한 건만 발행)
      */
     @EventListener
     @Async("eventExecutor")
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 1000))
-    public void handleStockDepleted(StockDepletedEvent event) {
-        log.warn("재고 부족 알림 이벤트 처리: productId={}, 요청수량={}, 가용수량={}",
-                event.getProductId(), event.getRequestedQuantity(), event.getAvailableQuantity());
+    public void handleStockAlert(StockAlertEvent event) {
+        log.warn("재고 알림 이벤트 처리: productId={}, 종류={}, 요청수량={}, 가용수량={}, 묶인시도={}",
+                event.getProductId(), event.getAlertType(), event.getRequestedQuantity(),
+                event.getAvailableQuantity(), event.getSuppressedCount());
 
         try {
-            // 재고 부족 알림 이벤트 전송
-            kafkaTemplate.send("notification.stock-depleted", event.getProductId(), event);
+            // 재고 알림 이벤트 전송
+            String topic = event.getAlertType() == StockAlertEvent.AlertType.DEPLETED
+                    ? "notification.stock-depleted"
+                    : "notification.stock-low";
+            kafkaTemplate.send(topic, event.getProductId(), event);
 
             // 관리자 알림 이벤트 전송
             kafkaTemplate.send("admin.stock-alert", event.getProductId(), event);
 
-            log.info("재고 부족 알림 이벤트 전송 완료: productId={}", event.getProductId());
+            log.info("재고 알림 이벤트 전송 완료: productId={}", event.getProductId());
 
         } catch (Exception e) {
-            log.error("재고 부족 알림 이벤트 처리 실패: productId={}", event.getProductId(), e);
+            log.error("재고 알림 이벤트 처리 실패: productId={}", event.getProductId(), e);
             throw e;
         }
     }
 }
-
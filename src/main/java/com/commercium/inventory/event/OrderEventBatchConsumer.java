@@ -0,0 +1,147 @@
+package com.commercium.inventory.event;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.inventory.domain.service.BatchStockReservationService;
+import com.commercium.inventory.domain.service.RedisStockEngine;
+import com.commercium.inventory.domain.service.StockReservationService;
+import com.commercium.inventory.infrastructure.InventoryIdempotencyStore;
+import com.commercium.order.domain.OrderItem;
+import com.commercium.order.event.OrderCancelledEvent;
+import com.commercium.order.event.OrderCreatedEvent;
+import com.commercium.order.event.OrderPaidEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 주문 이벤트 배치 컨슈머 (app.inventory.batch-consumer.enabled=true 일 때 OrderEventConsumer 대신 동작)
+ *
+ * poll 한 번의 주문 이벤트를 상품별로 모아 한 트랜잭션으로 반영하고 오프셋은 배치당 한 번 커밋한다.
+ * 일괄 처리가 실패하면 건별 처리로 전환하며, 재고 부족 같은 처리 불가 건은 건너뛰고
+ * 그 외 실패는 해당 건부터 다시 받도록 BatchListenerFailedException 으로 위치를 알린다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventBatchConsumer {
+
+    private final BatchStockReservationService batchStockReservationService;
+    private final StockReservationService stockReservationService;
+    private final RedisStockEngine redisStockEngine;
+    private final InventoryIdempotencyStore idempotencyStore;
+
+    /**
+     * 주문 생성 이벤트 배치 - 재고 예약
+     */
+    @KafkaListener(topics = "inventory.reserve", groupId = "inventory-group",
+            containerFactory = "inventoryBatchListenerContainerFactory",
+            autoStartup = "${app.inventory.batch-consumer.enabled:false}")
+    public void handleOrdersCreated(List<ConsumerRecord<String, OrderCreatedEvent>> records, Acknowledgment ack) {
+        process("재고 예약", InventoryIdempotencyStore.Operation.RESERVE, records,
+                OrderCreatedEvent::getOrderId, OrderCreatedEvent::getOrderItems,
+                batchStockReservationService::reserveOrders,
+                event -> stockReservationService.reserveOrder(event.getOrderId(), event.getOrderItems()));
+        ack.acknowledge();
+    }
+
+    /**
+     * 주문 취소 이벤트 배치 - 예약 해제
+     */
+    @KafkaListener(topics = "inventory.restore", groupId = "inventory-group",
+            containerFactory = "inventoryBatchListenerContainerFactory",
+            autoStartup = "${app.inventory.batch-consumer.enabled:false}")
+    public void handleOrdersCancelled(List<ConsumerRecord<String, OrderCancelledEvent>> records, Acknowledgment ack) {
+        process("재고 예약 해제", InventoryIdempotencyStore.Operation.RELEASE, records,
+                OrderCancelledEvent::getOrderId, OrderCancelledEvent::getOrderItems,
+                batchStockReservationService::releaseOrders,
+                event -> event.getOrderItems().forEach(item -> stockReservationService.releaseReservation(
+                        item.getProductId(), event.getOrderId(), item.getQuantity())));
+        ack.acknowledge();
+    }
+
+    /**
+     * 주문 결제 완료 이벤트 배치 - 재고 차감
+     */
+    @KafkaListener(topics = "inventory.decrease", groupId = "inventory-group",
+            containerFactory = "inventoryBatchListenerContainerFactory",
+            autoStartup = "${app.inventory.batch-consumer.enabled:false}")
+    public void handleOrdersPaid(List<ConsumerRecord<String, OrderPaidEvent>> records, Acknowledgment ack) {
+        process("재고 차감", InventoryIdempotencyStore.Operation.DECREASE, records,
+                OrderPaidEvent::getOrderId, OrderPaidEvent::getOrderItems,
+                batchStockReservationService::decreaseOrders,
+                event -> event.getOrderItems().forEach(item -> stockReservationService.decreaseStock(
+                        item.getProductId(), event.getOrderId(), item.getQuantity())));
+        ack.acknowledge();
+    }
+
+    private <E> void process(String operation,
+                             InventoryIdempotencyStore.Operation idempotencyKey,
+                             List<ConsumerRecord<String, E>> records,
+                             Function<E, String> orderIdOf,
+                             Function<E, List<OrderItem>> itemsOf,
+                             Function<Map<String, List<OrderItem>>, Set<String>> batchOperation,
+                             Consumer<E> singleOperation) {
+        // Redis 엔진은 이미 건당 스크립트 1회로 처리되므로 DB 일괄 반영 대상이 아니다
+        if (!redisStockEngine.isEnabled()) {
+            Map<String, List<OrderItem>> itemsByOrder = new LinkedHashMap<>();
+            records.forEach(record -> {
+                if (record.value() != null) {
+                    String orderId = orderIdOf.apply(record.value());
+                    List<OrderItem> items = itemsOf.apply(record.value());
+                    // 재전달된 이미 처리한 주문은 락/DB 접근 전에 제외
+                    if (!itemsByOrder.containsKey(orderId)
+                            && !idempotencyStore.isProcessed(idempotencyKey, orderId, productIds(items))) {
+                        itemsByOrder.put(orderId, items);
+                    }
+                }
+            });
+
+            try {
+                Set<String> rejected = itemsByOrder.isEmpty() ? Set.of() : batchOperation.apply(itemsByOrder);
+                if (!rejected.isEmpty()) {
+                    log.warn("{} 거절된 주문: orderIds={}", operation, rejected);
+                }
+                itemsByOrder.forEach((orderId, items) -> {
+                    if (!rejected.contains(orderId)) {
+                        idempotencyStore.complete(idempotencyKey, orderId, productIds(items));
+                    }
+                });
+                log.info("{} 배치 처리 완료: 레코드수={}, 주문수={}", operation, records.size(), itemsByOrder.size());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("{} 배치 처리 실패, 건별 처리로 전환: 레코드수={}", operation, records.size(), e);
+            }
+        }
+
+        for (int index = 0; index < records.size(); index++) {
+            E event = records.get(index).value();
+            if (event == null) {
+                continue;
+            }
+
+            try {
+                idempotencyStore.runOnce(idempotencyKey, orderIdOf.apply(event), productIds(itemsOf.apply(event)),
+                        () -> singleOperation.accept(event));
+            } catch (IllegalStateException | BusinessRuleViolationException e) {
+                log.warn("{} 처리 불가: orderId={}, 사유={}", operation, orderIdOf.apply(event), e.getMessage());
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException(operation + " 처리 실패: orderId=" + orderIdOf.apply(event), e, index);
+            }
+        }
+    }
+
+    private static List<String> productIds(List<OrderItem> items) {
+        return items.stream().map(OrderItem::getProductId).toList();
+    }
+}
@@ -1,12 +1,16 @@
 package com.commercium.inventory.event;
 
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.infrastructure.InventoryIdempotencyStore;
 import com.commercium.inventory.service.StockReservationService;
+import com.commercium.order.domain.OrderItem;
 import com.commercium.order.event.OrderCancelledEvent;
 import com.commercium.order.event.OrderCreatedEvent;
 import com.commercium.order.event.OrderPaidEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
@@ -15,17 +19,26 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventConsumer {
 
     private final StockReservationService stockReservationService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final InventoryProperties inventoryProperties;
+    private final InventoryIdempotencyStore idempotencyStore;
 
     /**
      * 주문 생성 이벤트 수신 - 재고 예약
      */
-    @KafkaListener(topics = "inventory.reserve", groupId = "inventory-group")
+    @KafkaListener(topics = "inventory.reserve", groupId = "inventory-group",
+            autoStartup = "#{!${app.inventory.batch-consumer.enabled:false}}")
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
     public void handleOrderCreated(@Payload OrderCreatedEvent event,
                                    @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
@@ -34,13 +47,20 @@ public class OrderEventConsumer {
         log.info("주문 생성 이벤트 수신: orderId={}, topic={}", event.getOrderId(), topic);
 
         try {
-            // 주문의 각 상품에 대해 재고 예약 처리
-            // 실제로는 OrderItem 정보를 통해 각 상품별로 예약
-            // 여기서는 단순화해서 처리
-            String productId = extractProductIdFromOrder(event.getOrderId()); // Mock
-            Integer quantity = 1; // Mock
-
-            stockReservationService.reserveStock(productId, event.getOrderId(), quantity);
+            // 주문 생성 요청에서 이미 예약한 주문 (inline-reservation) 은 재고 명령으로도 보내지 않는다
+            if (idempotencyStore.isProcessed(InventoryIdempotencyStore.Operation.RESERVE, event.getOrderId(),
+                    quantities(event.getOrderItems()).keySet())) {
+                ack.acknowledge();
+                log.info("이미 예약된 주문: orderId={}", event.getOrderId());
+                return;
+            }
+
+            // 주문의 모든 상품을 한 번에 예약 (일부만 예약된 상태가 남지 않음)
+            if (!relayAsCommands(InventoryCommand.Type.RESERVE, event.getOrderId(), event.getOrderItems())) {
+                idempotencyStore.runOnce(InventoryIdempotencyStore.Operation.RESERVE, event.getOrderId(),
+                        quantities(event.getOrderItems()).keySet(),
+                        () -> stockReservationService.reserveOrder(event.getOrderId(), event.getOrderItems()));
+            }
 
             ack.acknowledge(); // 수동 커밋
             log.info("재고 예약 처리 완료: orderId={}", event.getOrderId());
@@ -54,7 +74,8 @@ public class OrderEventConsumer {
     /**
      * 주문 취소 이벤트 수신 - 예약 해제
      */
-    @KafkaListener(topics = "inventory.restore", groupId = "inventory-group")
+    @KafkaListener(topics = "inventory.restore", groupId = "inventory-group",
+            autoStartup = "#{!${app.inventory.batch-consumer.enabled:false}}")
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
     public void handleOrderCancelled(@Payload OrderCancelledEvent event,
                                      @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
@@ -64,13 +85,12 @@ public class OrderEventConsumer {
 
         try {
             // 각 주문 상품에 대해 예약 해제 처리
-            event.getOrderItems().forEach(orderItem -> {
-                stockReservationService.releaseReservation(
-                        orderItem.getProductId(),
-                        event.getOrderId(),
-                        orderItem.getQuantity()
-                );
-            });
+            if (!relayAsCommands(InventoryCommand.Type.RELEASE, event.getOrderId(), event.getOrderItems())) {
+                // 상품 단위로 기록하므로 일부 상품 처리 후 재시도되어도 처리된 상품은 건너뛴다
+                quantities(event.getOrderItems()).forEach((productId, quantity) -> idempotencyStore.runOnce(
+                        InventoryIdempotencyStore.Operation.RELEASE, event.getOrderId(), List.of(productId),
+                        () -> stockReservationService.releaseReservation(productId, event.getOrderId(), quantity)));
+            }
 
             ack.acknowledge();
             log.info("재고 예약 해제 처리 완료: orderId={}", event.getOrderId());
@@ -84,7 +104,8 @@ public class OrderEventConsumer {
     /**
      * 주문 결제 완료 이벤트 수신 - 재고 차감
      */
-    @KafkaListener(topics = "inventory.decrease", groupId = "inventory-group")
+    @KafkaListener(topics = "inventory.decrease", groupId = "inventory-group",
+            autoStartup = "#{!${app.inventory.batch-consumer.enabled:false}}")
     @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 2000))
     public void handleOrderPaid(@Payload OrderPaidEvent event,
                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
@@ -94,13 +115,11 @@ public class OrderEventConsumer {
 
         try {
             // 각 주문 상품에 대해 실제 재고 차감
-            event.getOrderItems().forEach(orderItem -> {
-                stockReservationService.decreaseStock(
-                        orderItem.getProductId(),
-                        event.getOrderId(),
-                        orderItem.getQuantity()
-                );
-            });
+            if (!relayAsCommands(InventoryCommand.Type.DECREASE, event.getOrderId(), event.getOrderItems())) {
+                quantities(event.getOrderItems()).forEach((productId, quantity) -> idempotencyStore.runOnce(
+                        InventoryIdempotencyStore.Operation.DECREASE, event.getOrderId(), List.of(productId),
+                        () -> stockReservationService.decreaseStock(productId, event.getOrderId(), quantity)));
+            }
 
             ack.acknowledge();
             log.info("재고 차감 처리 완료: orderId={}", event.getOrderId());
@@ -111,8 +130,41 @@ public class OrderEventConsumer {
         }
     }
 
-    private String extractProductIdFromOrder(String orderId) {
-        // Mock: 실제로는 Order 도메인에서 상품 정보 조회
-        return "product-" + orderId.substring(0, 3);
+    /**
+     * 같은 상품이 여러 줄이면 합친 상품별 수량 (중복 방지 키가 상품 단위이므로)
+     */
+    private static Map<String, Integer> quantities(List<OrderItem> orderItems) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        orderItems.forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        return quantities;
+    }
+
+    /**
+     * 재고 명령 모드면 주문 이벤트를 상품별 명령으로 나눠 inventory.command 토픽(키 = 상품 ID)에 발행
+     *
+     * 여러 상품을 예약하는 주문은 전부 성공/전부 실패가 필요하므로 명령으로 나누지 않는다.
+     * 발행이 모두 확인된 뒤에만 원래 이벤트를 커밋한다.
+     *
+     * @return 명령으로 발행했으면 true
+     */
+    private boolean relayAsCommands(InventoryCommand.Type type, String orderId, List<OrderItem> orderItems) {
+        if (!inventoryProperties.getCommand().isEnabled()) {
+            return false;
+        }
+
+        Map<String, Integer> quantities = quantities(orderItems);
+        if (type == InventoryCommand.Type.RESERVE && quantities.size() > 1) {
+            return false;
+        }
+
+        String topic = inventoryProperties.getCommand().getTopic();
+        CompletableFuture<?>[] sends = quantities.entrySet().stream()
+                .map(line -> kafkaTemplate.send(topic, line.getKey(),
+                        InventoryCommand.of(type, line.getKey(), orderId, line.getValue())))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(sends).join();
+
+        log.info("재고 명령 발행: orderId={}, type={}, 상품수={}", orderId, type, quantities.size());
+        return true;
     }
-}
\ No newline at end of file
+}
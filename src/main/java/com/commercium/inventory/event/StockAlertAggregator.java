@@ -0,0 +1,164 @@
+package com.commercium.inventory.event;
+
+import com.commercium.config.properties.InventoryProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품별 재고 알림 묶음 처리
+ *
+ * 조용하던 상품의 첫 알림은 바로 보내고 창(window-ms)을 연다. 창 안의 같은 종류 알림은 개수만 센 뒤,
+ * 창이 끝날 때 한 건이라도 있었으면 요약 알림 한 건을 보내고 새 창을 연다. 따라서 상품/종류별 알림은 창마다 최대 한 건이다.
+ * 재고 부족(LOW_STOCK)은 예약 후 남은 재고가 임계값 이하로 처음 내려갈 때만 판단 대상이 되고,
+ * 임계값 위로 올라간 뒤 다시 내려가면 다시 판단한다. 묶음 상태는 노드별로 유지한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockAlertAggregator {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final InventoryProperties inventoryProperties;
+
+    private final Map<AlertKey, AlertWindow> windows = new ConcurrentHashMap<>();
+    private final Set<String> belowThreshold = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 예약 실패 - 롤백되는 트랜잭션에서 발생하므로 커밋을 기다리지 않는다
+     */
+    @EventListener
+    public void onStockDepleted(StockDepletedEvent event) {
+        record(StockAlertEvent.AlertType.DEPLETED, event.getProductId(),
+                event.getRequestedQuantity(), event.getAvailableQuantity(), null);
+    }
+
+    /**
+     * 예약 성공 후 남은 재고로 임계값 통과 여부를 판단
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockReserved(StockReservedEvent event) {
+        Integer available = event.getRemainingAvailable();
+        if (available == null) {
+            return;
+        }
+
+        String productId = event.getProductId();
+        int threshold = lowStockThreshold(productId);
+        if (available > threshold) {
+            belowThreshold.remove(productId);
+            return;
+        }
+        if (belowThreshold.add(productId)) {
+            record(StockAlertEvent.AlertType.LOW_STOCK, productId, event.getQuantity(), available, threshold);
+        }
+    }
+
+    /**
+     * 끝난 창의 요약 알림 발송
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.alert.flush-interval-ms:1000}")
+    public void flushExpiredWindows() {
+        long now = System.currentTimeMillis();
+        long windowMs = inventoryProperties.getAlert().getWindowMs();
+        List<StockAlertEvent> summaries = new ArrayList<>();
+
+        for (AlertKey key : windows.keySet()) {
+            windows.computeIfPresent(key, (k, window) -> {
+                if (now - window.startedAt < windowMs) {
+                    return window;
+                }
+                if (window.suppressed == 0) {
+                    return null; // 창 동안 조용했으면 닫는다 - 다음 알림은 바로 보냄
+                }
+                summaries.add(window.toSummary(k));
+                return new AlertWindow(now);
+            });
+        }
+
+        for (StockAlertEvent summary : summaries) {
+            log.info("재고 알림 요약: productId={}, 종류={}, 묶인시도={}",
+                    summary.getProductId(), summary.getAlertType(), summary.getSuppressedCount());
+            eventPublisher.publishEvent(summary);
+        }
+    }
+
+    private void record(StockAlertEvent.AlertType type, String productId,
+                        Integer requestedQuantity, Integer availableQuantity, Integer threshold) {
+        InventoryProperties.Alert settings = inventoryProperties.getAlert();
+        if (!settings.isEnabled()) {
+            eventPublisher.publishEvent(new StockAlertEvent(productId, type, requestedQuantity, availableQuantity,
+                    threshold, 0, LocalDateTime.now()));
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean[] opened = new boolean[1];
+        windows.compute(new AlertKey(type, productId), (key, window) -> {
+            if (window == null) {
+                opened[0] = true;
+                return new AlertWindow(now);
+            }
+            window.suppress(requestedQuantity, availableQuantity, threshold);
+            return window;
+        });
+
+        if (opened[0]) {
+            eventPublisher.publishEvent(new StockAlertEvent(productId, type, requestedQuantity, availableQuantity,
+                    threshold, 0, toDateTime(now)));
+        }
+    }
+
+    private int lowStockThreshold(String productId) {
+        InventoryProperties.Alert settings = inventoryProperties.getAlert();
+        return settings.getLowStockThresholds().getOrDefault(productId, settings.getLowStockThreshold());
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record AlertKey(StockAlertEvent.AlertType type, String productId) {
+    }
+
+    /**
+     * 알림 창 (필드는 ConcurrentHashMap compute 안에서만 바뀌므로 키 단위로 직렬화됨)
+     */
+    private static class AlertWindow {
+        private final long startedAt;
+        private long suppressed;
+        private Integer lastRequestedQuantity;
+        private Integer lastAvailableQuantity;
+        private Integer lastThreshold;
+
+        private AlertWindow(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private void suppress(Integer requestedQuantity, Integer availableQuantity, Integer threshold) {
+            suppressed++;
+            lastRequestedQuantity = requestedQuantity;
+            lastAvailableQuantity = availableQuantity;
+            lastThreshold = threshold;
+        }
+
+        private StockAlertEvent toSummary(AlertKey key) {
+            return new StockAlertEvent(key.productId(), key.type(), lastRequestedQuantity, lastAvailableQuantity,
+                    lastThreshold, suppressed, toDateTime(startedAt));
+        }
+    }
+}
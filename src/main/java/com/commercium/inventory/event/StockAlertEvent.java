@@ -0,0 +1,47 @@
+package com.commercium.inventory.event;
+
+import com.commercium.common.event.DomainEvent;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품별로 묶어 보내는 재고 알림 (재고 소진 / 재고 부족)
+ *
+ * suppressedCount 는 같은 창 안에서 이 알림에 합쳐져 따로 보내지 않은 시도 수다.
+ */
+@Getter
+public class StockAlertEvent extends DomainEvent {
+
+    private final String productId;
+    private final AlertType alertType;
+    private final Integer requestedQuantity;
+    private final Integer availableQuantity;
+    private final Integer threshold;
+    private final long suppressedCount;
+    private final LocalDateTime windowStartedAt;
+
+    public StockAlertEvent(String productId, AlertType alertType, Integer requestedQuantity, Integer availableQuantity,
+                           Integer threshold, long suppressedCount, LocalDateTime windowStartedAt) {
+        super();
+        this.productId = productId;
+        this.alertType = alertType;
+        this.requestedQuantity = requestedQuantity;
+        this.availableQuantity = availableQuantity;
+        this.threshold = threshold;
+        this.suppressedCount = suppressedCount;
+        this.windowStartedAt = windowStartedAt;
+    }
+
+    @Override
+    public String getEventType() {
+        return alertType == AlertType.DEPLETED ? "StockDepleted" : "StockLow";
+    }
+
+    public enum AlertType {
+        /** 예약 실패 (요청 수량보다 사용가능 재고가 적음) */
+        DEPLETED,
+        /** 사용가능 재고가 임계값 이하로 내려감 */
+        LOW_STOCK
+    }
+}
@@ -9,12 +9,19 @@ public class StockReservedEvent extends DomainEvent {
     private final String productId;
     private final String orderId;
     private final Integer quantity;
+    /** 예약 후 남은 사용가능 재고 (알 수 없으면 null) - 재고 부족 임계값 판단용 */
+    private final Integer remainingAvailable;
 
     public StockReservedEvent(String productId, String orderId, Integer quantity) {
+        this(productId, orderId, quantity, null);
+    }
+
+    public StockReservedEvent(String productId, String orderId, Integer quantity, Integer remainingAvailable) {
         super();
         this.productId = productId;
         this.orderId = orderId;
         this.quantity = quantity;
+        this.remainingAvailable = remainingAvailable;
     }
 
     @Override
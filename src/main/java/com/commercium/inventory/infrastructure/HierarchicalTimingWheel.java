@@ -0,0 +1,129 @@
+package com.commercium.inventory.infrastructure;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠
+ *
+ * 1단계 휠은 tickMs 간격의 슬롯 wheelSize 개로 tickMs * wheelSize 범위를 다루고,
+ * 그보다 먼 만료는 슬롯 간격이 wheelSize 배씩 커지는 상위 휠에 넣는다(필요할 때 생성).
+ * 등록은 O(1)이며, 상위 휠 슬롯은 시각이 되면 하위 휠로 내려보낸다.
+ * 만료 시각은 틱 단위로 올림해 다루므로 항목은 만료 시각 이후 첫 틱에 전달되고, 그보다 일찍 전달되지 않는다.
+ * 취소는 지원하지 않으므로 만료 시점에 호출자가 유효성을 확인해야 한다.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+
+    private long currentTime;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("타이밍 휠 설정이 올바르지 않습니다: tickMs=" + tickMs + ", wheelSize=" + wheelSize);
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        this.levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    /**
+     * 만료 등록
+     *
+     * @return 이미 만료 시각이 됐으면 false (호출자가 바로 처리)
+     */
+    public synchronized boolean add(T item, long expiresAt) {
+        if (expiresAt <= currentTime) {
+            return false;
+        }
+        place(new Entry<>(item, (expiresAt + tickMs - 1) / tickMs * tickMs));
+        size++;
+        return true;
+    }
+
+    /**
+     * now 까지 시계를 진행하며 만료된 항목을 전달한다
+     */
+    public synchronized void advance(long now, Consumer<T> expired) {
+        if (size == 0) {
+            // 비어 있으면 틱을 하나씩 돌 필요가 없다 (긴 중단 후 시계가 크게 뛴 경우)
+            currentTime = Math.max(currentTime, now - now % tickMs);
+            return;
+        }
+
+        while (currentTime + tickMs <= now) {
+            currentTime += tickMs;
+
+            // 상위 휠부터 내려보내야 같은 틱에 1단계 슬롯까지 모두 비워진다
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTime % level.tickMs != 0) {
+                    continue;
+                }
+
+                ArrayDeque<Entry<T>> bucket = level.bucketAt(currentTime);
+                Entry<T> entry;
+                while ((entry = bucket.poll()) != null) {
+                    if (entry.deadline <= currentTime) {
+                        size--;
+                        expired.accept(entry.item);
+                    } else {
+                        place(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> top = levels.get(i - 1);
+                levels.add(new Level<>(top.tickMs * wheelSize, wheelSize));
+            }
+
+            Level<T> level = levels.get(i);
+            long levelTime = currentTime - currentTime % level.tickMs;
+            if (entry.deadline < levelTime + level.interval) {
+                level.bucketAt(entry.deadline).add(entry);
+                return;
+            }
+        }
+    }
+
+    private static class Level<T> {
+        private final long tickMs;
+        private final long interval;
+        private final ArrayDeque<Entry<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize) {
+            this.tickMs = tickMs;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+        }
+
+        private ArrayDeque<Entry<T>> bucketAt(long time) {
+            return buckets[(int) ((time / tickMs) % buckets.length)];
+        }
+    }
+
+    /**
+     * deadline: 만료 시각을 틱 단위로 올림한 시각 (이 틱에 전달)
+     */
+    private record Entry<T>(T item, long deadline) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.commercium.inventory.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경합이 심한 분산 락 키 조회 (GET /actuator/hotlocks?limit=20)
+ */
+@Component
+@Endpoint(id = "hotlocks")
+@RequiredArgsConstructor
+public class HotLockEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final LockContentionTracker contentionTracker;
+
+    @ReadOperation
+    public List<Map<String, Object>> hotLocks(@Nullable Integer limit) {
+        return contentionTracker.hotKeys(limit == null ? DEFAULT_LIMIT : Math.max(1, limit));
+    }
+}
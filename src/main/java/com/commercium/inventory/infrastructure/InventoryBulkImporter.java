@@ -0,0 +1,369 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.common.id.SnowflakeIdGenerator;
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.InventoryTransaction;
+import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.TransactionType;
+import com.commercium.inventory.domain.repository.InventoryTransactionRepository;
+import com.commercium.inventory.service.dto.InventoryImportResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 재고 일괄 입고/조정 (창고 동기화용)
+ *
+ * 요청 본문을 한 줄씩 읽어 검증한 뒤 COPY 로 스테이징 테이블에 흘려 넣고,
+ * 스테이징의 상품 ID를 merge-batch-size 단위 구간으로 나눠 구간마다 한 트랜잭션에서 집합 연산으로 반영한다.
+ * 구간마다 행 락을 잡았다 놓으므로 동기화 중에도 주문 예약이 오래 막히지 않는다.
+ * 변경된 상품마다 재고 이력 한 건을 배치 INSERT 로 남기고, 없는 상품은 새로 만든다 (생성은 이력 없음 - 단건 생성과 동일).
+ * 새 재고의 ID 는 단건 생성과 같은 Snowflake 식별자로, 구간의 상품 수만큼 미리 만들어 배열로 넘긴다.
+ * 메모리는 COPY 버퍼와 구간 하나의 이력만큼만 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryBulkImporter {
+
+    private static final String IMPORT_LOCK = "inventory:import";
+    private static final String STAGING_TABLE = "inventory_import_staging";
+    private static final int MAX_PRODUCT_ID_LENGTH = 255;
+
+    private static final String COPY_SQL =
+            "COPY " + STAGING_TABLE + " (import_id, line_no, product_id, quantity) FROM STDIN WITH (FORMAT csv)";
+
+    /** 같은 상품이 여러 줄이면 마지막 줄의 수량 */
+    private static final String LATEST_SOURCE = """
+            SELECT DISTINCT ON (product_id) product_id, quantity
+              FROM inventory_import_staging
+             WHERE import_id = ? AND product_id > ? AND product_id <= ?
+             ORDER BY product_id, line_no DESC
+            """;
+
+    /** 같은 상품이 여러 줄이면 수량 합계 */
+    private static final String SUMMED_SOURCE = """
+            SELECT product_id, SUM(quantity)::int AS quantity
+              FROM inventory_import_staging
+             WHERE import_id = ? AND product_id > ? AND product_id <= ?
+             GROUP BY product_id
+            """;
+
+    /** 전체 수량으로 조정 - 예약 재고는 유지하고 예약보다 적은 수량은 반영하지 않음 */
+    private static final String SET_UPDATE = """
+            UPDATE inventory i
+               SET quantity = o.new_total - o.before_reserved,
+                   updated_at = ?,
+                   version = i.version + 1
+              FROM (SELECT cur.product_id, cur.quantity AS before_available,
+                           cur.reserved_quantity AS before_reserved, src.quantity AS new_total
+                      FROM inventory cur
+                      JOIN (%s) src ON src.product_id = cur.product_id
+                     WHERE src.quantity >= cur.reserved_quantity
+                       AND src.quantity <> cur.quantity + cur.reserved_quantity
+                     ORDER BY cur.product_id
+                       FOR UPDATE OF cur) o
+             WHERE i.product_id = o.product_id
+            RETURNING i.product_id, o.before_available, o.before_reserved, i.quantity, i.reserved_quantity
+            """.formatted(LATEST_SOURCE);
+
+    /** 사용가능 재고에 더함 */
+    private static final String ADD_UPDATE = """
+            UPDATE inventory i
+               SET quantity = i.quantity + o.delta,
+                   updated_at = ?,
+                   version = i.version + 1
+              FROM (SELECT cur.product_id, cur.quantity AS before_available,
+                           cur.reserved_quantity AS before_reserved, src.quantity AS delta
+                      FROM inventory cur
+                      JOIN (%s) src ON src.product_id = cur.product_id
+                     WHERE src.quantity > 0
+                     ORDER BY cur.product_id
+                       FOR UPDATE OF cur) o
+             WHERE i.product_id = o.product_id
+            RETURNING i.product_id, o.before_available, o.before_reserved, i.quantity, i.reserved_quantity
+            """.formatted(SUMMED_SOURCE);
+
+    /** 없는 상품 생성 - 미리 만든 ID 배열에서 상품 ID 순서대로 하나씩 사용 */
+    private static final String INSERT_MISSING = """
+            INSERT INTO inventory (inventory_id, product_id, quantity, reserved_quantity, stock_buckets, version, updated_at)
+            SELECT (?::varchar[])[src.rn], src.product_id, src.quantity, 0, 1, 1, ?
+              FROM (SELECT s.product_id, s.quantity, row_number() OVER (ORDER BY s.product_id) AS rn
+                      FROM (%s) s
+                     WHERE NOT EXISTS (SELECT 1 FROM inventory cur WHERE cur.product_id = s.product_id)) src
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryTransactionRepository transactionRepository;
+    private final SnowflakeIdGenerator idGenerator;
+    private final RedissonClient redissonClient;
+    private final PlatformTransactionManager transactionManager;
+    private final InventoryProperties inventoryProperties;
+
+    /**
+     * CSV(product_id,quantity) 일괄 반영 - 첫 줄이 숫자가 아닌 수량이면 헤더로 보고 건너뜀
+     */
+    public InventoryImportResponse importCsv(InputStream csv, Mode mode, String reason) {
+        if (inventoryProperties.getStockEngine() == InventoryProperties.StockEngine.REDIS) {
+            throw new BusinessRuleViolationException("Redis 재고 엔진에서는 재고 일괄 입고를 지원하지 않습니다");
+        }
+
+        RLock lock = redissonClient.getLock(IMPORT_LOCK);
+        if (!lock.tryLock()) {
+            throw new BusinessRuleViolationException("다른 재고 일괄 입고가 진행 중입니다");
+        }
+
+        long importId = idGenerator.nextId();
+        long startedAt = System.currentTimeMillis();
+        try {
+            ImportReport report = new ImportReport(inventoryProperties.getBulkImport().getMaxReportedErrors());
+            stage(importId, csv, report);
+            merge(importId, mode, reason, report);
+
+            long elapsed = System.currentTimeMillis() - startedAt;
+            log.info("재고 일괄 입고 완료: importId={}, mode={}, 전체={}, 거절={}, 생성={}, 변경={}, 미반영={}, 소요={}ms",
+                    importId, mode, report.totalRows, report.rejectedRows, report.created, report.updated,
+                    report.skipped, elapsed);
+            return report.toResponse(importId, mode, elapsed);
+        } finally {
+            try {
+                jdbcTemplate.update("DELETE FROM " + STAGING_TABLE + " WHERE import_id = ?", importId);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 본문을 검증하며 COPY 로 스테이징 (한 트랜잭션)
+     */
+    private void stage(long importId, InputStream csv, ImportReport report) {
+        int bufferChars = inventoryProperties.getBulkImport().getCopyBufferChars();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Connection connection = DataSourceUtils.getConnection(jdbcTemplate.getDataSource());
+            CopyIn copyIn = null;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+                copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                StringBuilder buffer = new StringBuilder(bufferChars + 512);
+
+                String line;
+                long lineNo = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNo++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    Row row = parse(line, lineNo, report);
+                    if (row == null) {
+                        continue;
+                    }
+
+                    buffer.append(importId).append(',').append(lineNo).append(',')
+                            .append(row.productId).append(',').append(row.quantity).append('\n');
+                    if (buffer.length() >= bufferChars) {
+                        writeToCopy(copyIn, buffer);
+                    }
+                }
+                writeToCopy(copyIn, buffer);
+                copyIn.endCopy();
+            } catch (SQLException e) {
+                cancelQuietly(copyIn);
+                throw jdbcTemplate.getExceptionTranslator().translate("재고 일괄 입고 스테이징", COPY_SQL, e);
+            } catch (IOException e) {
+                cancelQuietly(copyIn);
+                throw new UncheckedIOException("재고 일괄 입고 본문을 읽지 못했습니다", e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, jdbcTemplate.getDataSource());
+            }
+        });
+    }
+
+    /**
+     * 스테이징의 상품 ID 구간마다 한 트랜잭션에서 반영
+     */
+    private void merge(long importId, Mode mode, String reason, ImportReport report) {
+        int batchSize = inventoryProperties.getBulkImport().getMergeBatchSize();
+        String update = mode == Mode.SET ? SET_UPDATE : ADD_UPDATE;
+        String insert = INSERT_MISSING.formatted(mode == Mode.SET ? LATEST_SOURCE : SUMMED_SOURCE);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        String last = "";
+        while (true) {
+            List<String> range = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT product_id FROM " + STAGING_TABLE
+                            + " WHERE import_id = ? AND product_id > ? ORDER BY product_id LIMIT ?",
+                    String.class, importId, last, batchSize);
+            if (range.isEmpty()) {
+                return;
+            }
+
+            String from = last;
+            String to = range.get(range.size() - 1);
+            transactionTemplate.executeWithoutResult(status ->
+                    mergeRange(importId, mode, reason, update, insert, from, to, range.size(), report));
+
+            if (range.size() < batchSize) {
+                return;
+            }
+            last = to;
+        }
+    }
+
+    private void mergeRange(long importId, Mode mode, String reason, String update, String insert,
+                            String from, String to, int products, ImportReport report) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        TransactionType type = mode == Mode.SET ? TransactionType.ADJUSTMENT : TransactionType.INCREASE;
+
+        List<InventoryTransaction> ledger = new ArrayList<>();
+        jdbcTemplate.query(update, (RowCallbackHandler) rs -> {
+            int beforeAvailable = rs.getInt(2);
+            int beforeReserved = rs.getInt(3);
+            int afterAvailable = rs.getInt(4);
+            int afterReserved = rs.getInt(5);
+            int quantity = (afterAvailable + afterReserved) - (beforeAvailable + beforeReserved);
+            ledger.add(InventoryTransaction.create(ProductId.of(rs.getString(1)), null, type, quantity,
+                    beforeAvailable, beforeReserved, afterAvailable, afterReserved, reason, now));
+        }, timestamp, importId, from, to);
+
+        // 구간의 상품 수 이상은 생성될 수 없으므로 그만큼 ID 를 만든다 (이미 있는 상품 몫은 쓰지 않고 버림)
+        String[] inventoryIds = new String[products];
+        for (int i = 0; i < products; i++) {
+            inventoryIds[i] = idGenerator.nextIdString();
+        }
+        int created = jdbcTemplate.update(insert, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", inventoryIds));
+            ps.setTimestamp(2, timestamp);
+            ps.setLong(3, importId);
+            ps.setString(4, from);
+            ps.setString(5, to);
+        });
+        transactionRepository.saveAll(ledger);
+
+        report.updated += ledger.size();
+        report.created += created;
+        report.skipped += products - ledger.size() - created;
+    }
+
+    private static Row parse(String line, long lineNo, ImportReport report) {
+        report.totalRows++;
+        int comma = line.indexOf(',');
+        if (comma < 0 || line.indexOf(',', comma + 1) >= 0) {
+            report.reject(lineNo, "형식은 product_id,quantity 여야 합니다");
+            return null;
+        }
+
+        String productId = line.substring(0, comma).trim();
+        String quantityText = line.substring(comma + 1).trim();
+        int quantity;
+        try {
+            quantity = Integer.parseInt(quantityText);
+        } catch (NumberFormatException e) {
+            if (lineNo == 1) {
+                report.totalRows--; // 헤더
+                return null;
+            }
+            report.reject(lineNo, "수량이 숫자가 아닙니다: " + quantityText);
+            return null;
+        }
+
+        if (productId.isEmpty() || productId.length() > MAX_PRODUCT_ID_LENGTH || productId.indexOf('"') >= 0) {
+            report.reject(lineNo, "잘못된 상품 ID입니다");
+            return null;
+        }
+        if (quantity < 0) {
+            report.reject(lineNo, "수량은 0 이상이어야 합니다");
+            return null;
+        }
+        return new Row(productId, quantity);
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void cancelQuietly(CopyIn copyIn) {
+        try {
+            if (copyIn != null && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } catch (SQLException e) {
+            log.warn("COPY 취소 실패", e);
+        }
+    }
+
+    public enum Mode {
+        /** 전체 재고를 파일의 수량으로 맞춤 (같은 상품은 마지막 줄 기준) */
+        SET,
+        /** 파일의 수량만큼 입고 (같은 상품은 합계) */
+        ADD
+    }
+
+    private record Row(String productId, int quantity) {
+    }
+
+    private static class ImportReport {
+        private final int maxErrors;
+        private final List<String> errors = new ArrayList<>();
+        private long totalRows;
+        private long rejectedRows;
+        private long created;
+        private long updated;
+        private long skipped;
+
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long lineNo, String message) {
+            rejectedRows++;
+            if (errors.size() < maxErrors) {
+                errors.add(lineNo + "행: " + message);
+            }
+        }
+
+        private InventoryImportResponse toResponse(long importId, Mode mode, long elapsedMs) {
+            return InventoryImportResponse.builder()
+                    .importId(String.valueOf(importId))
+                    .mode(mode.name())
+                    .totalRows(totalRows)
+                    .rejectedRows(rejectedRows)
+                    .created(created)
+                    .updated(updated)
+                    .skipped(skipped)
+                    .errors(errors)
+                    .elapsedMs(elapsedMs)
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.commercium.inventory.infrastructure;
 
-import com.commercium.inventory.event.StockDepletedEvent;
+import com.commercium.common.outbox.OutboxMessage;
+import com.commercium.common.outbox.OutboxWriter;
+import com.commercium.inventory.event.StockAlertEvent;
 import com.commercium.inventory.event.StockReleasedEvent;
 import com.commercium.inventory.event.StockReservedEvent;
 import lombok.RequiredArgsConstructor;
@@ -20,20 +22,27 @@ import java.util.concurrent.CompletableFuture;
 public class InventoryEventPublisher {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxWriter outboxWriter;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void publishStockReservedEvent(StockReservedEvent event) {
-        publishEvent("inventory.stock-reserved", event.getProductId(), event);
+        outboxWriter.append(OutboxMessage.of("inventory.stock-reserved", event.getProductId(), event));
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void publishStockReleasedEvent(StockReleasedEvent event) {
-        publishEvent("inventory.stock-released", event.getProductId(), event);
+        outboxWriter.append(OutboxMessage.of("inventory.stock-released", event.getProductId(), event));
     }
 
+    /**
+     * 재고 알림은 롤백되는 트랜잭션에서도 발생하므로 아웃박스를 거치지 않고 바로 전송
+     */
     @EventListener
-    public void publishStockDepletedEvent(StockDepletedEvent event) {
-        publishEvent("inventory.stock-depleted", event.getProductId(), event);
+    public void publishStockAlertEvent(StockAlertEvent event) {
+        String topic = event.getAlertType() == StockAlertEvent.AlertType.DEPLETED
+                ? "inventory.stock-depleted"
+                : "inventory.stock-low";
+        publishEvent(topic, event.getProductId(), event);
     }
 
     private void publishEvent(String topic, String key, Object event) {
@@ -0,0 +1,35 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.inventory.domain.Inventory;
+import org.hibernate.Interceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 플러시 직전 변경 중인 재고 카운터를 JPA 값 객체로 반영
+ *
+ * Inventory 는 재고 변경을 @Transient 카운터에 모아 두므로 영속 필드만 보는 변경 감지는 이를 알지 못한다.
+ * 저장소 save() 를 거치지 않고 커밋/쿼리 전 자동 플러시로 저장되더라도 변경이 빠지지 않도록,
+ * Hibernate 가 변경 감지를 하기 전(preFlush)에 영속성 컨텍스트의 재고 엔티티를 모두 반영한다.
+ */
+@Component
+public class InventoryFlushInterceptor implements Interceptor, HibernatePropertiesCustomizer {
+
+    @Override
+    public void preFlush(Iterator<Object> entities) {
+        while (entities.hasNext()) {
+            if (entities.next() instanceof Inventory inventory) {
+                inventory.materializeStock();
+            }
+        }
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, this);
+    }
+}
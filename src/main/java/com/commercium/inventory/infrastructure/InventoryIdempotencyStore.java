@@ -0,0 +1,245 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.config.properties.InventoryProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재고 이벤트 중복 처리 방지 (주문, 상품, 작업 단위)
+ *
+ * 처리 전에 키를 "처리 중"으로 선점하고(짧은 TTL), 반영이 끝나면 "완료"로 바꿔 done-ttl 동안 남긴다.
+ * 선점은 Lua 스크립트로 주문의 모든 상품 키를 한 번에 확인/기록하므로 동시에 재전달된 메시지 중 하나만 처리한다.
+ * 완료 키는 노드 메모리의 최근 키 필터에도 기록해 같은 노드로 재전달된 중복은 Redis 조회 없이 걸러낸다.
+ * 반영 후 완료 기록 전에 노드가 죽으면 선점 TTL 이 지난 뒤 재전달된 메시지가 다시 반영될 수 있다.
+ * 한 주문의 키는 {주문ID} 해시 태그로 같은 슬롯에 둔다.
+ */
+@Component
+@Slf4j
+public class InventoryIdempotencyStore {
+
+    private static final String KEY_PREFIX = "inventory:processed:";
+    private static final String PROCESSING = "P";
+    private static final String DONE = "D";
+
+    // 반환: 1 선점함, 0 이미 처리됨, -1 다른 곳에서 처리 중
+    private static final String CLAIM_SCRIPT = """
+            local done = 0
+            for i = 1, #KEYS do
+                local state = redis.call('GET', KEYS[i])
+                if state == ARGV[2] then
+                    return -1
+                elseif state then
+                    done = done + 1
+                end
+            end
+            if done > 0 then
+                return 0
+            end
+            for i = 1, #KEYS do
+                redis.call('SET', KEYS[i], ARGV[2], 'PX', ARGV[1])
+            end
+            return 1
+            """;
+
+    private static final String COMPLETE_SCRIPT = """
+            for i = 1, #KEYS do
+                redis.call('SET', KEYS[i], ARGV[1], 'EX', ARGV[2])
+            end
+            return 1
+            """;
+
+    private static final String ABANDON_SCRIPT = """
+            for i = 1, #KEYS do
+                if redis.call('GET', KEYS[i]) == ARGV[1] then
+                    redis.call('DEL', KEYS[i])
+                end
+            end
+            return 1
+            """;
+
+    private final RedissonClient redissonClient;
+    private final RedisScriptExecutor scriptExecutor;
+    private final InventoryProperties inventoryProperties;
+    private final RecentKeyFilter recentKeys;
+
+    public InventoryIdempotencyStore(RedissonClient redissonClient, RedisScriptExecutor scriptExecutor,
+                                     InventoryProperties inventoryProperties) {
+        this.redissonClient = redissonClient;
+        this.scriptExecutor = scriptExecutor;
+        this.inventoryProperties = inventoryProperties;
+        InventoryProperties.Idempotency settings = inventoryProperties.getIdempotency();
+        this.recentKeys = new RecentKeyFilter(settings.getLocalWindowMs(), settings.getLocalMaxEntries());
+    }
+
+    /**
+     * 처리한 적 없는 요청일 때만 실행 (중복이면 실행하지 않고 false)
+     */
+    public boolean runOnce(Operation operation, String orderId, Collection<String> productIds, Runnable action) {
+        InventoryProperties.Idempotency settings = inventoryProperties.getIdempotency();
+        if (!settings.isEnabled()) {
+            action.run();
+            return true;
+        }
+
+        List<Object> keys = keys(operation, orderId, productIds);
+        if (recentKeys.containsAll(keys)) {
+            log.info("중복 재고 요청 무시(로컬): operation={}, orderId={}", operation, orderId);
+            return false;
+        }
+
+        Number claimed = scriptExecutor.execute(CLAIM_SCRIPT, RScript.ReturnType.INTEGER, keys,
+                settings.getProcessingTtlMs(), PROCESSING);
+        if (claimed.intValue() == 0) {
+            recentKeys.addAll(keys);
+            log.info("중복 재고 요청 무시: operation={}, orderId={}", operation, orderId);
+            return false;
+        }
+        if (claimed.intValue() < 0) {
+            throw new BusinessRuleViolationException("같은 재고 요청이 다른 곳에서 처리 중입니다");
+        }
+
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            abandonQuietly(keys);
+            throw e;
+        }
+
+        markCompleted(keys);
+        return true;
+    }
+
+    /**
+     * 이미 처리가 끝난 요청인지 확인 (배치 컨슈머의 사전 필터용, 선점하지 않음)
+     */
+    public boolean isProcessed(Operation operation, String orderId, Collection<String> productIds) {
+        if (!inventoryProperties.getIdempotency().isEnabled()) {
+            return false;
+        }
+
+        List<Object> keys = keys(operation, orderId, productIds);
+        if (recentKeys.containsAll(keys)) {
+            return true;
+        }
+
+        Map<String, Object> states = redissonClient.getBuckets(StringCodec.INSTANCE)
+                .get(keys.stream().map(String::valueOf).toArray(String[]::new));
+        boolean processed = !states.isEmpty() && !states.containsValue(PROCESSING);
+        if (processed) {
+            recentKeys.addAll(keys);
+        }
+        return processed;
+    }
+
+    /**
+     * 처리 완료 기록 (배치 컨슈머가 일괄 반영 후 호출)
+     */
+    public void complete(Operation operation, String orderId, Collection<String> productIds) {
+        if (inventoryProperties.getIdempotency().isEnabled()) {
+            markCompleted(keys(operation, orderId, productIds));
+        }
+    }
+
+    private void markCompleted(List<Object> keys) {
+        try {
+            scriptExecutor.execute(COMPLETE_SCRIPT, RScript.ReturnType.INTEGER, keys,
+                    DONE, inventoryProperties.getIdempotency().getDoneTtlSeconds());
+            recentKeys.addAll(keys);
+        } catch (RuntimeException e) {
+            // 반영은 끝났으므로 실패로 처리하지 않는다 - 선점 TTL 이 지난 뒤 재전달되면 중복 반영될 수 있음
+            log.error("재고 요청 처리 완료 기록 실패: keys={}", keys, e);
+        }
+    }
+
+    private void abandonQuietly(List<Object> keys) {
+        try {
+            scriptExecutor.execute(ABANDON_SCRIPT, RScript.ReturnType.INTEGER, keys, PROCESSING);
+        } catch (RuntimeException e) {
+            log.warn("재고 요청 선점 해제 실패 (선점 TTL 후 만료): keys={}", keys, e);
+        }
+    }
+
+    private static List<Object> keys(Operation operation, String orderId, Collection<String> productIds) {
+        String prefix = KEY_PREFIX + "{" + orderId + "}:" + operation.name() + ":";
+        return productIds.stream().distinct().sorted().<Object>map(productId -> prefix + productId).toList();
+    }
+
+    public enum Operation {
+        RESERVE,
+        RELEASE,
+        DECREASE
+    }
+
+    /**
+     * 최근 완료 키 필터 (키의 64비트 해시만 보관)
+     *
+     * 두 세대를 번갈아 쓰며 현재 세대가 window 를 넘기거나 max-entries 에 닿으면 이전 세대를 버린다.
+     * 따라서 키는 window 에서 2 * window 동안 남고 메모리는 2 * max-entries 개로 제한된다.
+     */
+    private static final class RecentKeyFilter {
+        private final long windowMs;
+        private final int maxEntries;
+        private volatile Set<Long> current = ConcurrentHashMap.newKeySet();
+        private volatile Set<Long> previous = ConcurrentHashMap.newKeySet();
+        private volatile long currentStartedAt = System.currentTimeMillis();
+
+        private RecentKeyFilter(long windowMs, int maxEntries) {
+            this.windowMs = windowMs;
+            this.maxEntries = maxEntries;
+        }
+
+        private boolean containsAll(List<Object> keys) {
+            for (Object key : keys) {
+                long hash = hash(key.toString());
+                if (!current.contains(hash) && !previous.contains(hash)) {
+                    return false;
+                }
+            }
+            return !keys.isEmpty();
+        }
+
+        private void addAll(List<Object> keys) {
+            rotateIfNeeded();
+            for (Object key : keys) {
+                current.add(hash(key.toString()));
+            }
+        }
+
+        private void rotateIfNeeded() {
+            if (!isFull()) {
+                return;
+            }
+            synchronized (this) {
+                if (isFull()) {
+                    previous = current;
+                    current = ConcurrentHashMap.newKeySet();
+                    currentStartedAt = System.currentTimeMillis();
+                }
+            }
+        }
+
+        private boolean isFull() {
+            return System.currentTimeMillis() - currentStartedAt >= windowMs || current.size() >= maxEntries;
+        }
+
+        // FNV-1a 64비트
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
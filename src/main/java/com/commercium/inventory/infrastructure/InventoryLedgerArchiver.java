@@ -0,0 +1,167 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.config.properties.InventoryProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 보존 기간이 지난 재고 이력 파티션 보관
+ *
+ * 보존 기간(app.inventory.ledger.retention-months)보다 오래된 월 파티션을 부모 테이블에서 떼어내고,
+ * 내용을 gzip 압축 CSV 파일로 내보낸 뒤 테이블을 삭제한다.
+ * 파일은 임시 이름으로 쓴 뒤 이름을 바꾸므로, 중간에 실패하면 떼어낸 테이블이 남아 다음 주기에 다시 보관된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLedgerArchiver {
+
+    private static final String ARCHIVE_LOCK = "inventory:ledger:partition:archive";
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String[] COLUMNS = {
+            "transaction_id", "product_id", "order_id", "transaction_type", "quantity",
+            "before_available", "after_available", "before_reserved", "after_reserved",
+            "reason", "created_at"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedissonClient redissonClient;
+    private final InventoryLedgerPartitionManager partitionManager;
+    private final PlatformTransactionManager transactionManager;
+    private final InventoryProperties inventoryProperties;
+
+    @Scheduled(cron = "${app.inventory.ledger.archive-cron:0 0 4 * * *}")
+    public void archiveExpiredPartitions() {
+        InventoryProperties.Ledger settings = inventoryProperties.getLedger();
+        if (!settings.isArchiveEnabled() || !partitionManager.isPartitioned()) {
+            return;
+        }
+
+        RLock lock = redissonClient.getLock(ARCHIVE_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+            YearMonth cutoff = YearMonth.now().minusMonths(settings.getRetentionMonths());
+
+            List<String> targets = new ArrayList<>(partitionManager.detachedPartitions());
+            for (String partition : partitionManager.attachedPartitions()) {
+                if (isExpired(partition, cutoff)) {
+                    jdbcTemplate.execute("ALTER TABLE " + InventoryLedgerPartitionManager.PARENT_TABLE
+                            + " DETACH PARTITION " + partition);
+                    log.info("재고 이력 파티션 분리: partition={}", partition);
+                    targets.add(partition);
+                }
+            }
+
+            for (String partition : targets) {
+                if (!isExpired(partition, cutoff)) {
+                    continue;
+                }
+                try {
+                    archive(partition, Paths.get(settings.getArchiveDirectory()));
+                } catch (RuntimeException e) {
+                    log.error("재고 이력 파티션 보관 실패, 다음 주기에 재시도: partition={}", partition, e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 커서용 트랜잭션 - 복제 지연 없이 Master 에서 읽도록 읽기 전용으로 표시하지 않는다 (읽기 전용은 Replica 로 라우팅됨)
+     */
+    private TransactionTemplate cursorTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private boolean isExpired(String partition, YearMonth cutoff) {
+        return partitionManager.monthOf(partition)
+                .map(month -> month.isBefore(cutoff))
+                .orElse(false);
+    }
+
+    private void archive(String partition, Path directory) {
+        Path target = directory.resolve(partition + ".csv.gz");
+        Path temp = directory.resolve(partition + ".csv.gz.tmp");
+        long[] rows = {0};
+
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+
+                writer.write(String.join(",", COLUMNS));
+                writer.write('\n');
+
+                // PostgreSQL 드라이버는 트랜잭션 안에서만 fetchSize 단위 커서로 읽으므로 트랜잭션으로 감싼다
+                JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+                streaming.setFetchSize(FETCH_SIZE);
+                cursorTransaction().executeWithoutResult(status -> streaming.query(
+                        "SELECT " + String.join(", ", COLUMNS) + " FROM " + partition,
+                        (RowCallbackHandler) rs -> {
+                            writeRow(writer, rs);
+                            rows[0]++;
+                        }));
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("재고 이력 보관 파일 작성 실패: " + target, e);
+        }
+
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        log.info("재고 이력 파티션 보관 완료: partition={}, rows={}, file={}", partition, rows[0], target);
+    }
+
+    private static void writeRow(Writer writer, ResultSet rs) throws SQLException {
+        try {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = rs.getString(i + 1);
+                if (value != null) {
+                    writer.write(csv(value));
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
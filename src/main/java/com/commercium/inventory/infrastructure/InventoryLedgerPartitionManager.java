@@ -0,0 +1,170 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.config.properties.InventoryProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 재고 이력 테이블 월별 파티션 관리
+ *
+ * inventory_transactions 는 created_at 기준 월별 RANGE 파티션 테이블이다 (db/inventory_transactions_partitioning.sql).
+ * 이번 달부터 app.inventory.ledger.partition-premake-months 개월 뒤까지의 파티션을 미리 만들어
+ * 월이 바뀌는 순간 INSERT 가 실패하지 않게 하고, 보존 기간이 지난 파티션은 InventoryLedgerArchiver 가 떼어낸다.
+ * 월 파티션이 없는 시각의 이력은 DEFAULT 파티션에 들어가며, 그 월 파티션을 만들 때 함께 옮긴다
+ * (DEFAULT 파티션에 범위 안의 행이 남아 있으면 PostgreSQL 이 파티션 생성을 거부한다).
+ * 파티션 테이블로 전환되지 않은 환경에서는 아무 작업도 하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLedgerPartitionManager {
+
+    public static final String PARENT_TABLE = "inventory_transactions";
+    public static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT_TABLE + "_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String MAINTENANCE_LOCK = "inventory:ledger:partition:maintenance";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedissonClient redissonClient;
+    private final InventoryProperties inventoryProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            ensureFuturePartitions();
+        } catch (RuntimeException e) {
+            // 기동은 막지 않는다 - 다음 주기에 다시 시도
+            log.error("재고 이력 파티션 준비 실패", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.inventory.ledger.partition-cron:0 30 1 * * *}")
+    public void ensureFuturePartitions() {
+        if (!isPartitioned()) {
+            log.debug("재고 이력 테이블이 파티션 테이블이 아니므로 파티션 관리를 건너뜀");
+            return;
+        }
+
+        RLock lock = redissonClient.getLock(MAINTENANCE_LOCK);
+        if (!lock.tryLock()) {
+            return; // 다른 노드가 처리 중
+        }
+
+        try {
+            YearMonth current = YearMonth.now();
+            int premake = inventoryProperties.getLedger().getPartitionPremakeMonths();
+            for (int i = 0; i <= premake; i++) {
+                createPartitionIfAbsent(current.plusMonths(i));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table pt
+                    JOIN pg_class c ON c.oid = pt.partrelid
+                    WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace
+                )
+                """, Boolean.class, PARENT_TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * 현재 부모 테이블에 붙어 있는 파티션 이름 (DEFAULT 파티션 포함 - monthOf 가 비어 있으므로 보관 대상이 아니다)
+     */
+    public List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname FROM pg_inherits i
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                JOIN pg_class child ON child.oid = i.inhrelid
+                WHERE parent.relname = ? AND parent.relnamespace = current_schema()::regnamespace
+                ORDER BY child.relname
+                """, String.class, PARENT_TABLE);
+    }
+
+    /**
+     * 떼어냈지만 아직 보관/삭제되지 않은 월별 파티션 이름 (이전 보관 작업이 중간에 실패한 경우)
+     */
+    public List<String> detachedPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_class c
+                WHERE c.relkind = 'r' AND c.relname LIKE ? AND c.relnamespace = current_schema()::regnamespace
+                  AND NOT c.relispartition
+                ORDER BY c.relname
+                """, String.class, PARENT_TABLE + "\\_p%");
+    }
+
+    public Optional<YearMonth> monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.parse(matcher.group(1), SUFFIX_FORMAT));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(SUFFIX_FORMAT);
+    }
+
+    private void createPartitionIfAbsent(YearMonth month) {
+        String name = partitionName(month);
+        List<String> attached = attachedPartitions();
+        if (attached.contains(name)) {
+            return;
+        }
+
+        // 파티션 이름/경계는 YearMonth 에서 만들어지므로 외부 입력이 섞이지 않는다
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        if (!attached.contains(DEFAULT_PARTITION)) {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    name, PARENT_TABLE, from, to));
+            log.debug("재고 이력 파티션 확인: partition={}", name);
+            return;
+        }
+
+        // DEFAULT 파티션을 잠가 옮기는 동안 같은 범위의 행이 새로 들어오지 않게 한 뒤, 범위 안의 행을 새 파티션으로 옮겨 붙인다
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN ACCESS EXCLUSIVE MODE");
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS INCLUDING CONSTRAINTS)", name, PARENT_TABLE));
+            int rows = jdbcTemplate.update(String.format("""
+                    WITH moved AS (
+                        DELETE FROM %s WHERE created_at >= '%s' AND created_at < '%s' RETURNING *
+                    )
+                    INSERT INTO %s SELECT * FROM moved
+                    """, DEFAULT_PARTITION, from, to, name));
+            jdbcTemplate.execute(String.format(
+                    "ALTER TABLE %s ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                    PARENT_TABLE, name, from, to));
+            return rows;
+        });
+        if (moved != null && moved > 0) {
+            log.info("DEFAULT 파티션의 재고 이력을 월 파티션으로 이동: partition={}, rows={}", name, moved);
+        } else {
+            log.debug("재고 이력 파티션 확인: partition={}", name);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.inventory.domain.repository.TransactionCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 재고 이력 재생용 스트리밍 조회
+ *
+ * 엔티티로 적재하지 않고 재생에 필요한 열만 커서(fetchSize)로 읽어 넘긴다.
+ * (product_id, created_at, transaction_id) 인덱스 순서로 읽으므로 스냅샷 이후 구간만 범위 스캔한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryLedgerStreamReader {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String COLUMNS =
+            "transaction_id, before_available, before_reserved, after_available, after_reserved, created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * after 이후(after 가 null 이면 처음부터) until 이전까지의 이력을 오래된 순으로 전달
+     */
+    public void forEachSince(String productId, TransactionCursor after, LocalDateTime until,
+                             Consumer<LedgerRow> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS)
+                .append(" FROM inventory_transactions WHERE product_id = ? AND created_at < ?");
+        List<Object> args = new ArrayList<>(List.of(productId, Timestamp.valueOf(until)));
+        if (after != null) {
+            sql.append(" AND (created_at, transaction_id) > (?, ?)");
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(after.transactionId());
+        }
+        sql.append(" ORDER BY created_at, transaction_id");
+
+        // PostgreSQL 드라이버는 트랜잭션 안에서만 fetchSize 단위 커서로 읽는다
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(FETCH_SIZE);
+        cursorTransaction().executeWithoutResult(status -> streaming.query(sql.toString(),
+                (RowCallbackHandler) rs -> consumer.accept(new LedgerRow(
+                        rs.getLong(1),
+                        rs.getInt(2), rs.getInt(3),
+                        rs.getInt(4), rs.getInt(5),
+                        rs.getTimestamp(6).toLocalDateTime())),
+                args.toArray()));
+    }
+
+    /**
+     * 전체 상품 ID를 batchSize 단위로 나눠 전달 (product_id 키셋 순회)
+     */
+    public void forEachProductIdBatch(int batchSize, Consumer<List<String>> consumer) {
+        String last = "";
+        while (true) {
+            List<String> batch = jdbcTemplate.queryForList(
+                    "SELECT product_id FROM inventory WHERE product_id > ? ORDER BY product_id LIMIT ?",
+                    String.class, last, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            consumer.accept(batch);
+            if (batch.size() < batchSize) {
+                return;
+            }
+            last = batch.get(batch.size() - 1);
+        }
+    }
+
+    /**
+     * 커서용 트랜잭션 - 복제 지연 없이 Master 에서 읽도록 읽기 전용으로 표시하지 않는다 (읽기 전용은 Replica 로 라우팅됨)
+     */
+    private TransactionTemplate cursorTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 재생에 필요한 이력 한 건
+     */
+    public record LedgerRow(long transactionId, int beforeAvailable, int beforeReserved,
+                            int afterAvailable, int afterReserved, LocalDateTime createdAt) {
+
+        public int availableDelta() {
+            return afterAvailable - beforeAvailable;
+        }
+
+        public int reservedDelta() {
+            return afterReserved - beforeReserved;
+        }
+    }
+}
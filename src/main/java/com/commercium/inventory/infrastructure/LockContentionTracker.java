@@ -0,0 +1,176 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.config.properties.InventoryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 분산 락 경합 측정
+ *
+ * 락 종류(키에서 ID를 뺀 부분)별로 획득 대기/보유 시간을 Micrometer 타이머로 기록하고,
+ * 키별 통계는 1분 단위 창으로 모아 핫 키 조회(actuator hotlocks)에 사용한다.
+ * 종류별 최근 보유 시간으로 리스 길이를 정한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LockContentionTracker {
+
+    private static final String OTHER_KEYS = "(기타)";
+    private static final double HOLD_DECAY = 0.99;
+
+    private final MeterRegistry meterRegistry;
+    private final InventoryProperties inventoryProperties;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DecayingMax> holdByKind = new ConcurrentHashMap<>();
+
+    private volatile Map<String, KeyStats> currentWindow = new ConcurrentHashMap<>();
+    private volatile Map<String, KeyStats> previousWindow = Map.of();
+
+    public void recordAcquire(String lockKey, long waitNanos, boolean acquired) {
+        String kind = kindOf(lockKey);
+        timer("inventory.lock.acquire", kind, acquired ? "acquired" : "timeout").record(waitNanos, TimeUnit.NANOSECONDS);
+
+        KeyStats stats = statsFor(lockKey);
+        stats.waitNanos.add(waitNanos);
+        stats.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        (acquired ? stats.acquired : stats.timeouts).increment();
+    }
+
+    public void recordHold(String lockKey, long holdNanos) {
+        String kind = kindOf(lockKey);
+        timer("inventory.lock.hold", kind, "released").record(holdNanos, TimeUnit.NANOSECONDS);
+        holdByKind.computeIfAbsent(kind, k -> new DecayingMax()).update(holdNanos);
+        statsFor(lockKey).holdNanos.add(holdNanos);
+    }
+
+    /**
+     * 해제 시점에 이미 리스가 만료되어 다른 보유자가 생겼을 수 있는 경우
+     */
+    public void recordLeaseExpired(String lockKey) {
+        counters.computeIfAbsent(kindOf(lockKey), kind -> Counter.builder("inventory.lock.lease.expired")
+                .tag("kind", kind)
+                .register(meterRegistry)).increment();
+    }
+
+    /**
+     * 최근 보유 시간에 여유 배수를 곱한 리스 길이 (측정 전에는 최대값)
+     */
+    public long leaseMillis(String lockKey) {
+        InventoryProperties.Lock settings = inventoryProperties.getLock();
+        DecayingMax hold = holdByKind.get(kindOf(lockKey));
+        if (hold == null || hold.samples() < settings.getLeaseMinSamples()) {
+            return settings.getMaxLeaseMs();
+        }
+
+        long leaseMs = (long) (TimeUnit.NANOSECONDS.toMillis(hold.value()) * settings.getLeaseMultiplier());
+        return Math.max(settings.getMinLeaseMs(), Math.min(settings.getMaxLeaseMs(), leaseMs));
+    }
+
+    /**
+     * 대기 시간 합계 기준 상위 N개 락 키 (직전 1분 + 현재 창)
+     */
+    public List<Map<String, Object>> hotKeys(int limit) {
+        Map<String, long[]> merged = new HashMap<>();
+        for (Map<String, KeyStats> window : List.of(previousWindow, currentWindow)) {
+            window.forEach((key, stats) -> {
+                long[] sum = merged.computeIfAbsent(key, k -> new long[5]);
+                sum[0] += stats.acquired.sum();
+                sum[1] += stats.timeouts.sum();
+                sum[2] += stats.waitNanos.sum();
+                sum[3] = Math.max(sum[3], stats.maxWaitNanos.get());
+                sum[4] += stats.holdNanos.sum();
+            });
+        }
+
+        return merged.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[2]).reversed())
+                .limit(limit)
+                .map(entry -> {
+                    long[] sum = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("lockKey", entry.getKey());
+                    row.put("acquired", sum[0]);
+                    row.put("timeouts", sum[1]);
+                    row.put("totalWaitMs", TimeUnit.NANOSECONDS.toMillis(sum[2]));
+                    row.put("maxWaitMs", TimeUnit.NANOSECONDS.toMillis(sum[3]));
+                    row.put("avgHoldMs", sum[0] == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(sum[4] / sum[0]));
+                    return row;
+                })
+                .toList();
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void rotateWindow() {
+        previousWindow = currentWindow;
+        currentWindow = new ConcurrentHashMap<>();
+    }
+
+    private KeyStats statsFor(String lockKey) {
+        Map<String, KeyStats> window = currentWindow;
+        KeyStats stats = window.get(lockKey);
+        if (stats != null) {
+            return stats;
+        }
+        // 키 수가 많으면 나머지는 한 항목으로 모아 메모리를 제한한다
+        String key = window.size() < inventoryProperties.getLock().getMaxTrackedKeys() ? lockKey : OTHER_KEYS;
+        return window.computeIfAbsent(key, k -> new KeyStats());
+    }
+
+    private Timer timer(String name, String kind, String result) {
+        return timers.computeIfAbsent(name + "|" + kind + "|" + result, id -> Timer.builder(name)
+                .tag("kind", kind)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static String kindOf(String lockKey) {
+        int separator = lockKey.lastIndexOf(':');
+        return separator < 0 ? lockKey : lockKey.substring(0, separator);
+    }
+
+    private static class KeyStats {
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder holdNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+    }
+
+    /**
+     * 샘플마다 조금씩 줄어드는 최대값 - 오래된 긴 보유 시간의 영향이 점차 사라진다
+     */
+    private static class DecayingMax {
+        private double value;
+        private long samples;
+
+        private synchronized void update(long sample) {
+            value = Math.max(sample, value * HOLD_DECAY);
+            samples++;
+        }
+
+        private synchronized long value() {
+            return (long) value;
+        }
+
+        private synchronized long samples() {
+            return samples;
+        }
+    }
+}
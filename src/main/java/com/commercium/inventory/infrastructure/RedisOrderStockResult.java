@@ -0,0 +1,24 @@
+package com.commercium.inventory.infrastructure;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 단위(다중 상품) Redis 재고 스크립트 실행 결과
+ */
+@Getter
+@RequiredArgsConstructor(staticName = "of")
+public class RedisOrderStockResult {
+
+    private final RedisStockResult.Status status;
+    private final String failedProductId;   // 실패한 상품 (성공 시 null)
+    private final int failedAvailable;      // 실패한 상품의 사용 가능 재고
+
+    public boolean isApplied() {
+        return status == RedisStockResult.Status.APPLIED;
+    }
+
+    public boolean isNotLoaded() {
+        return status == RedisStockResult.Status.NOT_LOADED;
+    }
+}
@@ -0,0 +1,159 @@
+package com.commercium.inventory.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 재고 예약 만료 시각 저장소 (Redis sorted set)
+ *
+ * 예약마다 "주문ID|상품ID" 를 멤버, 만료 시각을 점수로 기록하고 수량은 별도 해시에 둔다.
+ * 만료 처리와 주문 취소/결제가 동시에 일어나도 Lua 스크립트로 한쪽만 예약을 가져가며,
+ * 만료로 해제된 예약은 표식 키를 남겨 이후 취소/결제 요청이 이를 알 수 있게 한다.
+ * 모든 키는 {reservation} 해시 태그로 같은 슬롯에 둔다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisReservationExpiryStore {
+
+    private static final String EXPIRY_KEY = "stock:reservation:{reservation}:expiry";
+    private static final String QUANTITY_KEY = "stock:reservation:{reservation}:quantity";
+    private static final String EXPIRED_KEY_PREFIX = "stock:reservation:{reservation}:expired:";
+    private static final String MEMBER_SEPARATOR = "|";
+
+    // 같은 주문이 같은 상품을 다시 예약하면 수량을 더하고 만료 시각을 늦춘다
+    private static final String SCHEDULE_SCRIPT = """
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('HINCRBY', KEYS[2], ARGV[1], ARGV[3])
+            redis.call('DEL', KEYS[3])
+            return 1
+            """;
+
+    // 반환: 1 추적 중이던 예약에서 차감, 2 이미 만료로 해제됨, 0 추적하지 않는 예약
+    private static final String RESOLVE_SCRIPT = """
+            if redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+                local remaining = redis.call('HINCRBY', KEYS[2], ARGV[1], -tonumber(ARGV[2]))
+                if remaining <= 0 then
+                    redis.call('ZREM', KEYS[1], ARGV[1])
+                    redis.call('HDEL', KEYS[2], ARGV[1])
+                end
+                return 1
+            end
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+                return 2
+            end
+            return 0
+            """;
+
+    // ARGV: now, 표식 유지 시간(초), 표식 키 접두사, 멤버...  반환: {멤버, 수량, ...}
+    private static final String CLAIM_SCRIPT = """
+            local claimed = {}
+            for i = 4, #ARGV do
+                local member = ARGV[i]
+                local score = redis.call('ZSCORE', KEYS[1], member)
+                if score and tonumber(score) <= tonumber(ARGV[1]) then
+                    local quantity = redis.call('HGET', KEYS[2], member)
+                    redis.call('ZREM', KEYS[1], member)
+                    redis.call('HDEL', KEYS[2], member)
+                    if quantity and tonumber(quantity) > 0 then
+                        redis.call('SET', ARGV[3] .. member, quantity, 'EX', ARGV[2])
+                        table.insert(claimed, member)
+                        table.insert(claimed, quantity)
+                    end
+                end
+            end
+            return claimed
+            """;
+
+    private final RedissonClient redissonClient;
+    private final RedisScriptExecutor scriptExecutor;
+
+    /**
+     * 예약 만료 시각 등록
+     */
+    public void schedule(String orderId, String productId, int quantity, long expiresAt) {
+        String member = member(orderId, productId);
+        scriptExecutor.execute(SCHEDULE_SCRIPT, RScript.ReturnType.INTEGER,
+                List.of(EXPIRY_KEY, QUANTITY_KEY, EXPIRED_KEY_PREFIX + member),
+                member, String.valueOf(expiresAt), String.valueOf(quantity));
+    }
+
+    /**
+     * 취소/결제로 예약이 정리될 때 호출
+     */
+    public ResolveStatus resolve(String orderId, String productId, int quantity) {
+        String member = member(orderId, productId);
+        Number result = scriptExecutor.execute(RESOLVE_SCRIPT, RScript.ReturnType.INTEGER,
+                List.of(EXPIRY_KEY, QUANTITY_KEY, EXPIRED_KEY_PREFIX + member),
+                member, String.valueOf(quantity));
+
+        return switch (result.intValue()) {
+            case 1 -> ResolveStatus.TRACKED;
+            case 2 -> ResolveStatus.EXPIRED;
+            default -> ResolveStatus.UNTRACKED;
+        };
+    }
+
+    /**
+     * 만료된 예약을 가져간다 (다른 노드나 취소 요청이 먼저 가져간 예약, 만료 시각이 연장된 예약은 제외)
+     */
+    public List<ExpiredReservation> claim(Collection<String> members, long now, long markerTtlSeconds) {
+        if (members.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> args = new ArrayList<>(members.size() + 3);
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(markerTtlSeconds));
+        args.add(EXPIRED_KEY_PREFIX);
+        args.addAll(members);
+
+        List<Object> result = scriptExecutor.execute(CLAIM_SCRIPT, RScript.ReturnType.MULTI,
+                List.of(EXPIRY_KEY, QUANTITY_KEY), args.toArray());
+
+        List<ExpiredReservation> claimed = new ArrayList<>(result.size() / 2);
+        for (int i = 0; i < result.size(); i += 2) {
+            String member = result.get(i).toString();
+            int separator = member.indexOf(MEMBER_SEPARATOR);
+            claimed.add(new ExpiredReservation(member.substring(0, separator), member.substring(separator + 1),
+                    Integer.parseInt(result.get(i + 1).toString())));
+        }
+        return claimed;
+    }
+
+    /**
+     * 해제에 실패한 만료 예약을 다시 등록
+     */
+    public void reschedule(ExpiredReservation reservation, long expiresAt) {
+        schedule(reservation.orderId(), reservation.productId(), reservation.quantity(), expiresAt);
+    }
+
+    /**
+     * 만료 시각이 지난 예약 멤버 조회 (다른 노드가 등록했거나 재시작으로 휠에서 사라진 예약)
+     */
+    public List<String> findOverdue(long before, int limit) {
+        return new ArrayList<>(redissonClient.<String>getScoredSortedSet(EXPIRY_KEY, StringCodec.INSTANCE)
+                .valueRange(Double.NEGATIVE_INFINITY, true, before, true, 0, limit));
+    }
+
+    public static String member(String orderId, String productId) {
+        return orderId + MEMBER_SEPARATOR + productId;
+    }
+
+    public enum ResolveStatus {
+        TRACKED,
+        EXPIRED,
+        UNTRACKED
+    }
+
+    public record ExpiredReservation(String orderId, String productId, int quantity) {
+    }
+}
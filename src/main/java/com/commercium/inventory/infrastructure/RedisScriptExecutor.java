@@ -0,0 +1,41 @@
+package com.commercium.inventory.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lua 스크립트 실행 (EVALSHA, 스크립트 캐시가 비워졌으면 EVAL 로 다시 적재)
+ *
+ * 스크립트 본문별 SHA 를 한 곳에서 캐시하므로 재고 원장, 예약 만료, 중복 방지 저장소가 같은 실행 경로를 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisScriptExecutor {
+
+    private final RedissonClient redissonClient;
+    private final Map<String, String> scriptShas = new ConcurrentHashMap<>();
+
+    public <R> R execute(String script, RScript.ReturnType returnType, List<Object> keys, Object... args) {
+        RScript rScript = redissonClient.getScript(StringCodec.INSTANCE);
+        String sha = scriptShas.computeIfAbsent(script, rScript::scriptLoad);
+
+        try {
+            return rScript.evalSha(RScript.Mode.READ_WRITE, sha, returnType, keys, args);
+        } catch (RedisException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("NOSCRIPT")) {
+                throw e;
+            }
+            // Redis 재시작 등으로 스크립트 캐시가 비워진 경우 다시 적재
+            scriptShas.remove(script);
+            return rScript.eval(RScript.Mode.READ_WRITE, script, returnType, keys, args);
+        }
+    }
+}
@@ -0,0 +1,871 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.common.id.SnowflakeIdGenerator;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.TransactionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RList;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 상주 재고 원장
+ *
+ * 사용 가능/예약 재고를 stock:available:{id}, stock:reserved:{id} 키에 두고
+ * 예약/해제/차감/입고/조정을 Lua 스크립트 한 번으로 검증·반영한다.
+ * 스크립트는 같은 해시 슬롯의 stock:ledger:{id} 리스트에 변경 이력을 함께 기록하며,
+ * StockWriteBehindFlusher 가 이를 DB로 일괄 반영한다.
+ *
+ * 분할 재고 모드에서는 {id#버킷번호} 슬롯마다 같은 키 구성을 가지며,
+ * 버킷 수는 기본 슬롯의 stock:buckets:{id} 키에 기록된다.
+ *
+ * 주문 단위 예약과 버킷 재분배 스크립트는 여러 해시 슬롯의 키를 한 번에 다루므로 단일 노드 Redis 를 전제로 한다
+ * (Redis Cluster 에서는 CROSSSLOT 으로 실패 - RedisStockEngine 이 기동 시 확인).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisStockLedger {
+
+    private static final String LEDGER_KEY_PREFIX = "stock:ledger:";
+    private static final String FLUSH_LOCK_PREFIX = "stock:ledger:flush:";
+    private static final String BUCKET_SEPARATOR = "#";
+
+    private static final String LOAD_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            if redis.call('LLEN', KEYS[3]) > 0 then
+                return -1
+            end
+            redis.call('SET', KEYS[1], ARGV[1])
+            redis.call('SET', KEYS[2], ARGV[2])
+            return 1
+            """;
+
+    // KEYS: 버킷 수, 기본 ledger, (버킷 available, reserved, ledger) x N / ARGV: N, (available, reserved) x N
+    // 버킷이 하나라도 없으면 살아 있는 버킷까지 모두 DB 값으로 다시 나눈다 (일부만 채우면 합계가 DB 보다 커짐).
+    // DB 값은 반영되지 않은 원장이 없을 때만 정확하므로 원장이 남아 있으면 -1
+    private static final String LOAD_SPLIT_SCRIPT = """
+            local n = tonumber(ARGV[1])
+            redis.call('SET', KEYS[1], n)
+            local missing = false
+            for i = 1, n do
+                local base = 2 + (i - 1) * 3
+                if redis.call('EXISTS', KEYS[base + 1]) == 0 or redis.call('EXISTS', KEYS[base + 2]) == 0 then
+                    missing = true
+                end
+            end
+            if not missing then
+                return 0
+            end
+            if redis.call('LLEN', KEYS[2]) > 0 then
+                return -1
+            end
+            for i = 1, n do
+                if redis.call('LLEN', KEYS[2 + (i - 1) * 3 + 3]) > 0 then
+                    return -1
+                end
+            end
+            for i = 1, n do
+                local base = 2 + (i - 1) * 3
+                redis.call('SET', KEYS[base + 1], ARGV[1 + (i - 1) * 2 + 1])
+                redis.call('SET', KEYS[base + 2], ARGV[1 + (i - 1) * 2 + 2])
+            end
+            return 1
+            """;
+
+    // KEYS: available, reserved, ledger
+    // ARGV: quantity, transactionId, productId, orderId, reason, timestamp, partial(1이면 가능한 만큼만 반영)
+    // 수량은 RedisStockEngine 이 먼저 검증하지만, 음수 예약이 재고를 늘리지 않도록 스크립트에서도 거부한다
+    private static final String SCRIPT_HEADER = """
+            local available = redis.call('GET', KEYS[1])
+            local reserved = redis.call('GET', KEYS[2])
+            if not available or not reserved then
+                return {-1, 0, 0, 0}
+            end
+            available = tonumber(available)
+            reserved = tonumber(reserved)
+            local qty = tonumber(ARGV[1])
+            local partial = ARGV[7] == '1'
+            local function invalidQuantity()
+                return redis.error_reply('invalid stock quantity: ' .. ARGV[1])
+            end
+            local function apply(type, newAvailable, newReserved, recordedQty)
+                redis.call('SET', KEYS[1], newAvailable)
+                redis.call('SET', KEYS[2], newReserved)
+                redis.call('RPUSH', KEYS[3], cjson.encode({
+                    id = ARGV[2], p = ARGV[3], o = ARGV[4], t = type, q = recordedQty,
+                    ba = available, br = reserved, aa = newAvailable, ar = newReserved,
+                    r = ARGV[5], ts = tonumber(ARGV[6])
+                }))
+                return {1, newAvailable, newReserved, recordedQty}
+            end
+            local function take(limit)
+                if limit >= qty then
+                    return qty
+                end
+                if partial and limit > 0 then
+                    return limit
+                end
+                return 0
+            end
+            """;
+
+    private static final String RESERVE_SCRIPT = SCRIPT_HEADER + """
+            if qty <= 0 then
+                return invalidQuantity()
+            end
+            local n = take(available)
+            if n == 0 then
+                return {0, available, reserved, 0}
+            end
+            return apply('RESERVE', available - n, reserved + n, n)
+            """;
+
+    private static final String RELEASE_SCRIPT = SCRIPT_HEADER + """
+            if qty <= 0 then
+                return invalidQuantity()
+            end
+            local n = take(reserved)
+            if n == 0 then
+                return {0, available, reserved, 0}
+            end
+            return apply('RELEASE', available + n, reserved - n, n)
+            """;
+
+    private static final String DECREASE_SCRIPT = SCRIPT_HEADER + """
+            if qty <= 0 then
+                return invalidQuantity()
+            end
+            local n = take(reserved)
+            if n == 0 then
+                return {0, available, reserved, 0}
+            end
+            return apply('DECREASE', available, reserved - n, n)
+            """;
+
+    private static final String INCREASE_SCRIPT = SCRIPT_HEADER + """
+            if qty <= 0 then
+                return invalidQuantity()
+            end
+            return apply('INCREASE', available + qty, reserved, qty)
+            """;
+
+    private static final String ADJUST_SCRIPT = SCRIPT_HEADER + """
+            if qty < 0 then
+                return invalidQuantity()
+            end
+            return apply('ADJUSTMENT', qty, 0, qty - (available + reserved))
+            """;
+
+    // KEYS: (available, reserved, ledger) x N / ARGV: orderId, reason, timestamp, (quantity, transactionId, productId) x N
+    // 모든 상품을 먼저 검증한 뒤 반영하므로 일부만 예약된 상태가 남지 않는다
+    private static final String RESERVE_ORDER_SCRIPT = """
+            local count = #KEYS / 3
+            local availables = {}
+            local reserveds = {}
+            for i = 1, count do
+                local base = (i - 1) * 3
+                local qty = tonumber(ARGV[3 + base + 1])
+                if qty <= 0 then
+                    return redis.error_reply('invalid stock quantity: ' .. ARGV[3 + base + 1])
+                end
+                local available = redis.call('GET', KEYS[base + 1])
+                local reserved = redis.call('GET', KEYS[base + 2])
+                if not available or not reserved then
+                    return {-1, i, 0}
+                end
+                available = tonumber(available)
+                if available < qty then
+                    return {0, i, available}
+                end
+                availables[i] = available
+                reserveds[i] = tonumber(reserved)
+            end
+            for i = 1, count do
+                local base = (i - 1) * 3
+                local qty = tonumber(ARGV[3 + base + 1])
+                local newAvailable = availables[i] - qty
+                local newReserved = reserveds[i] + qty
+                redis.call('SET', KEYS[base + 1], newAvailable)
+                redis.call('SET', KEYS[base + 2], newReserved)
+                redis.call('RPUSH', KEYS[base + 3], cjson.encode({
+                    id = ARGV[3 + base + 2], p = ARGV[3 + base + 3], o = ARGV[1], t = 'RESERVE', q = qty,
+                    ba = availables[i], br = reserveds[i], aa = newAvailable, ar = newReserved,
+                    r = ARGV[2], ts = tonumber(ARGV[3])
+                }))
+            end
+            return {1, 0, 0}
+            """;
+
+    // KEYS: (버킷 available, reserved, ledger) x N / ARGV: 새 수량, productId, reason, timestamp, (transactionId) x N
+    // 모든 버킷을 한 번에 확인하고 나눠 설정하므로 동시 예약이 일부만 조정된 버킷을 보지 않는다
+    private static final String ADJUST_SPLIT_SCRIPT = """
+            local count = #KEYS / 3
+            local newQuantity = tonumber(ARGV[1])
+            if newQuantity < 0 then
+                return redis.error_reply('invalid stock quantity: ' .. ARGV[1])
+            end
+            local availables = {}
+            local reserveds = {}
+            for i = 1, count do
+                local base = (i - 1) * 3
+                local available = redis.call('GET', KEYS[base + 1])
+                local reserved = redis.call('GET', KEYS[base + 2])
+                if not available or not reserved then
+                    return {-1, 0, 0, 0}
+                end
+                availables[i] = tonumber(available)
+                reserveds[i] = tonumber(reserved)
+            end
+            for i = 1, count do
+                local base = (i - 1) * 3
+                local share = math.floor(newQuantity / count) + ((i <= newQuantity % count) and 1 or 0)
+                redis.call('SET', KEYS[base + 1], share)
+                redis.call('SET', KEYS[base + 2], 0)
+                redis.call('RPUSH', KEYS[base + 3], cjson.encode({
+                    id = ARGV[4 + i], p = ARGV[2], o = '', t = 'ADJUSTMENT', q = share - (availables[i] + reserveds[i]),
+                    ba = availables[i], br = reserveds[i], aa = share, ar = 0,
+                    r = ARGV[3], ts = tonumber(ARGV[4])
+                }))
+            end
+            return {1, newQuantity, 0, newQuantity}
+            """;
+
+    // KEYS: 기본 available, 기본 reserved, 버킷 수, (기존 버킷 available, reserved) x oldN, (새 버킷 available, reserved) x newN
+    // ARGV: oldN, newN
+    // 합계를 유지한 채 재분배하므로 원장 기록은 남기지 않는다
+    private static final String RESPLIT_SCRIPT = """
+            local oldN = tonumber(ARGV[1])
+            local newN = tonumber(ARGV[2])
+            local totalAvailable = 0
+            local totalReserved = 0
+            local loaded = false
+            local function collect(availableKey, reservedKey)
+                local a = redis.call('GET', availableKey)
+                local r = redis.call('GET', reservedKey)
+                if a and r then
+                    totalAvailable = totalAvailable + tonumber(a)
+                    totalReserved = totalReserved + tonumber(r)
+                    loaded = true
+                end
+                redis.call('DEL', availableKey, reservedKey)
+            end
+            collect(KEYS[1], KEYS[2])
+            for i = 1, oldN do
+                collect(KEYS[3 + (i - 1) * 2 + 1], KEYS[3 + (i - 1) * 2 + 2])
+            end
+            if newN > 1 then
+                redis.call('SET', KEYS[3], newN)
+            else
+                redis.call('DEL', KEYS[3])
+            end
+            if not loaded then
+                return 0
+            end
+            local offset = 3 + oldN * 2
+            if newN <= 1 then
+                redis.call('SET', KEYS[1], totalAvailable)
+                redis.call('SET', KEYS[2], totalReserved)
+                return 1
+            end
+            for i = 1, newN do
+                local a = math.floor(totalAvailable / newN) + ((i <= totalAvailable % newN) and 1 or 0)
+                local r = math.floor(totalReserved / newN) + ((i <= totalReserved % newN) and 1 or 0)
+                redis.call('SET', KEYS[offset + (i - 1) * 2 + 1], a)
+                redis.call('SET', KEYS[offset + (i - 1) * 2 + 2], r)
+            end
+            return 1
+            """;
+
+    // KEYS: available, reserved, ledger / ARGV: 기대 available, 기대 reserved, 새 available, 새 reserved
+    // 반영되지 않은 원장이 있으면 -1, 값이 그 사이 바뀌었으면 0
+    private static final String OVERWRITE_SCRIPT = """
+            if redis.call('LLEN', KEYS[3]) > 0 then
+                return -1
+            end
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] or redis.call('GET', KEYS[2]) ~= ARGV[2] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[4])
+            return 1
+            """;
+
+    private static final String CLUSTER_ENABLED_SCRIPT = """
+            if string.find(redis.call('INFO', 'cluster'), 'cluster_enabled:1', 1, true) then
+                return 1
+            end
+            return 0
+            """;
+
+    private final RedissonClient redissonClient;
+    private final RedisScriptExecutor scriptExecutor;
+    private final ObjectMapper objectMapper;
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final Set<String> dirtyLedgers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> bucketCounts = new ConcurrentHashMap<>();
+
+    public static String availableKey(String slotId) {
+        return "stock:available:{" + slotId + "}";
+    }
+
+    public static String reservedKey(String slotId) {
+        return "stock:reserved:{" + slotId + "}";
+    }
+
+    public static String ledgerKey(String slotId) {
+        return LEDGER_KEY_PREFIX + "{" + slotId + "}";
+    }
+
+    public static String bucketCountKey(String productId) {
+        return "stock:buckets:{" + productId + "}";
+    }
+
+    /**
+     * 분할 재고 버킷의 슬롯 ID (예: product-1#3)
+     */
+    public static String bucketSlotId(String productId, int bucket) {
+        return productId + BUCKET_SEPARATOR + bucket;
+    }
+
+    /**
+     * 슬롯 ID에서 상품 ID 추출
+     */
+    public static String productIdOf(String slotId) {
+        int separator = slotId.lastIndexOf(BUCKET_SEPARATOR);
+        return separator < 0 ? slotId : slotId.substring(0, separator);
+    }
+
+    public RedisStockResult reserve(String productId, String orderId, int quantity, String reason) {
+        return mutate(RESERVE_SCRIPT, productId, productId, orderId, quantity, false, reason);
+    }
+
+    /**
+     * 주문의 모든 상품을 한 번의 스크립트로 예약 (전부 성공 또는 전부 실패)
+     *
+     * 여러 상품의 해시 슬롯 키를 한 스크립트에서 다루므로 단일 노드 Redis 에서만 동작한다.
+     */
+    public RedisOrderStockResult reserveOrder(String orderId, Map<String, Integer> quantities, String reason) {
+        List<String> productIds = new ArrayList<>(quantities.keySet());
+        List<Object> keys = new ArrayList<>(productIds.size() * 3);
+        List<Object> args = new ArrayList<>(3 + productIds.size() * 3);
+        args.add(orderId);
+        args.add(reason != null ? reason : "");
+        args.add(System.currentTimeMillis());
+
+        for (String productId : productIds) {
+            keys.add(availableKey(productId));
+            keys.add(reservedKey(productId));
+            keys.add(ledgerKey(productId));
+            args.add(quantities.get(productId));
+            args.add(String.valueOf(idGenerator.nextId()));
+            args.add(productId);
+        }
+
+        List<Object> result = scriptExecutor.execute(RESERVE_ORDER_SCRIPT, RScript.ReturnType.MULTI, keys, args.toArray());
+        long code = ((Number) result.get(0)).longValue();
+
+        if (code == 1) {
+            dirtyLedgers.addAll(productIds);
+            return RedisOrderStockResult.of(RedisStockResult.Status.APPLIED, null, 0);
+        }
+
+        String failedProductId = productIds.get(((Number) result.get(1)).intValue() - 1);
+        RedisStockResult.Status status = code == 0 ? RedisStockResult.Status.INSUFFICIENT : RedisStockResult.Status.NOT_LOADED;
+        return RedisOrderStockResult.of(status, failedProductId, ((Number) result.get(2)).intValue());
+    }
+
+    /**
+     * 연결된 Redis 가 Cluster 모드인지 (여러 슬롯 키를 다루는 스크립트를 쓸 수 없음)
+     */
+    public boolean isClusterEnabled() {
+        Number result = scriptExecutor.execute(CLUSTER_ENABLED_SCRIPT, RScript.ReturnType.INTEGER, List.of());
+        return result.longValue() == 1;
+    }
+
+    public RedisStockResult release(String productId, String orderId, int quantity, String reason) {
+        return mutate(RELEASE_SCRIPT, productId, productId, orderId, quantity, false, reason);
+    }
+
+    public RedisStockResult decrease(String productId, String orderId, int quantity, String reason) {
+        return mutate(DECREASE_SCRIPT, productId, productId, orderId, quantity, false, reason);
+    }
+
+    public RedisStockResult increase(String productId, int quantity, String reason) {
+        return mutate(INCREASE_SCRIPT, productId, productId, null, quantity, false, reason);
+    }
+
+    public RedisStockResult adjust(String productId, int newQuantity, String reason) {
+        return mutate(ADJUST_SCRIPT, productId, productId, null, newQuantity, false, reason);
+    }
+
+    /**
+     * 분할 재고 조정 - 새 수량을 모든 버킷에 고르게 나눠 한 스크립트로 설정 (예약 재고는 모두 해제)
+     */
+    public RedisStockResult adjustSplit(String productId, int buckets, int newQuantity, String reason) {
+        List<Object> keys = new ArrayList<>(buckets * 3);
+        List<Object> args = new ArrayList<>(4 + buckets);
+        args.add(newQuantity);
+        args.add(productId);
+        args.add(reason != null ? reason : "");
+        args.add(System.currentTimeMillis());
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            String slotId = bucketSlotId(productId, bucket);
+            keys.add(availableKey(slotId));
+            keys.add(reservedKey(slotId));
+            keys.add(ledgerKey(slotId));
+            args.add(String.valueOf(idGenerator.nextId()));
+        }
+
+        List<Object> result = scriptExecutor.execute(ADJUST_SPLIT_SCRIPT, RScript.ReturnType.MULTI, keys, args.toArray());
+        RedisStockResult stockResult = RedisStockResult.fromScript(result);
+        if (stockResult.isApplied()) {
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                dirtyLedgers.add(bucketSlotId(productId, bucket));
+            }
+        }
+        return stockResult;
+    }
+
+    /**
+     * 분할 재고의 한 버킷에 재고 변경 적용
+     *
+     * @param partial true 이면 요청 수량보다 적어도 가능한 만큼만 반영하고 반영 수량을 결과에 담는다
+     *                (예약/해제/차감에만 의미가 있다)
+     */
+    public RedisStockResult applyToBucket(TransactionType type, String productId, int bucket, String orderId,
+                                          int quantity, boolean partial, String reason) {
+        String script = switch (type) {
+            case RESERVE -> RESERVE_SCRIPT;
+            case RELEASE -> RELEASE_SCRIPT;
+            case DECREASE -> DECREASE_SCRIPT;
+            case INCREASE -> INCREASE_SCRIPT;
+            case ADJUSTMENT -> ADJUST_SCRIPT;
+        };
+        return mutate(script, bucketSlotId(productId, bucket), productId, orderId, quantity, partial, reason);
+    }
+
+    /**
+     * DB 재고를 Redis에 적재 (키가 없을 때만)
+     *
+     * @return 1: 적재, 0: 이미 적재됨, -1: 반영되지 않은 원장이 남아 있어 적재 보류
+     */
+    public long load(String productId, StockQuantity stockQuantity) {
+        bucketCounts.put(productId, 1);
+        return loadSlot(productId, stockQuantity.getAvailable(), stockQuantity.getReserved());
+    }
+
+    /**
+     * DB 재고를 버킷들에 고르게 나눠 적재
+     *
+     * 버킷이 하나라도 없으면 남아 있는 버킷까지 모두 DB 합계로 다시 나눈다. DB 합계는 모든 원장이 반영된 뒤에만
+     * 정확하므로, 반영되지 않은 원장이 있으면 적재를 보류한다 (원장 반영 락을 잡고 읽은 DB 값을 넘겨야 한다).
+     *
+     * @return 1: 적재, 0: 모든 버킷이 이미 적재됨, -1: 반영되지 않은 원장이 남아 있어 적재 보류
+     */
+    public long loadSplit(String productId, StockQuantity stockQuantity, int buckets) {
+        List<Object> keys = new ArrayList<>(2 + buckets * 3);
+        List<Object> args = new ArrayList<>(1 + buckets * 2);
+        keys.add(bucketCountKey(productId));
+        keys.add(ledgerKey(productId));
+        args.add(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            String slotId = bucketSlotId(productId, bucket);
+            keys.add(availableKey(slotId));
+            keys.add(reservedKey(slotId));
+            keys.add(ledgerKey(slotId));
+            args.add(share(stockQuantity.getAvailable(), buckets, bucket));
+            args.add(share(stockQuantity.getReserved(), buckets, bucket));
+        }
+
+        Number result = scriptExecutor.execute(LOAD_SPLIT_SCRIPT, RScript.ReturnType.INTEGER, keys, args.toArray());
+        bucketCounts.put(productId, buckets);
+        return result.longValue();
+    }
+
+    /**
+     * 상품 원장 반영 락 - 원장 반영, 정합성 확정, DB 재고 적재가 서로 겹치지 않게 한다
+     */
+    public RLock flushLock(String productId) {
+        return redissonClient.getLock(FLUSH_LOCK_PREFIX + productId);
+    }
+
+    /**
+     * 버킷 수 변경 - 기존 키(기본 또는 버킷)의 합계를 새 버킷들에 재분배
+     *
+     * 기본 키와 모든 버킷 키를 한 스크립트에서 다루므로 단일 노드 Redis 를 전제로 한다.
+     */
+    public void resplit(String productId, int newBuckets) {
+        int oldBuckets = readBucketCount(productId);
+        int oldBucketKeys = oldBuckets > 1 ? oldBuckets : 0;
+        int newBucketKeys = newBuckets > 1 ? newBuckets : 0;
+
+        List<Object> keys = new ArrayList<>();
+        keys.add(availableKey(productId));
+        keys.add(reservedKey(productId));
+        keys.add(bucketCountKey(productId));
+        for (int bucket = 0; bucket < oldBucketKeys; bucket++) {
+            keys.add(availableKey(bucketSlotId(productId, bucket)));
+            keys.add(reservedKey(bucketSlotId(productId, bucket)));
+        }
+        for (int bucket = 0; bucket < newBucketKeys; bucket++) {
+            keys.add(availableKey(bucketSlotId(productId, bucket)));
+            keys.add(reservedKey(bucketSlotId(productId, bucket)));
+        }
+
+        scriptExecutor.execute(RESPLIT_SCRIPT, RScript.ReturnType.INTEGER, keys, oldBucketKeys, newBuckets);
+        bucketCounts.put(productId, newBuckets);
+
+        log.info("재고 버킷 재분배: productId={}, 기존버킷={}, 신규버킷={}", productId, oldBuckets, newBuckets);
+    }
+
+    /**
+     * 이 노드가 알고 있는 버킷 수 (모르면 1 - 기본 키가 없으면 NOT_LOADED 로 드러난다)
+     */
+    public int bucketCount(String productId) {
+        return bucketCounts.getOrDefault(productId, 1);
+    }
+
+    public void forgetBucketCount(String productId) {
+        bucketCounts.remove(productId);
+    }
+
+    /**
+     * 현재 Redis 재고 조회 (분할 재고는 전체 버킷 합계, 적재되지 않았으면 empty)
+     */
+    public Optional<StockQuantity> find(String productId) {
+        Map<String, Object> values = redissonClient.getBuckets(StringCodec.INSTANCE)
+                .get(availableKey(productId), reservedKey(productId), bucketCountKey(productId));
+
+        Object bucketCount = values.get(bucketCountKey(productId));
+        if (bucketCount != null && Integer.parseInt(bucketCount.toString()) > 1) {
+            return sumBuckets(findBuckets(productId, Integer.parseInt(bucketCount.toString())));
+        }
+
+        Object available = values.get(availableKey(productId));
+        Object reserved = values.get(reservedKey(productId));
+        if (available == null || reserved == null) {
+            return Optional.empty();
+        }
+        return Optional.of(StockQuantity.of(Integer.parseInt(available.toString()), Integer.parseInt(reserved.toString())));
+    }
+
+    /**
+     * 여러 상품의 현재 Redis 재고 일괄 조회 - 적재되지 않은 상품은 결과에서 빠진다
+     *
+     * 기본 키는 MGET 한 번으로 읽고, 분할 재고 상품이 있으면 그 버킷 키만 한 번 더 MGET 한다.
+     */
+    public Map<String, StockQuantity> findAll(Collection<String> productIds) {
+        List<String> keys = new ArrayList<>(productIds.size() * 3);
+        for (String productId : productIds) {
+            keys.add(availableKey(productId));
+            keys.add(reservedKey(productId));
+            keys.add(bucketCountKey(productId));
+        }
+        Map<String, Object> values = redissonClient.getBuckets(StringCodec.INSTANCE).get(keys.toArray(String[]::new));
+
+        Map<String, StockQuantity> result = new HashMap<>(productIds.size() * 2);
+        Map<String, Integer> splitProducts = new HashMap<>();
+        for (String productId : productIds) {
+            Object bucketCount = values.get(bucketCountKey(productId));
+            if (bucketCount != null && Integer.parseInt(bucketCount.toString()) > 1) {
+                splitProducts.put(productId, Integer.parseInt(bucketCount.toString()));
+                continue;
+            }
+            Object available = values.get(availableKey(productId));
+            Object reserved = values.get(reservedKey(productId));
+            if (available != null && reserved != null) {
+                result.put(productId, StockQuantity.of(
+                        Integer.parseInt(available.toString()), Integer.parseInt(reserved.toString())));
+            }
+        }
+
+        if (!splitProducts.isEmpty()) {
+            List<String> bucketKeys = new ArrayList<>();
+            splitProducts.forEach((productId, buckets) -> {
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    bucketKeys.add(availableKey(bucketSlotId(productId, bucket)));
+                    bucketKeys.add(reservedKey(bucketSlotId(productId, bucket)));
+                }
+            });
+            Map<String, Object> bucketValues = redissonClient.getBuckets(StringCodec.INSTANCE)
+                    .get(bucketKeys.toArray(String[]::new));
+
+            splitProducts.forEach((productId, buckets) -> {
+                List<StockQuantity> quantities = new ArrayList<>(buckets);
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    Object available = bucketValues.get(availableKey(bucketSlotId(productId, bucket)));
+                    Object reserved = bucketValues.get(reservedKey(bucketSlotId(productId, bucket)));
+                    quantities.add(available == null || reserved == null ? null
+                            : StockQuantity.of(Integer.parseInt(available.toString()), Integer.parseInt(reserved.toString())));
+                }
+                sumBuckets(quantities).ifPresent(quantity -> result.put(productId, quantity));
+            });
+        }
+        return result;
+    }
+
+    /**
+     * 여러 상품의 Redis 상태 일괄 점검 (파이프라인) - 재고, 버킷 수, DB 미반영 원장 건수
+     *
+     * 기본 키를 한 번의 배치로 읽고, 분할 재고 상품은 버킷 키를 한 번 더 배치로 읽는다.
+     */
+    public Map<String, SlotState> inspect(Collection<String> productIds) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        Map<String, List<RFuture<?>>> baseFutures = new HashMap<>(productIds.size() * 2);
+        for (String productId : productIds) {
+            baseFutures.put(productId, List.of(
+                    batch.getBucket(availableKey(productId), StringCodec.INSTANCE).getAsync(),
+                    batch.getBucket(reservedKey(productId), StringCodec.INSTANCE).getAsync(),
+                    batch.getBucket(bucketCountKey(productId), StringCodec.INSTANCE).getAsync(),
+                    batch.getList(ledgerKey(productId), StringCodec.INSTANCE).sizeAsync()));
+        }
+        batch.execute();
+
+        Map<String, SlotState> result = new HashMap<>(productIds.size() * 2);
+        Map<String, Integer> splitProducts = new HashMap<>();
+        baseFutures.forEach((productId, futures) -> {
+            Object bucketCount = join(futures.get(2));
+            int buckets = bucketCount == null ? 1 : Integer.parseInt(bucketCount.toString());
+            if (buckets > 1) {
+                splitProducts.put(productId, buckets);
+                return;
+            }
+            result.put(productId, new SlotState(quantityOf(join(futures.get(0)), join(futures.get(1))),
+                    1, ((Number) join(futures.get(3))).longValue()));
+        });
+
+        if (!splitProducts.isEmpty()) {
+            RBatch bucketBatch = redissonClient.createBatch(BatchOptions.defaults());
+            Map<String, List<RFuture<?>>> bucketFutures = new HashMap<>();
+            splitProducts.forEach((productId, buckets) -> {
+                List<RFuture<?>> futures = new ArrayList<>(buckets * 3);
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    String slotId = bucketSlotId(productId, bucket);
+                    futures.add(bucketBatch.getBucket(availableKey(slotId), StringCodec.INSTANCE).getAsync());
+                    futures.add(bucketBatch.getBucket(reservedKey(slotId), StringCodec.INSTANCE).getAsync());
+                    futures.add(bucketBatch.getList(ledgerKey(slotId), StringCodec.INSTANCE).sizeAsync());
+                }
+                bucketFutures.put(productId, futures);
+            });
+            bucketBatch.execute();
+
+            bucketFutures.forEach((productId, futures) -> {
+                int buckets = splitProducts.get(productId);
+                List<StockQuantity> quantities = new ArrayList<>(buckets);
+                long pending = 0;
+                for (int bucket = 0; bucket < buckets; bucket++) {
+                    quantities.add(quantityOf(join(futures.get(bucket * 3)), join(futures.get(bucket * 3 + 1))));
+                    pending += ((Number) join(futures.get(bucket * 3 + 2))).longValue();
+                }
+                result.put(productId, new SlotState(sumBuckets(quantities).orElse(null), buckets, pending));
+            });
+        }
+        return result;
+    }
+
+    /**
+     * 원장이 비어 있고 값이 기대값 그대로일 때만 재고를 덮어쓴다 (분할 재고가 아닌 상품만)
+     *
+     * @return 1: 반영, 0: 그 사이 값이 바뀜, -1: 반영되지 않은 원장이 있음
+     */
+    public long overwrite(String productId, StockQuantity expected, StockQuantity target) {
+        List<Object> keys = List.of(availableKey(productId), reservedKey(productId), ledgerKey(productId));
+        Number result = scriptExecutor.execute(OVERWRITE_SCRIPT, RScript.ReturnType.INTEGER, keys,
+                expected.getAvailable(), expected.getReserved(), target.getAvailable(), target.getReserved());
+        return result.longValue();
+    }
+
+    /**
+     * 버킷별 재고 조회 (적재되지 않은 버킷은 null)
+     */
+    public List<StockQuantity> findBuckets(String productId, int buckets) {
+        String[] keys = new String[buckets * 2];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            keys[bucket * 2] = availableKey(bucketSlotId(productId, bucket));
+            keys[bucket * 2 + 1] = reservedKey(bucketSlotId(productId, bucket));
+        }
+        Map<String, Object> values = redissonClient.getBuckets(StringCodec.INSTANCE).get(keys);
+
+        List<StockQuantity> result = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            Object available = values.get(keys[bucket * 2]);
+            Object reserved = values.get(keys[bucket * 2 + 1]);
+            result.add(available == null || reserved == null ? null
+                    : StockQuantity.of(Integer.parseInt(available.toString()), Integer.parseInt(reserved.toString())));
+        }
+        return result;
+    }
+
+    /**
+     * 원장 앞부분 조회 (반영 후 trimLedger 로 제거)
+     */
+    public List<StockLedgerEntry> peekLedger(String slotId, int maxSize) {
+        RList<String> ledger = redissonClient.getList(ledgerKey(slotId), StringCodec.INSTANCE);
+        List<String> raw = ledger.range(0, maxSize - 1);
+
+        List<StockLedgerEntry> entries = new ArrayList<>(raw.size());
+        for (String json : raw) {
+            entries.add(parseEntry(json));
+        }
+        return entries;
+    }
+
+    private StockLedgerEntry parseEntry(String json) {
+        try {
+            return objectMapper.readValue(json, StockLedgerEntry.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("재고 원장 항목을 해석할 수 없습니다: " + json, e);
+        }
+    }
+
+    /**
+     * DB에 반영되지 않은 가장 오래된 원장 발생 시각 (기본 슬롯과 가능한 모든 버킷 슬롯의 첫 항목 중 최소, 없으면 empty)
+     *
+     * 버킷 수를 줄인 뒤에도 예전 버킷 원장이 남아 있을 수 있으므로 현재 버킷 수와 관계없이 최대 버킷 수까지 확인한다.
+     */
+    public Optional<LocalDateTime> oldestPendingAt(String productId) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        List<RFuture<String>> heads = new ArrayList<>(Inventory.MAX_STOCK_BUCKETS + 1);
+        heads.add(batch.<String>getList(ledgerKey(productId), StringCodec.INSTANCE).getAsync(0));
+        for (int bucket = 0; bucket < Inventory.MAX_STOCK_BUCKETS; bucket++) {
+            heads.add(batch.<String>getList(ledgerKey(bucketSlotId(productId, bucket)), StringCodec.INSTANCE).getAsync(0));
+        }
+        batch.execute();
+
+        LocalDateTime oldest = null;
+        for (RFuture<String> head : heads) {
+            String json = (String) join(head);
+            if (json == null) {
+                continue;
+            }
+            LocalDateTime occurredAt = parseEntry(json).getOccurredAt();
+            if (oldest == null || occurredAt.isBefore(oldest)) {
+                oldest = occurredAt;
+            }
+        }
+        return Optional.ofNullable(oldest);
+    }
+
+    public void trimLedger(String slotId, int count) {
+        redissonClient.getList(ledgerKey(slotId), StringCodec.INSTANCE).trim(count, -1);
+    }
+
+    /**
+     * 이 노드에서 변경된 후 아직 반영되지 않은 원장(슬롯) 목록을 꺼낸다
+     */
+    public Set<String> drainDirtyLedgers() {
+        Set<String> drained = new HashSet<>();
+        for (String slotId : dirtyLedgers) {
+            if (dirtyLedgers.remove(slotId)) {
+                drained.add(slotId);
+            }
+        }
+        return drained;
+    }
+
+    public void markDirty(String slotId) {
+        dirtyLedgers.add(slotId);
+    }
+
+    /**
+     * 재시작 등으로 누락된 원장 리스트를 찾기 위한 전체 스캔
+     */
+    public Set<String> scanPendingLedgers() {
+        Set<String> slotIds = new HashSet<>();
+        redissonClient.getKeys().getKeysStreamByPattern(LEDGER_KEY_PREFIX + "{*}", 500)
+                .forEach(key -> slotIds.add(key.substring(LEDGER_KEY_PREFIX.length() + 1, key.length() - 1)));
+        return slotIds;
+    }
+
+    private static Object join(RFuture<?> future) {
+        return future.toCompletableFuture().join();
+    }
+
+    private static StockQuantity quantityOf(Object available, Object reserved) {
+        return available == null || reserved == null ? null
+                : StockQuantity.of(Integer.parseInt(available.toString()), Integer.parseInt(reserved.toString()));
+    }
+
+    private long loadSlot(String slotId, int available, int reserved) {
+        List<Object> keys = List.of(availableKey(slotId), reservedKey(slotId), ledgerKey(slotId));
+        Number result = scriptExecutor.execute(LOAD_SCRIPT, RScript.ReturnType.INTEGER, keys, available, reserved);
+        return result.longValue();
+    }
+
+    private int readBucketCount(String productId) {
+        Object value = redissonClient.getBucket(bucketCountKey(productId), StringCodec.INSTANCE).get();
+        return value == null ? 1 : Integer.parseInt(value.toString());
+    }
+
+    private static int share(int total, int buckets, int bucket) {
+        return total / buckets + (bucket < total % buckets ? 1 : 0);
+    }
+
+    private static Optional<StockQuantity> sumBuckets(List<StockQuantity> buckets) {
+        int available = 0;
+        int reserved = 0;
+        for (StockQuantity bucket : buckets) {
+            if (bucket == null) {
+                return Optional.empty();
+            }
+            available += bucket.getAvailable();
+            reserved += bucket.getReserved();
+        }
+        return Optional.of(StockQuantity.of(available, reserved));
+    }
+
+    private RedisStockResult mutate(String script, String slotId, String productId, String orderId,
+                                    int quantity, boolean partial, String reason) {
+        List<Object> keys = List.of(availableKey(slotId), reservedKey(slotId), ledgerKey(slotId));
+
+        List<Object> result = scriptExecutor.execute(script, RScript.ReturnType.MULTI, keys,
+                quantity,
+                String.valueOf(idGenerator.nextId()),
+                productId,
+                orderId != null ? orderId : "",
+                reason != null ? reason : "",
+                System.currentTimeMillis(),
+                partial ? "1" : "0");
+
+        RedisStockResult stockResult = RedisStockResult.fromScript(result);
+        if (stockResult.isApplied()) {
+            dirtyLedgers.add(slotId);
+        }
+
+        log.debug("Redis 재고 스크립트 실행: slotId={}, orderId={}, quantity={}, status={}",
+                slotId, orderId, quantity, stockResult.getStatus());
+
+        return stockResult;
+    }
+
+    /**
+     * Redis 재고 상태 (quantity 가 null 이면 적재되지 않음, pending 은 DB에 반영되지 않은 원장 건수)
+     */
+    public record SlotState(StockQuantity quantity, int buckets, long pending) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.commercium.inventory.infrastructure;
 
+import com.commercium.config.properties.InventoryProperties;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
@@ -7,90 +9,249 @@ import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 2단계 분산 락 (노드 내 로컬 락 → Redis 락)
+ *
+ * 같은 키를 기다리는 이 노드의 스레드는 로컬 공정 락에서 줄을 서고, Redis 락은 선두 스레드만 잡는다.
+ * 해제할 때 로컬 대기자가 있으면 Redis 락을 풀지 않고 넘겨주므로 버스트 동안 Redis 왕복이 보유자 수와 무관해진다.
+ * 다른 노드가 굶지 않도록 넘겨주는 횟수와 시간(리스의 절반)을 제한한다.
+ * Redis 락은 스레드 대신 세션마다 발급한 ID로 잡으므로 다른 스레드가 이어받아 해제할 수 있다.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RedisStockLockManager {
 
+    private static final String FENCE_KEY_PREFIX = "lock:fence:";
+    private static final int HANDOFF_BITS = 16;
+
     private final RedissonClient redissonClient;
+    private final LockContentionTracker contentionTracker;
+    private final InventoryProperties inventoryProperties;
+
+    private final Map<String, LocalLock> localLocks = new ConcurrentHashMap<>();
+    private final AtomicLong sessionIds = new AtomicLong();
+
+    /**
+     * 넘겨받은 순번은 토큰 하위 HANDOFF_BITS 비트에 들어가므로 최대 넘겨주기 횟수가 그 범위를 넘으면 토큰이 역전된다
+     */
+    @PostConstruct
+    public void validate() {
+        int maxHandoffs = inventoryProperties.getLock().getMaxHandoffs();
+        if (maxHandoffs < 0 || maxHandoffs >= 1 << HANDOFF_BITS) {
+            throw new IllegalStateException("분산 락 최대 넘겨주기 횟수는 0 이상 " + ((1 << HANDOFF_BITS) - 1)
+                    + " 이하여야 합니다: maxHandoffs=" + maxHandoffs);
+        }
+    }
+
+    /**
+     * 분산 락 획득 + 펜싱 토큰 발급
+     *
+     * 토큰은 Redis 세션마다 증가하는 값에 세션 안에서 넘겨받은 순번을 붙여 만든다.
+     */
+    public Optional<StockLock> acquire(String lockKey, Duration timeout) {
+        if (!tryLock(lockKey, timeout)) {
+            return Optional.empty();
+        }
+
+        try {
+            LocalLock local = localLocks.get(lockKey);
+            if (local.fenceBase == 0) {
+                local.fenceBase = redissonClient.getAtomicLong(FENCE_KEY_PREFIX + lockKey).incrementAndGet();
+            }
+            long token = (local.fenceBase << HANDOFF_BITS) | local.handoffs;
+            return Optional.of(new StockLock(lockKey, token, this));
+        } catch (RuntimeException e) {
+            unlock(lockKey);
+            throw e;
+        }
+    }
 
     /**
-     * 분산 락 획득 시도
+     * 분산 락 획득 시도 (리스 길이는 최근 보유 시간에 맞춰 조정)
      */
     public boolean tryLock(String lockKey, Duration timeout) {
-        RLock lock = redissonClient.getLock(lockKey);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+        LocalLock local = localLocks.compute(lockKey, (key, existing) -> {
+            LocalLock lock = existing != null ? existing : new LocalLock();
+            lock.users.incrementAndGet();
+            return lock;
+        });
 
         try {
-            boolean acquired = lock.tryLock(timeout.toSeconds(), 30, TimeUnit.SECONDS);
+            if (!local.lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                abandon(lockKey, local);
+                return failed(lockKey, startedAt, timeout);
+            }
+
+            if (local.sessionId != 0 && sessionMillis(local) >= local.leaseMs * 3 / 4) {
+                // 넘겨받기 전에 리스가 거의 끝난 세션은 정리하고 새로 잡는다
+                releaseRedis(lockKey, local);
+            }
+
+            if (local.sessionId == 0) {
+                // 이 노드의 선두 - Redis 락을 새 세션으로 획득
+                long leaseMs = contentionTracker.leaseMillis(lockKey);
+                long sessionId = sessionIds.decrementAndGet();
+                long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+
+                if (!redisLock(lockKey).tryLockAsync(remainingMs, leaseMs, TimeUnit.MILLISECONDS, sessionId).get()) {
+                    local.lock.unlock();
+                    release(lockKey);
+                    return failed(lockKey, startedAt, timeout);
+                }
 
-            if (acquired) {
-                log.debug("분산 락 획득 성공: lockKey={}", lockKey);
+                local.startSession(sessionId, leaseMs);
             } else {
-                log.warn("분산 락 획득 실패: lockKey={}, timeout={}초", lockKey, timeout.toSeconds());
+                local.handoffs++;
             }
 
-            return acquired;
+            long waitNanos = System.nanoTime() - startedAt;
+            contentionTracker.recordAcquire(lockKey, waitNanos, true);
+            local.heldSince = System.nanoTime();
+            log.debug("분산 락 획득 성공: lockKey={}, 대기={}ms, 넘겨받음={}",
+                    lockKey, TimeUnit.NANOSECONDS.toMillis(waitNanos), local.handoffs);
+            return true;
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            if (local.lock.isHeldByCurrentThread()) {
+                local.lock.unlock();
+            }
+            release(lockKey);
+            contentionTracker.recordAcquire(lockKey, System.nanoTime() - startedAt, false);
             log.error("분산 락 획득 중단됨: lockKey={}", lockKey, e);
             return false;
+
+        } catch (ExecutionException e) {
+            local.lock.unlock();
+            release(lockKey);
+            contentionTracker.recordAcquire(lockKey, System.nanoTime() - startedAt, false);
+            log.error("분산 락 획득 실패: lockKey={}", lockKey, e.getCause());
+            return false;
         }
     }
 
     /**
-     * 분산 락 해제
+     * 분산 락 해제 - 로컬 대기자가 있고 제한 안이면 Redis 락을 유지한 채 넘긴다
      */
     public void unlock(String lockKey) {
-        RLock lock = redissonClient.getLock(lockKey);
+        LocalLock local = localLocks.get(lockKey);
+        if (local == null || !local.lock.isHeldByCurrentThread()) {
+            log.warn("현재 스레드가 소유하지 않은 락 해제 시도: lockKey={}", lockKey);
+            return;
+        }
+
+        contentionTracker.recordHold(lockKey, System.nanoTime() - local.heldSince);
 
         try {
-            if (lock.isHeldByCurrentThread()) {
-                lock.unlock();
-                log.debug("분산 락 해제 성공: lockKey={}", lockKey);
-            } else {
-                log.warn("현재 스레드가 소유하지 않은 락 해제 시도: lockKey={}", lockKey);
+            if (!canHandOff(local)) {
+                releaseRedis(lockKey, local);
             }
-        } catch (Exception e) {
-            log.error("분산 락 해제 실패: lockKey={}", lockKey, e);
+        } finally {
+            local.lock.unlock();
+            release(lockKey);
         }
     }
 
+    private boolean canHandOff(LocalLock local) {
+        InventoryProperties.Lock settings = inventoryProperties.getLock();
+        return settings.isLocalHandoff()
+                && local.lock.hasQueuedThreads()
+                && local.handoffs < settings.getMaxHandoffs()
+                && sessionMillis(local) < local.leaseMs / 2;
+    }
+
     /**
-     * Lua 스크립트를 사용한 원자적 재고 차감 (대안 방식)
+     * 로컬 대기 중 시간이 다 된 경우 - 넘겨받을 예정이던 Redis 세션이 남아 있고 대기자가 없으면 바로 해제한다
      */
-    public boolean decreaseStockAtomic(String productId, Integer quantity) {
-        String script =
-                "local current = tonumber(redis.call('GET', KEYS[1]) or 0) " +
-                        "if current >= tonumber(ARGV[1]) then " +
-                        "    redis.call('DECRBY', KEYS[1], ARGV[1]) " +
-                        "    return 1 " +
-                        "else " +
-                        "    return 0 " +
-                        "end";
-
-        String stockKey = "stock:available:" + productId;
+    private void abandon(String lockKey, LocalLock local) {
+        if (local.lock.tryLock()) {
+            try {
+                if (local.sessionId != 0 && !local.lock.hasQueuedThreads()) {
+                    releaseRedis(lockKey, local);
+                }
+            } finally {
+                local.lock.unlock();
+            }
+        }
+        release(lockKey);
+    }
+
+    private static long sessionMillis(LocalLock local) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - local.sessionStartedAt);
+    }
+
+    private void releaseRedis(String lockKey, LocalLock local) {
+        long sessionId = local.sessionId;
+        local.endSession();
 
         try {
-            Object result = redissonClient.getScript().eval(
-                    org.redisson.client.codec.LongCodec.INSTANCE,
-                    script,
-                    org.redisson.api.RScript.ReturnType.INTEGER,
-                    java.util.List.of(stockKey),
-                    quantity
-            );
-
-            boolean success = Integer.valueOf(1).equals(result);
-            log.debug("원자적 재고 차감: productId={}, quantity={}, success={}",
-                    productId, quantity, success);
-
-            return success;
-
-        } catch (Exception e) {
-            log.error("원자적 재고 차감 실패: productId={}", productId, e);
-            return false;
+            redisLock(lockKey).unlockAsync(sessionId).get();
+            log.debug("분산 락 해제 성공: lockKey={}", lockKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("분산 락 해제 중단됨: lockKey={}", lockKey, e);
+        } catch (ExecutionException e) {
+            // 리스가 만료되어 이미 다른 보유자가 있을 수 있음 - 펜싱 토큰이 늦은 쓰기를 막는다
+            contentionTracker.recordLeaseExpired(lockKey);
+            log.warn("분산 락 해제 실패 (리스 만료 가능): lockKey={}", lockKey, e.getCause());
+        }
+    }
+
+    private boolean failed(String lockKey, long startedAt, Duration timeout) {
+        contentionTracker.recordAcquire(lockKey, System.nanoTime() - startedAt, false);
+        log.warn("분산 락 획득 실패: lockKey={}, timeout={}초", lockKey, timeout.toSeconds());
+        return false;
+    }
+
+    /**
+     * 대기/보유 스레드가 모두 빠진 키는 정리한다 (넘겨주던 Redis 세션이 남아 있으면 다음 요청이 이어받도록 유지)
+     */
+    private void release(String lockKey) {
+        localLocks.computeIfPresent(lockKey, (key, lock) ->
+                lock.users.decrementAndGet() == 0 && lock.sessionId == 0 ? null : lock);
+    }
+
+    private RLock redisLock(String lockKey) {
+        return redissonClient.getLock(lockKey);
+    }
+
+    /**
+     * 키별 로컬 락과 현재 Redis 세션 상태 (세션 필드는 로컬 락 보유자만 접근)
+     */
+    private static class LocalLock {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final AtomicInteger users = new AtomicInteger();
+
+        private volatile long sessionId;
+        private long sessionStartedAt;
+        private long leaseMs;
+        private long fenceBase;
+        private int handoffs;
+        private long heldSince;
+
+        private void startSession(long sessionId, long leaseMs) {
+            this.sessionId = sessionId;
+            this.sessionStartedAt = System.nanoTime();
+            this.leaseMs = leaseMs;
+            this.fenceBase = 0;
+            this.handoffs = 0;
+        }
+
+        private void endSession() {
+            this.sessionId = 0;
+            this.fenceBase = 0;
         }
     }
 }
@@ -0,0 +1,43 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.inventory.domain.StockQuantity;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Redis 재고 스크립트 실행 결과
+ */
+@Getter
+@RequiredArgsConstructor(staticName = "of")
+public class RedisStockResult {
+
+    private final Status status;
+    private final int available;
+    private final int reserved;
+    private final int quantity;     // 실제 반영된 수량 (부분 반영 시 요청보다 작을 수 있음)
+
+    public enum Status {
+        APPLIED,        // 반영 완료
+        INSUFFICIENT,   // 재고 부족으로 거절
+        NOT_LOADED      // Redis에 재고 키가 없음 (DB에서 적재 필요)
+    }
+
+    static RedisStockResult fromScript(java.util.List<Object> result) {
+        long code = ((Number) result.get(0)).longValue();
+        Status status = code == 1 ? Status.APPLIED : code == 0 ? Status.INSUFFICIENT : Status.NOT_LOADED;
+        return of(status, ((Number) result.get(1)).intValue(), ((Number) result.get(2)).intValue(),
+                ((Number) result.get(3)).intValue());
+    }
+
+    public boolean isApplied() {
+        return status == Status.APPLIED;
+    }
+
+    public boolean isNotLoaded() {
+        return status == Status.NOT_LOADED;
+    }
+
+    public StockQuantity toStockQuantity() {
+        return StockQuantity.of(available, reserved);
+    }
+}
@@ -0,0 +1,71 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.inventory.domain.TransactionType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Lua 스크립트가 Redis 원장 리스트에 기록한 재고 변경 한 건
+ */
+@Getter
+@NoArgsConstructor
+public class StockLedgerEntry {
+
+    /** 시간 순서 64비트 식별자 (Lua 숫자는 배정밀도라 스크립트 안에서는 문자열로 다룸) */
+    @JsonProperty("id")
+    private Long transactionId;
+
+    @JsonProperty("p")
+    private String productId;
+
+    @JsonProperty("o")
+    private String orderId;
+
+    @JsonProperty("t")
+    private TransactionType type;
+
+    @JsonProperty("q")
+    private int quantity;
+
+    @JsonProperty("ba")
+    private int beforeAvailable;
+
+    @JsonProperty("br")
+    private int beforeReserved;
+
+    @JsonProperty("aa")
+    private int afterAvailable;
+
+    @JsonProperty("ar")
+    private int afterReserved;
+
+    @JsonProperty("r")
+    private String reason;
+
+    @JsonProperty("ts")
+    private long timestamp;
+
+    public String getOrderId() {
+        return orderId == null || orderId.isEmpty() ? null : orderId;
+    }
+
+    /**
+     * 슬롯(기본 또는 버킷) 기준 사용 가능 재고 변화량 - 버킷별 원장을 상품 합계에 누적할 때 사용
+     */
+    public int getAvailableDelta() {
+        return afterAvailable - beforeAvailable;
+    }
+
+    public int getReservedDelta() {
+        return afterReserved - beforeReserved;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+}
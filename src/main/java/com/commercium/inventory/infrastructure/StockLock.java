@@ -0,0 +1,28 @@
+package com.commercium.inventory.infrastructure;
+
+import lombok.Getter;
+
+/**
+ * 획득한 분산 락과 펜싱 토큰
+ *
+ * 토큰은 락 키마다 단조 증가하므로, 재고 변경 시 Inventory.acceptFencingToken 으로 넘기면
+ * 리스가 만료된 이전 보유자의 늦은 쓰기를 거부할 수 있다.
+ */
+@Getter
+public class StockLock implements AutoCloseable {
+
+    private final String lockKey;
+    private final long fencingToken;
+    private final RedisStockLockManager lockManager;
+
+    StockLock(String lockKey, long fencingToken, RedisStockLockManager lockManager) {
+        this.lockKey = lockKey;
+        this.fencingToken = fencingToken;
+        this.lockManager = lockManager;
+    }
+
+    @Override
+    public void close() {
+        lockManager.unlock(lockKey);
+    }
+}
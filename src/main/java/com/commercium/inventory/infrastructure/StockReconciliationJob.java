@@ -0,0 +1,252 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.StockQuantity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 재고와 DB 재고 정합성 점검 (Redis 엔진 전용)
+ *
+ * inventory 행을 product_id 키셋 순서로 읽고, 같은 상품들의 Redis 키를 파이프라인으로 한 번에 조회해 비교한다.
+ * DB에 반영되지 않은 원장이 있는 상품은 진행 중인 변경이므로 건너뛴다.
+ * 차이가 보이는 상품만 원장 반영 락(StockWriteBehindFlusher 와 같은 키)을 짧게 잡고 다시 읽어 확정하며,
+ * 복구가 켜져 있으면 그 상태에서 Redis 값을 DB 값으로 덮어쓴다 (값이 그대로일 때만 반영).
+ * 초당 처리 상품 수를 제한해 Redis 지연을 튀지 않게 하고, 페이지마다 진행 위치를 저장해 중단 시 이어서 처리한다.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.inventory", name = "stock-engine", havingValue = "redis")
+public class StockReconciliationJob {
+
+    private static final String RUN_LOCK = "inventory:reconcile:run";
+    private static final String CHECKPOINT_KEY = "inventory:reconcile:checkpoint";
+    private static final int MAX_LOGGED_DIVERGENCES = 100;
+
+    private final RedisStockLedger stockLedger;
+    private final JdbcTemplate jdbcTemplate;
+    private final RedissonClient redissonClient;
+    private final InventoryProperties inventoryProperties;
+
+    private final Counter checkedCounter;
+    private final Counter divergentCounter;
+    private final Counter repairedCounter;
+
+    private int loggedDivergences;
+
+    public StockReconciliationJob(RedisStockLedger stockLedger, JdbcTemplate jdbcTemplate,
+                                  RedissonClient redissonClient, InventoryProperties inventoryProperties,
+                                  MeterRegistry meterRegistry) {
+        this.stockLedger = stockLedger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.redissonClient = redissonClient;
+        this.inventoryProperties = inventoryProperties;
+        this.checkedCounter = Counter.builder("inventory.reconcile.checked")
+                .description("정합성 점검한 상품 수").register(meterRegistry);
+        this.divergentCounter = Counter.builder("inventory.reconcile.divergent")
+                .description("Redis 와 DB 재고가 다른 상품 수").register(meterRegistry);
+        this.repairedCounter = Counter.builder("inventory.reconcile.repaired")
+                .description("Redis 재고를 DB 값으로 복구한 상품 수").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.inventory.reconciliation.cron:0 0 * * * *}")
+    public void reconcile() {
+        InventoryProperties.Reconciliation settings = inventoryProperties.getReconciliation();
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        RLock lock = redissonClient.getLock(RUN_LOCK);
+        if (!lock.tryLock()) {
+            return; // 다른 노드가 실행 중
+        }
+
+        try {
+            run(settings);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(InventoryProperties.Reconciliation settings) {
+        RBucket<String> checkpoint = redissonClient.getBucket(CHECKPOINT_KEY, StringCodec.INSTANCE);
+        String last = Optional.ofNullable(checkpoint.get()).orElse("");
+        if (!last.isEmpty()) {
+            log.info("재고 정합성 점검 이어서 시작: checkpoint={}", last);
+        }
+
+        loggedDivergences = 0;
+        long startedAt = System.currentTimeMillis();
+        long minPageNanos = settings.getMaxProductsPerSecond() > 0
+                ? TimeUnit.SECONDS.toNanos(settings.getBatchSize()) / settings.getMaxProductsPerSecond()
+                : 0;
+        long checked = 0;
+        long divergent = 0;
+        long repaired = 0;
+        boolean completed = false;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long pageStartedAt = System.nanoTime();
+            Map<String, StockQuantity> page = readPage(last, settings.getBatchSize());
+            if (page.isEmpty()) {
+                completed = true;
+                break;
+            }
+
+            Map<String, RedisStockLedger.SlotState> states = stockLedger.inspect(page.keySet());
+            for (Map.Entry<String, StockQuantity> row : page.entrySet()) {
+                RedisStockLedger.SlotState state = states.get(row.getKey());
+                if (!isSuspect(state, row.getValue())) {
+                    continue;
+                }
+
+                Outcome outcome = confirm(row.getKey(), settings);
+                if (outcome != Outcome.CONSISTENT) {
+                    divergent++;
+                    divergentCounter.increment();
+                }
+                if (outcome == Outcome.REPAIRED) {
+                    repaired++;
+                    repairedCounter.increment();
+                }
+            }
+
+            checked += page.size();
+            checkedCounter.increment(page.size());
+            last = lastKey(page);
+            checkpoint.set(last, settings.getCheckpointTtlSeconds(), TimeUnit.SECONDS);
+
+            if (page.size() < settings.getBatchSize()) {
+                completed = true;
+                break;
+            }
+            throttle(pageStartedAt, minPageNanos);
+        }
+
+        if (completed) {
+            checkpoint.delete();
+        }
+        log.info("재고 정합성 점검 {}: 점검={}, 불일치={}, 복구={}, 소요={}ms", completed ? "완료" : "중단",
+                checked, divergent, repaired, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 파이프라인 조회 결과만으로 의심되는 상품 (적재되어 있고, 미반영 원장이 없고, 값이 다름)
+     */
+    private static boolean isSuspect(RedisStockLedger.SlotState state, StockQuantity database) {
+        return state != null && state.quantity() != null && state.pending() == 0
+                && !state.quantity().equals(database);
+    }
+
+    /**
+     * 원장 반영 락을 잡은 상태에서 다시 읽어 불일치 확정 (DB가 바뀌지 않으므로 비교가 정확함)
+     */
+    private Outcome confirm(String productId, InventoryProperties.Reconciliation settings) {
+        RLock fence = stockLedger.flushLock(productId);
+        boolean locked;
+        try {
+            locked = fence.tryLock(settings.getFenceWaitMs(), settings.getFenceLeaseMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.CONSISTENT;
+        }
+        if (!locked) {
+            return Outcome.CONSISTENT; // 원장 반영 중 - 다음 점검에서 확인
+        }
+
+        try {
+            RedisStockLedger.SlotState state = stockLedger.inspect(List.of(productId)).get(productId);
+            StockQuantity database = readOne(productId);
+            if (database == null || !isSuspect(state, database)) {
+                return Outcome.CONSISTENT;
+            }
+
+            if (logDivergence()) {
+                log.warn("재고 불일치: productId={}, redis={}, db={}, buckets={}",
+                        productId, state.quantity(), database, state.buckets());
+            }
+
+            // 분할 재고는 버킷 분배를 다시 정해야 하므로 보고만 한다
+            if (!settings.isRepair() || state.buckets() > 1) {
+                return Outcome.DIVERGENT;
+            }
+
+            long result = stockLedger.overwrite(productId, state.quantity(), database);
+            if (result == 1) {
+                log.info("Redis 재고 복구: productId={}, {} -> {}", productId, state.quantity(), database);
+                return Outcome.REPAIRED;
+            }
+            return Outcome.DIVERGENT; // 그 사이 변경됨 - 다음 점검에서 다시 확인
+        } finally {
+            if (fence.isHeldByCurrentThread()) {
+                fence.unlock();
+            }
+        }
+    }
+
+    /**
+     * product_id 키셋 페이지
+     */
+    private Map<String, StockQuantity> readPage(String after, int limit) {
+        Map<String, StockQuantity> page = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT product_id, quantity, reserved_quantity FROM inventory WHERE product_id > ? ORDER BY product_id LIMIT ?",
+                (RowCallbackHandler) rs -> page.put(rs.getString(1), StockQuantity.of(rs.getInt(2), rs.getInt(3))),
+                after, limit);
+        return page;
+    }
+
+    private StockQuantity readOne(String productId) {
+        List<StockQuantity> rows = jdbcTemplate.query(
+                "SELECT quantity, reserved_quantity FROM inventory WHERE product_id = ?",
+                (rs, rowNum) -> StockQuantity.of(rs.getInt(1), rs.getInt(2)),
+                productId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static String lastKey(Map<String, StockQuantity> page) {
+        String last = null;
+        for (String key : page.keySet()) {
+            last = key;
+        }
+        return last;
+    }
+
+    private void throttle(long pageStartedAt, long minPageNanos) {
+        long remaining = minPageNanos - (System.nanoTime() - pageStartedAt);
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean logDivergence() {
+        return loggedDivergences++ < MAX_LOGGED_DIVERGENCES;
+    }
+
+    private enum Outcome {
+        CONSISTENT,
+        DIVERGENT,
+        REPAIRED
+    }
+}
@@ -0,0 +1,211 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.InventoryTransaction;
+import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.repository.InventoryRepository;
+import com.commercium.inventory.domain.repository.InventoryTransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 재고 원장을 DB로 일괄 반영 (write-behind)
+ *
+ * 상품별로 원장(분할 재고면 버킷 원장 전체)을 모아 재고 행 1회 갱신 + 이력 일괄 저장을 한 트랜잭션으로 처리한다.
+ * 원장 항목의 식별자를 이력 PK로 사용하므로, 커밋 후 원장 정리에 실패해도 중복 저장되지 않는다.
+ * 분할 재고의 버킷 원장은 원장 재생과 같은 (발생 시각, 식별자) 순서로 병합해 before/after 를 이어 붙인다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.inventory", name = "stock-engine", havingValue = "redis")
+public class StockWriteBehindFlusher {
+
+    private static final int FULL_SCAN_INTERVAL = 300; // 주기 단위 (기본 200ms 기준 약 1분)
+
+    private static final Comparator<StockLedgerEntry> REPLAY_ORDER = Comparator
+            .comparing(StockLedgerEntry::getOccurredAt)
+            .thenComparing(StockLedgerEntry::getTransactionId);
+
+    private final RedisStockLedger stockLedger;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryTransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryProperties inventoryProperties;
+
+    private int cycle = 0;
+
+    @Scheduled(fixedDelayString = "${app.inventory.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        Set<String> slotIds = stockLedger.drainDirtyLedgers();
+        if (cycle++ % FULL_SCAN_INTERVAL == 0) {
+            slotIds.addAll(stockLedger.scanPendingLedgers());
+        }
+
+        // 분할 재고의 버킷 원장은 상품 단위로 모아 한 번에 반영한다
+        Map<String, List<String>> slotsByProduct = slotIds.stream()
+                .collect(Collectors.groupingBy(RedisStockLedger::productIdOf));
+
+        slotsByProduct.forEach((productId, slots) -> {
+            try {
+                flushProduct(productId, slots);
+            } catch (Exception e) {
+                slots.forEach(stockLedger::markDirty);
+                log.error("재고 원장 DB 반영 실패: productId={}", productId, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("종료 전 재고 원장 반영 시작");
+        flush();
+    }
+
+    private void flushProduct(String productId, List<String> slotIds) {
+        // 다른 노드가 같은 상품 원장을 반영 중이면 다음 주기로 넘긴다
+        RLock lock = stockLedger.flushLock(productId);
+        if (!lock.tryLock()) {
+            slotIds.forEach(stockLedger::markDirty);
+            return;
+        }
+
+        try {
+            int batchSize = inventoryProperties.getWriteBehind().getBatchSize();
+            Map<String, List<StockLedgerEntry>> entriesBySlot = new LinkedHashMap<>();
+            for (String slotId : slotIds) {
+                List<StockLedgerEntry> entries = stockLedger.peekLedger(slotId, batchSize);
+                if (!entries.isEmpty()) {
+                    entriesBySlot.put(slotId, entries);
+                }
+            }
+            if (entriesBySlot.isEmpty()) {
+                return;
+            }
+
+            Map<String, Integer> taken = new LinkedHashMap<>();
+            List<StockLedgerEntry> merged = merge(entriesBySlot, batchSize, taken);
+
+            transactionTemplate.executeWithoutResult(status -> apply(productId, merged));
+
+            taken.forEach((slotId, count) -> {
+                if (count > 0) {
+                    stockLedger.trimLedger(slotId, count);
+                }
+                if (count < entriesBySlot.get(slotId).size() || count == batchSize) {
+                    stockLedger.markDirty(slotId);
+                }
+            });
+
+            log.debug("재고 원장 DB 반영 완료: productId={}, count={}", productId, merged.size());
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 슬롯별 원장을 원장 재생 순서 (발생 시각, 식별자) 로 병합
+     *
+     * 각 슬롯의 앞 항목 중 가장 앞선 것을 차례로 꺼내므로 슬롯 안의 순서는 그대로 유지된다 (노드 간 시계 차이로
+     * 슬롯 안 순서가 어긋나도 재정렬하지 않음 - 슬롯마다 재고가 0 이상이어야 합계도 0 이상으로 이어진다).
+     * 배치 크기만큼 읽은 슬롯은 뒤에 더 이른 항목이 남아 있을 수 있으므로, 그런 슬롯의 마지막 항목까지만 반영하고
+     * 나머지는 다음 주기로 넘긴다. 슬롯별 반영 건수는 taken 에 담는다.
+     */
+    private static List<StockLedgerEntry> merge(Map<String, List<StockLedgerEntry>> entriesBySlot, int batchSize,
+                                                Map<String, Integer> taken) {
+        StockLedgerEntry cutoff = null;
+        for (List<StockLedgerEntry> entries : entriesBySlot.values()) {
+            StockLedgerEntry last = entries.get(entries.size() - 1);
+            if (entries.size() == batchSize && (cutoff == null || REPLAY_ORDER.compare(last, cutoff) < 0)) {
+                cutoff = last;
+            }
+        }
+
+        List<StockLedgerEntry> merged = new ArrayList<>();
+        entriesBySlot.keySet().forEach(slotId -> taken.put(slotId, 0));
+        while (true) {
+            String nextSlot = null;
+            StockLedgerEntry next = null;
+            for (Map.Entry<String, List<StockLedgerEntry>> slot : entriesBySlot.entrySet()) {
+                int index = taken.get(slot.getKey());
+                if (index == slot.getValue().size()) {
+                    continue;
+                }
+                StockLedgerEntry head = slot.getValue().get(index);
+                if (next == null || REPLAY_ORDER.compare(head, next) < 0) {
+                    next = head;
+                    nextSlot = slot.getKey();
+                }
+            }
+            // 시계 차이로 슬롯 안 순서가 어긋나 첫 항목부터 기준을 넘더라도 한 건은 반영해 원장이 멈추지 않게 한다
+            if (next == null || (cutoff != null && !merged.isEmpty() && REPLAY_ORDER.compare(next, cutoff) > 0)) {
+                return merged;
+            }
+            merged.add(next);
+            taken.merge(nextSlot, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 원장 항목의 슬롯 기준 변화량을 DB 재고에 누적한다.
+     * 각 슬롯(기본/버킷)의 재고는 항상 0 이상이므로 그 합계인 상품 재고도 0 이상으로 유지된다.
+     */
+    private void apply(String productId, List<StockLedgerEntry> entries) {
+        ProductId prodId = ProductId.of(productId);
+        Inventory inventory = inventoryRepository.findByProductId(prodId)
+                .orElseThrow(() -> new IllegalStateException("원장에 해당하는 재고 정보가 없습니다: " + productId));
+
+        // 이력의 생성 시각은 원장 발생 시각이므로 그 범위로 파티션을 좁혀 조회한다
+        LocalDateTime from = entries.stream().map(StockLedgerEntry::getOccurredAt).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = entries.stream().map(StockLedgerEntry::getOccurredAt).max(Comparator.naturalOrder()).orElseThrow();
+        Set<Long> persistedIds = new HashSet<>(transactionRepository.findExistingTransactionIds(
+                entries.stream().map(StockLedgerEntry::getTransactionId).toList(), from, to));
+
+        StockQuantity current = inventory.getStockQuantity();
+        List<InventoryTransaction> transactions = new ArrayList<>(entries.size());
+        StockLedgerEntry last = null;
+
+        for (StockLedgerEntry entry : entries) {
+            if (persistedIds.contains(entry.getTransactionId())) {
+                continue; // 이전 주기에서 커밋됐으나 원장 정리 전에 실패한 항목
+            }
+
+            StockQuantity after = StockQuantity.of(
+                    current.getAvailable() + entry.getAvailableDelta(),
+                    current.getReserved() + entry.getReservedDelta());
+            transactions.add(InventoryTransaction.fromLedger(
+                    entry.getTransactionId(), prodId, entry.getOrderId(), entry.getType(), entry.getQuantity(),
+                    current, after, entry.getReason(), entry.getOccurredAt()));
+
+            current = after;
+            last = entry;
+        }
+
+        if (last == null) {
+            return;
+        }
+
+        inventory.syncStockQuantity(current, last.getOccurredAt());
+        inventoryRepository.save(inventory);
+        transactionRepository.saveAll(transactions);
+    }
+}
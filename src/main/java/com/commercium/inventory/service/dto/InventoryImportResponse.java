@@ -0,0 +1,21 @@
+package com.commercium.inventory.service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class InventoryImportResponse {
+
+    private String importId;
+    private String mode;          // SET(전체 수량으로 조정) | ADD(입고)
+    private long totalRows;       // 헤더와 빈 줄을 제외한 행 수
+    private long rejectedRows;    // 형식/값 오류로 거절된 행 수
+    private long created;         // 새로 만든 상품 재고 수
+    private long updated;         // 재고가 바뀐 상품 수 (상품마다 이력 한 건)
+    private long skipped;         // 변경이 없거나 예약 재고보다 적은 수량이라 반영하지 않은 상품 수
+    private List<String> errors;  // 거절 사유 (최대 max-reported-errors 건)
+    private long elapsedMs;
+}
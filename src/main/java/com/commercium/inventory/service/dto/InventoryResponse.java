@@ -1,6 +1,7 @@
 package com.commercium.inventory.service.dto;
 
 import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.StockQuantity;
 import lombok.Builder;
 import lombok.Data;
 
@@ -27,5 +28,19 @@ public class InventoryResponse {
                 .updatedAt(inventory.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * 엔티티 대신 현재 재고 수량(Redis 등)을 사용한 응답
+     */
+    public static InventoryResponse from(Inventory inventory, StockQuantity stockQuantity) {
+        return InventoryResponse.builder()
+                .inventoryId(inventory.getInventoryId())
+                .productId(inventory.getProductId().getValue())
+                .availableQuantity(stockQuantity.getAvailable())
+                .reservedQuantity(stockQuantity.getReserved())
+                .totalQuantity(stockQuantity.getTotalStock())
+                .updatedAt(inventory.getUpdatedAt())
+                .build();
+    }
 }
 
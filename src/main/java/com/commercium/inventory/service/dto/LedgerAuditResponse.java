@@ -0,0 +1,49 @@
+package com.commercium.inventory.service.dto;
+
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.service.InventoryLedgerReplayer;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Data
+@Builder
+public class LedgerAuditResponse {
+
+    private String productId;
+    private Integer ledgerAvailable;
+    private Integer ledgerReserved;
+    private Integer databaseAvailable;
+    private Integer databaseReserved;
+    private Integer redisAvailable;      // Redis 엔진일 때만 (DB 반영 전 변경이 있으면 원장보다 앞설 수 있음)
+    private Integer redisReserved;
+    private long replayedTransactions;   // 스냅샷 이후 재생한 이력 수
+    private long discontinuities;        // before 값이 직전 누적값과 다른 이력 수
+    private boolean fromSnapshot;
+    private LocalDateTime lastTransactionAt;
+    private boolean consistent;          // 원장 재생 결과와 DB 재고가 같고 불연속이 없음
+
+    public static LedgerAuditResponse of(InventoryLedgerReplayer.ReplayResult replayed,
+                                         StockQuantity database, StockQuantity redis) {
+        StockQuantity ledger = replayed.quantity();
+        boolean consistent = replayed.discontinuities() == 0
+                && (ledger == null || Objects.equals(ledger, database)); // 이력이 없으면 비교 대상 없음
+
+        return LedgerAuditResponse.builder()
+                .productId(replayed.productId())
+                .ledgerAvailable(ledger != null ? ledger.getAvailable() : null)
+                .ledgerReserved(ledger != null ? ledger.getReserved() : null)
+                .databaseAvailable(database != null ? database.getAvailable() : null)
+                .databaseReserved(database != null ? database.getReserved() : null)
+                .redisAvailable(redis != null ? redis.getAvailable() : null)
+                .redisReserved(redis != null ? redis.getReserved() : null)
+                .replayedTransactions(replayed.applied())
+                .discontinuities(replayed.discontinuities())
+                .fromSnapshot(replayed.fromSnapshot())
+                .lastTransactionAt(replayed.lastTransactionAt())
+                .consistent(consistent)
+                .build();
+    }
+}
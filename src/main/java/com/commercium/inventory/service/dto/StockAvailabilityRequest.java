@@ -0,0 +1,15 @@
+package com.commercium.inventory.service.dto;
+
+import lombok.Data;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class StockAvailabilityRequest {
+
+    @NotEmpty(message = "상품 ID 목록은 필수입니다")
+    @Size(max = 200, message = "한 번에 최대 200개 상품까지 조회할 수 있습니다")
+    private List<String> productIds;
+}
@@ -0,0 +1,15 @@
+package com.commercium.inventory.service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class StockAvailabilityResponse {
+
+    private Map<String, Integer> available; // 상품 ID → 주문 가능 수량 (0이면 품절)
+    private List<String> notFound;          // 재고 정보가 없는 상품 ID
+}
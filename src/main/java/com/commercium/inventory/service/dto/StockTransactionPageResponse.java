@@ -0,0 +1,15 @@
+package com.commercium.inventory.service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class StockTransactionPageResponse {
+
+    private List<StockTransactionResponse> transactions;
+    private boolean hasNext;
+    private String nextCursor; // 다음 페이지 요청 시 cursor 파라미터로 전달 (마지막 페이지면 null)
+}
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 @Builder
 public class StockTransactionResponse {
 
-    private String transactionId;
+    private String transactionId; // 64비트 식별자 - JS 정밀도 손실 방지를 위해 문자열로 응답
     private String productId;
     private String orderId;
     private TransactionType transactionType;
@@ -26,7 +26,7 @@ public class StockTransactionResponse {
 
     public static StockTransactionResponse from(InventoryTransaction transaction) {
         return StockTransactionResponse.builder()
-                .transactionId(transaction.getTransactionId())
+                .transactionId(String.valueOf(transaction.getTransactionId()))
                 .productId(transaction.getProductId().getValue())
                 .orderId(transaction.getOrderId())
                 .transactionType(transaction.getTransactionType())
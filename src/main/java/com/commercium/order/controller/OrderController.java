@@ -3,6 +3,7 @@ package com.commercium.order.controller;
 import com.commercium.common.dto.ApiResponse;
 import com.commercium.order.service.OrderService;
 import com.commercium.order.service.dto.CreateOrderRequest;
+import com.commercium.order.service.dto.OrderPageResponse;
 import com.commercium.order.service.dto.OrderResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,7 +18,8 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -48,18 +50,22 @@ public class OrderController {
     }
 
     @GetMapping
-    @Operation(summary = "내 주문 목록 조회", description = "사용자의 모든 주문을 조회합니다")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getMyOrders(
-            @AuthenticationPrincipal Jwt jwt) {
+    @Operation(summary = "내 주문 목록 조회", description = "사용자의 주문을 최신순으로 커서 기반 페이지 조회합니다")
+    public ResponseEntity<ApiResponse<OrderPageResponse>> getMyOrders(
+            @AuthenticationPrincipal Jwt jwt,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer size) {
 
         String userId = jwt.getSubject();
-        log.info("주문 목록 조회 요청: userId={}", userId);
+        log.info("주문 목록 조회 요청: userId={}, size={}", userId, size);
 
-        List<OrderResponse> orders = orderService.getUserOrders(userId);
+        OrderPageResponse page = orderService.getUserOrders(userId, cursor, size);
 
         return ResponseEntity.ok(ApiResponse.success(
-                orders,
-                String.format("총 %d개의 주문을 조회했습니다", orders.size())
+                page,
+                String.format("%d개의 주문을 조회했습니다", page.getOrders().size())
         ));
     }
 
@@ -4,6 +4,7 @@ import com.commercium.common.event.DomainEvents;
 import com.commercium.order.event.OrderCancelledEvent;
 import com.commercium.order.event.OrderCreatedEvent;
 import com.commercium.order.event.OrderPaidEvent;
+import com.commercium.order.event.OrderShippedEvent;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -62,7 +63,8 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
 
         // 도메인 이벤트 발행
-        DomainEvents.raise(new OrderCreatedEvent(this.orderId.getValue(), this.userId, this.totalAmount));
+        DomainEvents.raise(new OrderCreatedEvent(this.orderId.getValue(), this.orderNumber, this.userId,
+                this.totalAmount, this.orderItems, this.shippingAddress, this.createdAt));
     }
 
     public static Order create(String userId, List<OrderItem> orderItems, ShippingAddress shippingAddress) {
@@ -107,6 +109,9 @@ public class Order {
 
         this.status = OrderStatus.SHIPPED;
         this.updatedAt = LocalDateTime.now();
+
+        // 도메인 이벤트 발행
+        DomainEvents.raise(new OrderShippedEvent(this.orderId.getValue()));
     }
 
     public List<OrderItem> getOrderItems() {
@@ -119,9 +124,11 @@ public class Order {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    /**
+     * 주문 ID가 노드 간에 겹치지 않는 시간 순서 식별자이므로 그대로 주문번호로 쓴다
+     */
     private String generateOrderNumber() {
-        return "ORD" + System.currentTimeMillis() +
-                String.valueOf((int)(Math.random() * 1000)).substring(0, 3);
+        return "ORD" + this.orderId.getValue();
     }
 
     private static void validateOrderCreation(String userId, List<OrderItem> orderItems) {
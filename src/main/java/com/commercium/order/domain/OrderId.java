@@ -1,11 +1,11 @@
 package com.commercium.order.domain;
 
+import com.commercium.common.id.DomainIds;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
 import jakarta.persistence.Embeddable;
-import java.util.UUID;
 
 @Embeddable
 @Getter
@@ -25,7 +25,7 @@ public class OrderId {
     }
 
     public static OrderId generate() {
-        return new OrderId(UUID.randomUUID().toString());
+        return new OrderId(DomainIds.next());
     }
 
     public static OrderId of(String value) {
@@ -1,12 +1,12 @@
 package com.commercium.order.domain;
 
+import com.commercium.common.id.DomainIds;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
-import java.util.UUID;
 
 @Entity
 @Table(name = "order_items")
@@ -38,7 +38,7 @@ public class OrderItem {
 
     private OrderItem(String productId, String sellerId, String productName,
                       Integer quantity, BigDecimal unitPrice) {
-        this.orderItemId = UUID.randomUUID().toString();
+        this.orderItemId = DomainIds.next();
         this.productId = productId;
         this.sellerId = sellerId;
         this.productName = productName;
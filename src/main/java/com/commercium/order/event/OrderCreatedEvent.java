@@ -1,23 +1,35 @@
 package com.commercium.order.event;
 
 import com.commercium.common.event.DomainEvent;
+import com.commercium.order.domain.OrderItem;
+import com.commercium.order.domain.ShippingAddress;
 import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 public class OrderCreatedEvent extends DomainEvent {
 
     private final String orderId;
+    private final String orderNumber;
     private final String userId;
     private final BigDecimal totalAmount;
+    private final List<OrderItem> orderItems;
+    private final ShippingAddress shippingAddress;
+    private final LocalDateTime createdAt;
 
-    public OrderCreatedEvent(String orderId, String userId, BigDecimal totalAmount) {
+    public OrderCreatedEvent(String orderId, String orderNumber, String userId, BigDecimal totalAmount,
+                             List<OrderItem> orderItems, ShippingAddress shippingAddress, LocalDateTime createdAt) {
         super();
         this.orderId = orderId;
+        this.orderNumber = orderNumber;
         this.userId = userId;
         this.totalAmount = totalAmount;
+        this.orderItems = List.copyOf(orderItems); // 불변 복사
+        this.shippingAddress = shippingAddress;
+        this.createdAt = createdAt;
     }
 
     @Override
@@ -1,47 +1,37 @@
 package com.commercium.order.event;
 
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-
+import com.commercium.common.outbox.OutboxMessage;
+import com.commercium.common.outbox.OutboxWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * 주문 이벤트를 아웃박스에 기록 (주문 트랜잭션과 함께 커밋되고 OutboxRelay 가 Kafka 로 전송)
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventListener {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxWriter outboxWriter;
 
     /**
      * 주문 생성 이벤트 처리
      * - 재고 차감 요청
      * - 고객 알림 발송
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async("eventExecutor")
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 1000))
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleOrderCreated(OrderCreatedEvent event) {
-        log.info("주문 생성 이벤트 처리 시작: orderId={}", event.getOrderId());
-
-        try {
-            // 1. 재고 차감 이벤트 발행 (Inventory 도메인)
-            kafkaTemplate.send("inventory.reserve", event.getOrderId(), event);
-
-            // 2. 고객 알림 이벤트 발행 (Notification 도메인)
-            kafkaTemplate.send("notification.order-created", event.getUserId(), event);
-
-            log.info("주문 생성 이벤트 처리 완료: orderId={}", event.getOrderId());
+        outboxWriter.append(
+                // 1. 재고 차감 이벤트 발행 (Inventory 도메인)
+                OutboxMessage.of("inventory.reserve", event.getOrderId(), event),
+                // 2. 고객 알림 이벤트 발행 (Notification 도메인)
+                OutboxMessage.of("notification.order-created", event.getUserId(), event));
 
-        } catch (Exception e) {
-            log.error("주문 생성 이벤트 처리 실패: orderId={}", event.getOrderId(), e);
-            throw e; // 재시도를 위해 예외 재발생
-        }
+        log.info("주문 생성 이벤트 기록: orderId={}", event.getOrderId());
     }
 
     /**
@@ -49,28 +39,17 @@ public class OrderEventListener {
      * - 재고 복원 요청
      * - 결제 취소 요청 (결제 완료된 경우)
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async("eventExecutor")
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 1000))
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleOrderCancelled(OrderCancelledEvent event) {
-        log.info("주문 취소 이벤트 처리 시작: orderId={}", event.getOrderId());
-
-        try {
-            // 1. 재고 복원 이벤트 발행
-            kafkaTemplate.send("inventory.restore", event.getOrderId(), event);
-
-            // 2. 결제 취소 이벤트 발행 (필요시)
-            kafkaTemplate.send("payment.cancel", event.getOrderId(), event);
-
-            // 3. 고객 알림 이벤트 발행
-            kafkaTemplate.send("notification.order-cancelled", event.getOrderId(), event);
-
-            log.info("주문 취소 이벤트 처리 완료: orderId={}", event.getOrderId());
-
-        } catch (Exception e) {
-            log.error("주문 취소 이벤트 처리 실패: orderId={}", event.getOrderId(), e);
-            throw e;
-        }
+        outboxWriter.append(
+                // 1. 재고 복원 이벤트 발행
+                OutboxMessage.of("inventory.restore", event.getOrderId(), event),
+                // 2. 결제 취소 이벤트 발행 (필요시)
+                OutboxMessage.of("payment.cancel", event.getOrderId(), event),
+                // 3. 고객 알림 이벤트 발행
+                OutboxMessage.of("notification.order-cancelled", event.getOrderId(), event));
+
+        log.info("주문 취소 이벤트 기록: orderId={}", event.getOrderId());
     }
 
     /**
@@ -78,27 +57,27 @@ public class OrderEventListener {
      * - 정산 데이터 생성 요청
      * - 배송 준비 알림
      */
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    @Async("eventExecutor")
-    @Retryable(value = {Exception.class}, maxAttempts = 3, backoff = @Backoff(delay = 1000))
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleOrderPaid(OrderPaidEvent event) {
-        log.info("주문 결제 완료 이벤트 처리 시작: orderId={}", event.getOrderId());
-
-        try {
-            // 1. 정산 데이터 생성 이벤트 발행
-            kafkaTemplate.send("settlement.create", event.getOrderId(), event);
-
-            // 2. 배송 준비 이벤트 발행
-            kafkaTemplate.send("shipping.prepare", event.getOrderId(), event);
-
-            // 3. 고객 알림 이벤트 발행
-            kafkaTemplate.send("notification.payment-completed", event.getOrderId(), event);
+        outboxWriter.append(
+                // 1. 정산 데이터 생성 이벤트 발행
+                OutboxMessage.of("settlement.create", event.getOrderId(), event),
+                // 2. 배송 준비 이벤트 발행
+                OutboxMessage.of("shipping.prepare", event.getOrderId(), event),
+                // 3. 고객 알림 이벤트 발행
+                OutboxMessage.of("notification.payment-completed", event.getOrderId(), event));
+
+        log.info("주문 결제 완료 이벤트 기록: orderId={}", event.getOrderId());
+    }
 
-            log.info("주문 결제 완료 이벤트 처리 완료: orderId={}", event.getOrderId());
+    /**
+     * 주문 배송 시작 이벤트 처리
+     * - 고객 알림 발송
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleOrderShipped(OrderShippedEvent event) {
+        outboxWriter.append(OutboxMessage.of("notification.order-shipped", event.getOrderId(), event));
 
-        } catch (Exception e) {
-            log.error("주문 결제 완료 이벤트 처리 실패: orderId={}", event.getOrderId(), e);
-            throw e;
-        }
+        log.info("주문 배송 시작 이벤트 기록: orderId={}", event.getOrderId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.commercium.order.event;
+
+import com.commercium.common.event.DomainEvent;
+import lombok.Getter;
+
+@Getter
+public class OrderShippedEvent extends DomainEvent {
+
+    private final String orderId;
+
+    public OrderShippedEvent(String orderId) {
+        super();
+        this.orderId = orderId;
+    }
+
+    @Override
+    public String getEventType() {
+        return "OrderShipped";
+    }
+}
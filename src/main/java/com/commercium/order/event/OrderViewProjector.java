@@ -0,0 +1,65 @@
+package com.commercium.order.event;
+
+import com.commercium.common.event.DomainEvent;
+import com.commercium.order.domain.OrderStatus;
+import com.commercium.order.repository.OrderViewRepository;
+import com.commercium.order.service.dto.OrderItemResponse;
+import com.commercium.order.service.dto.OrderResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 주문 이벤트로 주문 조회 모델(order_views) 갱신
+ *
+ * 주문 트랜잭션 안에서(BEFORE_COMMIT) 반영하므로 조회 모델과 주문이 함께 커밋되고, 생성 직후 조회에도 바로 보인다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderViewProjector {
+
+    private final OrderViewRepository orderViewRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        OrderResponse view = OrderResponse.builder()
+                .orderId(event.getOrderId())
+                .orderNumber(event.getOrderNumber())
+                .status(OrderStatus.PLACED)
+                .statusDescription(OrderStatus.PLACED.getDescription())
+                .totalAmount(event.getTotalAmount())
+                .shippingAddress(OrderResponse.ShippingAddressResponse.from(event.getShippingAddress()))
+                .items(event.getOrderItems().stream()
+                        .map(OrderItemResponse::from)
+                        .toList())
+                .createdAt(event.getCreatedAt())
+                .updatedAt(event.getCreatedAt())
+                .build();
+
+        orderViewRepository.insert(event.getUserId(), view);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        updateStatus(event.getOrderId(), OrderStatus.CANCELLED, event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderPaid(OrderPaidEvent event) {
+        updateStatus(event.getOrderId(), OrderStatus.PAID, event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderShipped(OrderShippedEvent event) {
+        updateStatus(event.getOrderId(), OrderStatus.SHIPPED, event);
+    }
+
+    private void updateStatus(String orderId, OrderStatus status, DomainEvent event) {
+        if (!orderViewRepository.updateStatus(orderId, status, event.getOccurredAt())) {
+            log.warn("주문 조회 모델에 없는 주문: orderId={}, status={}", orderId, status);
+        }
+    }
+}
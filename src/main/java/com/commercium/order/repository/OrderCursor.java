@@ -0,0 +1,39 @@
+package com.commercium.order.repository;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 목록 키셋 페이지 커서 - 마지막으로 읽은 주문의 (created_at, order_id)
+ *
+ * 클라이언트에는 불투명한 문자열로 전달하고, 다음 페이지는 이 위치보다 오래된 주문부터 읽는다.
+ */
+public record OrderCursor(LocalDateTime createdAt, String orderId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new BusinessRuleViolationException("잘못된 커서입니다: " + cursor);
+            }
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Base64 형식 오류 포함
+            throw new BusinessRuleViolationException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.commercium.order.repository;
+
+import com.commercium.order.domain.OrderStatus;
+import com.commercium.order.service.dto.OrderItemResponse;
+import com.commercium.order.service.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 주문 조회 모델 (order_views)
+ *
+ * 주문 이벤트로 유지하는 비정규화 테이블로, 주문 한 건이 품목과 배송지를 JSONB 로 품은 한 행이다.
+ * 목록은 (user_id, created_at DESC, order_id DESC) 인덱스로 키셋 페이지를 읽으므로 주문이 많은 사용자도 쿼리 한 번이다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderViewRepository {
+
+    private static final String COLUMNS =
+            "order_id, user_id, order_number, status, total_amount, shipping_address, items, created_at, updated_at";
+
+    private static final TypeReference<List<OrderItemResponse>> ITEMS_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 주문 생성 반영 (재전달되어도 한 번만 기록)
+     */
+    public void insert(String userId, OrderResponse order) {
+        jdbcTemplate.update("""
+                        INSERT INTO order_views (%s)
+                        VALUES (?, ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?, ?)
+                        ON CONFLICT (order_id) DO NOTHING
+                        """.formatted(COLUMNS),
+                order.getOrderId(), userId, order.getOrderNumber(), order.getStatus().name(), order.getTotalAmount(),
+                toJson(order.getShippingAddress()), toJson(order.getItems()),
+                Timestamp.valueOf(order.getCreatedAt()), Timestamp.valueOf(order.getUpdatedAt()));
+    }
+
+    /**
+     * 상태 변경 반영 (조회 모델에 없는 주문이면 false)
+     */
+    public boolean updateStatus(String orderId, OrderStatus status, LocalDateTime updatedAt) {
+        return jdbcTemplate.update("UPDATE order_views SET status = ?, updated_at = ? WHERE order_id = ?",
+                status.name(), Timestamp.valueOf(updatedAt), orderId) > 0;
+    }
+
+    public Optional<OrderView> findById(String orderId) {
+        List<OrderView> rows = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM order_views WHERE order_id = ?", rowMapper(), orderId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 사용자의 주문을 최신순으로 limit 건 (after 가 있으면 그보다 오래된 것부터)
+     */
+    public List<OrderView> findByUserId(String userId, OrderCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query("SELECT " + COLUMNS + """
+                             FROM order_views
+                            WHERE user_id = ?
+                            ORDER BY created_at DESC, order_id DESC
+                            LIMIT ?
+                            """, rowMapper(), userId, limit);
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + """
+                         FROM order_views
+                        WHERE user_id = ? AND (created_at, order_id) < (?, ?)
+                        ORDER BY created_at DESC, order_id DESC
+                        LIMIT ?
+                        """, rowMapper(), userId, Timestamp.valueOf(after.createdAt()), after.orderId(), limit);
+    }
+
+    private RowMapper<OrderView> rowMapper() {
+        return (rs, rowNum) -> new OrderView(rs.getString("user_id"), toResponse(rs));
+    }
+
+    private OrderResponse toResponse(ResultSet rs) throws SQLException {
+        OrderStatus status = OrderStatus.valueOf(rs.getString("status"));
+        return OrderResponse.builder()
+                .orderId(rs.getString("order_id"))
+                .orderNumber(rs.getString("order_number"))
+                .status(status)
+                .statusDescription(status.getDescription())
+                .totalAmount(rs.getBigDecimal("total_amount"))
+                .shippingAddress(fromJson(rs.getString("shipping_address"), OrderResponse.ShippingAddressResponse.class))
+                .items(fromJson(rs.getString("items"), ITEMS_TYPE))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                .build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("주문 조회 모델을 직렬화할 수 없습니다", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 조회 모델을 읽을 수 없습니다", e);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 조회 모델을 읽을 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 조회 모델 한 행 (권한 확인용 사용자 ID 포함)
+     */
+    public record OrderView(String userId, OrderResponse order) {
+
+        public OrderCursor cursor() {
+            return new OrderCursor(order.getCreatedAt(), order.getOrderId());
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.commercium.order.service;
 
 import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.inventory.domain.service.InlineOrderReservation;
 import com.commercium.order.domain.*;
+import com.commercium.order.repository.OrderCursor;
 import com.commercium.order.repository.OrderRepository;
+import com.commercium.order.repository.OrderViewRepository;
 import com.commercium.order.service.dto.CreateOrderRequest;
+import com.commercium.order.service.dto.OrderPageResponse;
 import com.commercium.order.service.dto.OrderResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +15,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @Transactional
@@ -19,7 +25,9 @@ import java.util.List;
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderViewRepository orderViewRepository;
     private final OrderDomainService orderDomainService;
+    private final InlineOrderReservation inlineOrderReservation;
 
     public OrderResponse createOrder(String userId, CreateOrderRequest request) {
         log.info("주문 생성 시작: userId={}, itemCount={}", userId, request.getItems().size());
@@ -35,7 +43,12 @@ public class OrderService {
                     request.getShippingAddress().toDomain()
             );
 
-            // 3. 저장
+            // 3. 재고 예약 (켜져 있으면 요청 안에서 예약 - 실패하면 주문을 만들지 않음)
+            if (inlineOrderReservation.isEnabled()) {
+                inlineOrderReservation.reserve(order.getOrderId().getValue(), quantities(orderItems));
+            }
+
+            // 4. 저장
             Order savedOrder = orderRepository.save(order);
 
             log.info("주문 생성 완료: orderId={}, orderNumber={}",
@@ -72,18 +85,46 @@ public class OrderService {
         log.info("결제 확인 완료: orderId={}", orderId);
     }
 
+    /**
+     * 내 주문 목록 (조회 모델에서 최신순 키셋 페이지)
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getUserOrders(String userId) {
-        return orderRepository.findByUserId(userId)
-                .stream()
-                .map(OrderResponse::from)
-                .toList();
+    public OrderPageResponse getUserOrders(String userId, String cursor, int size) {
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        List<OrderViewRepository.OrderView> rows = orderViewRepository.findByUserId(userId, after, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<OrderViewRepository.OrderView> page = hasNext ? rows.subList(0, size) : rows;
+
+        return OrderPageResponse.builder()
+                .orders(page.stream().map(OrderViewRepository.OrderView::order).toList())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? page.get(page.size() - 1).cursor().encode() : null)
+                .build();
     }
 
+    /**
+     * 주문 상세 (조회 모델 한 행)
+     */
     @Transactional(readOnly = true)
     public OrderResponse getOrder(String userId, String orderId) {
-        Order order = findOrderByIdAndUserId(orderId, userId);
-        return OrderResponse.from(order);
+        OrderViewRepository.OrderView view = orderViewRepository.findById(orderId)
+                .orElseThrow(() -> new BusinessRuleViolationException("주문을 찾을 수 없습니다"));
+
+        if (!view.userId().equals(userId)) {
+            throw new BusinessRuleViolationException("주문에 접근할 권한이 없습니다");
+        }
+
+        return view.order();
+    }
+
+    /**
+     * 같은 상품이 여러 줄이면 합친 상품별 수량
+     */
+    private static Map<String, Integer> quantities(List<OrderItem> orderItems) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        orderItems.forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        return quantities;
     }
 
     private Order findOrderByIdAndUserId(String orderId, String userId) {
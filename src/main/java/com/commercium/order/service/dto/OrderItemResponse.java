@@ -3,11 +3,13 @@ package com.commercium.order.service.dto;
 import com.commercium.order.domain.OrderItem;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 
 @Data
 @Builder
+@Jacksonized // 주문 조회 모델(JSONB)에서 읽을 때 사용
 public class OrderItemResponse {
 
     private String orderItemId;
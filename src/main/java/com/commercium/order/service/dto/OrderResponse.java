@@ -4,6 +4,7 @@ import com.commercium.order.domain.Order;
 import com.commercium.order.domain.OrderStatus;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -41,6 +42,7 @@ public class OrderResponse {
 
     @Data
     @Builder
+    @Jacksonized // 주문 조회 모델(JSONB)에서 읽을 때 사용
     public static class ShippingAddressResponse {
         private String recipientName;
         private String phone;
@@ -1,11 +1,11 @@
 package com.commercium.payment.domain;
 
+import com.commercium.common.id.DomainIds;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
 import jakarta.persistence.Embeddable;
-import java.util.UUID;
 
 @Embeddable
 @Getter
@@ -25,7 +25,7 @@ public class PaymentId {
     }
 
     public static PaymentId generate() {
-        return new PaymentId(UUID.randomUUID().toString());
+        return new PaymentId(DomainIds.next());
     }
 
     public static PaymentId of(String value) {
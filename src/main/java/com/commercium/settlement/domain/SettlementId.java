@@ -1,11 +1,11 @@
 package com.commercium.settlement.domain;
 
+import com.commercium.common.id.DomainIds;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
 import jakarta.persistence.Embeddable;
-import java.util.UUID;
 
 @Embeddable
 @Getter
@@ -25,7 +25,7 @@ public class SettlementId {
     }
 
     public static SettlementId generate() {
-        return new SettlementId(UUID.randomUUID().toString());
+        return new SettlementId(DomainIds.next());
     }
 
     public static SettlementId of(String value) {
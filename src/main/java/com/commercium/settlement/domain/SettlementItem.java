@@ -1,4 +1,6 @@
 package com.commercium.settlement.domain;
+
+import com.commercium.common.id.DomainIds;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -6,7 +8,6 @@ import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity
 @Table(name = "settlement_items")
@@ -48,7 +49,7 @@ public class SettlementItem {
 
     private SettlementItem(String orderId, String orderItemId, String productId,
                            BigDecimal saleAmount, CommissionRate commissionRate) {
-        this.settlementItemId = UUID.randomUUID().toString();
+        this.settlementItemId = DomainIds.next();
         this.orderId = orderId;
         this.orderItemId = orderItemId;
         this.productId = productId;
@@ -0,0 +1,14 @@
+-- 재고 일괄 입고 스테이징 (InventoryBulkImporter 가 COPY 로 적재하고 반영 후 import_id 단위로 삭제)
+--
+-- 반영은 (import_id, product_id) 구간 단위로 읽으므로 같은 순서의 인덱스를 둔다.
+-- 장애 시 다시 올리면 되는 임시 데이터이므로 WAL 을 남기지 않는 UNLOGGED 테이블로 만든다.
+
+CREATE UNLOGGED TABLE IF NOT EXISTS inventory_import_staging (
+    import_id  BIGINT       NOT NULL,
+    line_no    BIGINT       NOT NULL,
+    product_id VARCHAR(255) NOT NULL,
+    quantity   INTEGER      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_import_staging_product
+    ON inventory_import_staging (import_id, product_id, line_no);
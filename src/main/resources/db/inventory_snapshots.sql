@@ -0,0 +1,13 @@
+-- 상품별 재고 원장 스냅샷 (InventorySnapshotService 가 상품마다 최신 한 건을 갱신)
+--
+-- 재생은 (last_transaction_at, last_transaction_id) 이후 이력만 읽으므로
+-- inventory_transactions 의 (product_id, created_at, transaction_id) 인덱스 범위 스캔으로 끝난다.
+
+CREATE TABLE IF NOT EXISTS inventory_snapshots (
+    product_id          VARCHAR(255) PRIMARY KEY,
+    available_quantity  INTEGER      NOT NULL,
+    reserved_quantity   INTEGER      NOT NULL,
+    last_transaction_id BIGINT       NOT NULL,
+    last_transaction_at TIMESTAMP(6) NOT NULL,
+    snapshot_at         TIMESTAMP(6) NOT NULL
+);
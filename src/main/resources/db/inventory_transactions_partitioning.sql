@@ -0,0 +1,74 @@
+-- 재고 이력 테이블을 created_at 기준 월별 RANGE 파티션 테이블로 전환
+--
+-- 배포 전 한 번 수동으로 실행한다 (ddl-auto: validate 이므로 애플리케이션이 스키마를 만들지 않음).
+-- 파티션 테이블의 PK 에는 파티션 키가 포함되어야 하므로 (transaction_id, created_at) 로 바뀐다.
+-- transaction_id 는 BIGINT (SnowflakeIdGenerator) 로 바뀌므로 기존 UUID 이력에는 created_at 순서로 새 번호를 매기고,
+-- 원래 ID 는 inventory_transactions_legacy_ids 에 남긴다. 새 번호는 Snowflake ID 보다 항상 작아 기존 이력이 먼저 정렬된다.
+-- 미리 만든 월 범위 밖의 created_at (시계 오류, 파티션 준비 실패 등)은 DEFAULT 파티션에 들어가며,
+-- 해당 월 파티션을 만들 때 InventoryLedgerPartitionManager 가 옮긴다.
+-- 이후 월 파티션은 InventoryLedgerPartitionManager 가 미리 만들고, 보존 기간이 지난 파티션은
+-- InventoryLedgerArchiver 가 떼어내 파일로 보관한다.
+
+BEGIN;
+
+ALTER TABLE inventory_transactions RENAME TO inventory_transactions_legacy;
+
+CREATE TABLE inventory_transactions (
+    transaction_id   BIGINT       NOT NULL,
+    product_id       VARCHAR(255),
+    order_id         VARCHAR(255),
+    transaction_type VARCHAR(255) NOT NULL,
+    quantity         INTEGER      NOT NULL,
+    before_available INTEGER,
+    after_available  INTEGER,
+    before_reserved  INTEGER,
+    after_reserved   INTEGER,
+    reason           VARCHAR(255),
+    created_at       TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (transaction_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- 상품 이력 키셋 페이지 조회용 (ORDER BY created_at DESC, transaction_id DESC 와 같은 순서)
+CREATE INDEX idx_inventory_transactions_product_created ON inventory_transactions (product_id, created_at DESC, transaction_id DESC);
+CREATE INDEX idx_inventory_transactions_order_created ON inventory_transactions (order_id, created_at DESC);
+
+-- 기존 데이터 기간 + 앞으로 3개월 파티션 생성
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), now()))::DATE INTO month_start
+    FROM inventory_transactions_legacy;
+    last_month := (date_trunc('month', now()) + INTERVAL '3 months')::DATE;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS inventory_transactions_p%s PARTITION OF inventory_transactions FOR VALUES FROM (%L) TO (%L)',
+            to_char(month_start, 'YYYYMM'), month_start, (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+CREATE TABLE inventory_transactions_default PARTITION OF inventory_transactions DEFAULT;
+
+-- 기존 UUID 와 새 번호 대응표 (감사/외부 참조 추적용)
+CREATE TABLE inventory_transactions_legacy_ids (
+    transaction_id        BIGINT       PRIMARY KEY,
+    legacy_transaction_id VARCHAR(255) NOT NULL UNIQUE
+);
+
+INSERT INTO inventory_transactions_legacy_ids (transaction_id, legacy_transaction_id)
+SELECT row_number() OVER (ORDER BY created_at, transaction_id), transaction_id
+FROM inventory_transactions_legacy;
+
+INSERT INTO inventory_transactions
+SELECT ids.transaction_id, l.product_id, l.order_id, l.transaction_type, l.quantity,
+       l.before_available, l.after_available, l.before_reserved, l.after_reserved,
+       l.reason, l.created_at
+FROM inventory_transactions_legacy l
+JOIN inventory_transactions_legacy_ids ids ON ids.legacy_transaction_id = l.transaction_id;
+
+DROP TABLE inventory_transactions_legacy;
+
+COMMIT;
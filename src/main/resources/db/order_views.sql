@@ -0,0 +1,45 @@
+-- 주문 조회 모델 (OrderViewProjector 가 주문 이벤트로 주문 트랜잭션 안에서 갱신)
+--
+-- 주문 목록/상세는 이 테이블만 읽는다. 품목과 배송지는 응답 형태 그대로 JSONB 에 둔다.
+-- 목록은 (user_id, created_at DESC, order_id DESC) 키셋으로 읽으므로 같은 순서의 인덱스를 둔다.
+
+CREATE TABLE IF NOT EXISTS order_views (
+    order_id         VARCHAR(255)   PRIMARY KEY,
+    user_id          VARCHAR(255)   NOT NULL,
+    order_number     VARCHAR(255)   NOT NULL,
+    status           VARCHAR(50)    NOT NULL,
+    total_amount     NUMERIC(12, 2) NOT NULL,
+    shipping_address JSONB          NOT NULL,
+    items            JSONB          NOT NULL,
+    created_at       TIMESTAMP      NOT NULL,
+    updated_at       TIMESTAMP      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_views_user_created
+    ON order_views (user_id, created_at DESC, order_id DESC);
+
+-- 기존 주문 적재 (배포 시 한 번 실행, 이미 있는 주문은 건너뜀)
+-- orders 의 주문 ID 열은 OrderId 임베디드 ID 매핑에 따라 value 이다.
+INSERT INTO order_views (order_id, user_id, order_number, status, total_amount, shipping_address, items,
+                         created_at, updated_at)
+SELECT o.value, o.user_id, o.order_number, o.status, o.total_amount,
+       jsonb_build_object(
+               'recipientName', o.recipient_name,
+               'phone', o.phone,
+               'zipCode', o.zip_code,
+               'address1', o.address1,
+               'address2', o.address2,
+               'fullAddress', '(' || o.zip_code || ') ' || o.address1 || COALESCE(' ' || o.address2, '')),
+       COALESCE((SELECT jsonb_agg(jsonb_build_object(
+                                          'orderItemId', i.order_item_id,
+                                          'productId', i.product_id,
+                                          'productName', i.product_name,
+                                          'sellerId', i.seller_id,
+                                          'quantity', i.quantity,
+                                          'unitPrice', i.unit_price,
+                                          'totalPrice', i.total_price) ORDER BY i.order_item_id)
+                 FROM order_items i
+                 WHERE i.order_id = o.value), '[]'::jsonb),
+       o.created_at, o.updated_at
+FROM orders o
+ON CONFLICT (order_id) DO NOTHING;
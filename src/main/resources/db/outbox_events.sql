@@ -0,0 +1,22 @@
+-- 트랜잭셔널 아웃박스 (OutboxWriter 가 업무 트랜잭션 안에서 기록하고 OutboxRelay 가 전송 후 삭제)
+--
+-- partition_no 는 메시지 키 해시로 정하며, 릴레이는 파티션마다 event_id 순서로 읽는다.
+-- outbox_partitions 는 파티션 잠금용 행으로, 릴레이가 FOR UPDATE SKIP LOCKED 로 잡아 한 노드만 보내게 한다.
+-- 행은 애플리케이션 시작 시 app.outbox.partitions 개수만큼 채워진다.
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    event_id     BIGINT       PRIMARY KEY,
+    partition_no INTEGER      NOT NULL,
+    topic        VARCHAR(255) NOT NULL,
+    message_key  VARCHAR(255),
+    payload_type VARCHAR(255) NOT NULL,
+    payload      BYTEA        NOT NULL,
+    created_at   TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_partition
+    ON outbox_events (partition_no, event_id);
+
+CREATE TABLE IF NOT EXISTS outbox_partitions (
+    partition_no INTEGER PRIMARY KEY
+);
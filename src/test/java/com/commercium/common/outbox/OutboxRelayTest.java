@@ -0,0 +1,205 @@
+package com.commercium.common.outbox;
+
+import com.commercium.config.properties.OutboxProperties;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 아웃박스 릴레이 전송/삭제 검증 (실제 PostgreSQL 컨테이너, Kafka 전송은 대역)
+ *
+ * 페이로드에 event_id 를 넣어 어떤 행이 어떤 순서로 전송됐는지 확인한다. 테이블을 공유하므로 테스트는 차례로 실행한다.
+ */
+@Testcontainers
+@Execution(ExecutionMode.SAME_THREAD)
+class OutboxRelayTest {
+
+    private static final String TOPIC = "outbox-test";
+    private static final String KEY = "order-1";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_events (event_id, partition_no, topic, message_key, payload_type, payload, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
+    static DriverManagerDataSource dataSource;
+
+    /** 릴레이 트랜잭션과 다른 커넥션 (다른 노드의 커밋, 파티션 잠금 흉내) */
+    static JdbcTemplate otherConnection;
+
+    private final List<Long> sent = new CopyOnWriteArrayList<>();
+    private final Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+    private volatile LongConsumer onSend = eventId -> {
+    };
+
+    private JdbcTemplate jdbcTemplate;
+    private OutboxProperties properties;
+    private OutboxRelay relay;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/outbox_events.sql")).execute(dataSource);
+        otherConnection = new JdbcTemplate(
+                new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE outbox_events, outbox_partitions");
+
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, byte[]> record = invocation.getArgument(0);
+            long eventId = Long.parseLong(new String(record.value(), StandardCharsets.UTF_8));
+            sent.add(eventId);
+            onSend.accept(eventId);
+            if (failOnce.remove(eventId)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("전송 실패"));
+            }
+            return CompletableFuture.completedFuture(new SendResult<>(record, null));
+        });
+
+        properties = new OutboxProperties();
+        properties.setPartitions(2);
+        properties.setRelayThreads(2);
+        properties.setBatchSize(3);
+        properties.setSendTimeoutMs(1000);
+        relay = new OutboxRelay(jdbcTemplate, new DataSourceTransactionManager(dataSource), kafkaTemplate, properties);
+        relay.ensurePartitions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    @Test
+    @DisplayName("파티션의 행을 event_id 순서로 보내고 보낸 행을 지운다")
+    void sendsInEventIdOrder() {
+        insert(5, KEY);
+        insert(1, KEY);
+        insert(3, KEY);
+        insert(4, KEY);
+
+        relay.relay();
+
+        // 배치 크기 3 - 가득 찬 배치 뒤 같은 폴링에서 나머지를 이어 보낸다
+        assertThat(sent).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(remaining()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전송 중에 더 작은 event_id 가 커밋돼도 보내지 않은 행은 지우지 않는다")
+    void keepsRowCommittedDuringSend() {
+        insert(10, KEY);
+        insert(20, KEY);
+        onSend = eventId -> {
+            if (eventId == 10) {
+                // 시계가 늦은 다른 노드가 더 작은 ID 로 커밋
+                otherConnection.update(INSERT_SQL, 15L, partitionOf(KEY), TOPIC, KEY, "java.lang.String",
+                        "15".getBytes(StandardCharsets.UTF_8), Timestamp.valueOf(LocalDateTime.now()));
+            }
+        };
+
+        relay.relay();
+        assertThat(sent).containsExactly(10L, 20L);
+        assertThat(remaining()).containsExactly(15L);
+
+        relay.relay();
+        assertThat(sent).containsExactly(10L, 20L, 15L);
+        assertThat(remaining()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("중간 전송이 실패하면 성공한 앞부분만 지우고 나머지는 다음 폴링에서 순서대로 보낸다")
+    void failedSendKeepsRemainingRows() {
+        insert(1, KEY);
+        insert(2, KEY);
+        insert(3, KEY);
+        failOnce.add(2L);
+
+        relay.relay();
+        assertThat(remaining()).containsExactly(2L, 3L);
+
+        sent.clear();
+        relay.relay();
+        assertThat(sent).containsExactly(2L, 3L);
+        assertThat(remaining()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 잡고 있는 파티션은 건너뛴다")
+    void skipsPartitionLockedByAnotherNode() throws Exception {
+        insert(1, KEY);
+
+        try (Connection connection = otherConnection.getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT partition_no FROM outbox_partitions WHERE partition_no = "
+                        + partitionOf(KEY) + " FOR UPDATE");
+            }
+
+            relay.relay();
+            assertThat(sent).isEmpty();
+            assertThat(remaining()).containsExactly(1L);
+
+            connection.rollback();
+        }
+
+        relay.relay();
+        assertThat(sent).containsExactly(1L);
+        assertThat(remaining()).isEmpty();
+    }
+
+    private void insert(long eventId, String key) {
+        jdbcTemplate.update(INSERT_SQL, eventId, partitionOf(key), TOPIC, key, "java.lang.String",
+                String.valueOf(eventId).getBytes(StandardCharsets.UTF_8), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private int partitionOf(String key) {
+        return OutboxWriter.partitionOf(key, properties.getPartitions());
+    }
+
+    private List<Long> remaining() {
+        return jdbcTemplate.queryForList("SELECT event_id FROM outbox_events ORDER BY event_id", Long.class);
+    }
+}
@@ -0,0 +1,173 @@
+package com.commercium.common.outbox;
+
+import com.commercium.common.id.NodeIdAllocator;
+import com.commercium.common.id.SnowflakeIdGenerator;
+import com.commercium.config.properties.OutboxProperties;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이벤트 전송 처리량 비교 - 커밋 후 직접 전송(이전 방식) vs 아웃박스 기록 + 릴레이 (실제 PostgreSQL, Kafka 컨테이너)
+ *
+ * 오래 걸리므로 OUTBOX_BENCHMARK=true 일 때만 실행하고, 결과(초당 이벤트 수)는 로그로 남긴다.
+ * 아웃박스 쪽은 업무 트랜잭션처럼 이벤트마다 한 번 커밋하며 기록한 뒤, 릴레이가 테이블을 비울 때까지의 시간을 더한다.
+ */
+@Testcontainers
+@EnabledIfEnvironmentVariable(named = "OUTBOX_BENCHMARK", matches = "true")
+class OutboxThroughputComparisonTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxThroughputComparisonTest.class);
+
+    private static final int EVENTS = 20_000;
+    private static final int KEYS = 1_000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+
+    @Container
+    static final KafkaContainer KAFKA = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+    static DriverManagerDataSource dataSource;
+    static KafkaTemplate<String, Object> directTemplate;
+    static KafkaTemplate<String, byte[]> outboxTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/outbox_events.sql")).execute(dataSource);
+
+        // KafkaConfig 의 두 프로듀서 설정과 같게
+        Map<String, Object> direct = producerProps();
+        direct.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        direct.put(ProducerConfig.ACKS_CONFIG, "1");
+        direct.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
+        direct.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        directTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(direct));
+
+        Map<String, Object> outbox = producerProps();
+        outbox.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        outbox.put(ProducerConfig.ACKS_CONFIG, "all");
+        outbox.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        outbox.put(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
+        outbox.put(ProducerConfig.LINGER_MS_CONFIG, 10);
+        outboxTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(outbox));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        directTemplate.destroy();
+        outboxTemplate.destroy();
+    }
+
+    @Test
+    @DisplayName("직접 전송과 아웃박스 릴레이의 초당 이벤트 수")
+    void compareThroughput() {
+        // 토픽 생성/메타데이터 조회 비용을 빼기 위한 예열
+        directTemplate.send("throughput-direct", "warmup", new SampleEvent("warmup", 0)).join();
+        outboxTemplate.send("throughput-outbox", "warmup", new byte[0]).join();
+
+        long directNanos = directSend();
+        long[] outboxNanos = outboxSend();
+
+        log.info("이벤트 전송 처리량 비교: 건수={}, 직접 전송={}/s, 아웃박스 기록={}/s, 릴레이={}/s, 아웃박스 전체={}/s",
+                EVENTS, perSecond(directNanos), perSecond(outboxNanos[0]), perSecond(outboxNanos[1]),
+                perSecond(outboxNanos[0] + outboxNanos[1]));
+    }
+
+    /**
+     * 이전 방식 - 이벤트마다 send 를 호출하고 응답은 콜백으로 받음 (모든 응답이 올 때까지 측정)
+     */
+    private long directSend() {
+        List<CompletableFuture<?>> sends = new ArrayList<>(EVENTS);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            sends.add(directTemplate.send("throughput-direct", key(i), new SampleEvent(key(i), i)));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * 아웃박스 - 이벤트마다 기록(자동 커밋)한 뒤 릴레이가 테이블을 비울 때까지
+     */
+    private long[] outboxSend() {
+        OutboxProperties properties = new OutboxProperties();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        OutboxWriter writer = new OutboxWriter(jdbcTemplate,
+                new SnowflakeIdGenerator(new NodeIdAllocator(null, "config", 1, 60)), directTemplate, properties);
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                outboxTemplate, properties);
+        relay.ensurePartitions();
+
+        try {
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < EVENTS; i++) {
+                writer.append(OutboxMessage.of("throughput-outbox", key(i), new SampleEvent(key(i), i)));
+            }
+            long written = System.nanoTime();
+
+            while (pending(jdbcTemplate) > 0) {
+                relay.relay();
+            }
+            long relayed = System.nanoTime();
+
+            assertThat(pending(jdbcTemplate)).isZero();
+            return new long[]{written - startedAt, relayed - written};
+        } finally {
+            relay.shutdown();
+        }
+    }
+
+    private static Map<String, Object> producerProps() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA.getBootstrapServers());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+        return props;
+    }
+
+    private static int pending(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Integer.class);
+    }
+
+    private static String key(int i) {
+        return "order-" + (i % KEYS);
+    }
+
+    private static long perSecond(long nanos) {
+        return EVENTS * TimeUnit.SECONDS.toNanos(1) / Math.max(1, nanos);
+    }
+
+    record SampleEvent(String orderId, long sequence) {
+    }
+}
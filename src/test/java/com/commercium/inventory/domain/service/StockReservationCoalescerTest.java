@@ -0,0 +1,157 @@
+package com.commercium.inventory.domain.service;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.common.id.DomainIds;
+import com.commercium.common.id.NodeIdAllocator;
+import com.commercium.common.id.SnowflakeIdGenerator;
+import com.commercium.config.properties.InventoryProperties;
+import com.commercium.inventory.domain.Inventory;
+import com.commercium.inventory.domain.ProductId;
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.repository.InventoryRepository;
+import com.commercium.inventory.infrastructure.RedisStockLockManager;
+import com.commercium.inventory.infrastructure.StockLock;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 상품별 예약 병합 처리 검증 (DB/Redis 는 대역, 병합과 결과 전달만 확인)
+ */
+class StockReservationCoalescerTest {
+
+    private static final String PRODUCT_ID = "product-1";
+
+    private InventoryRepository inventoryRepository;
+    private RedisStockLockManager lockManager;
+    private PlatformTransactionManager transactionManager;
+    private StockReservationCoalescer coalescer;
+
+    @BeforeAll
+    static void initIds() {
+        new DomainIds(new SnowflakeIdGenerator(new NodeIdAllocator(null, "config", 1, 60)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository = mock(InventoryRepository.class);
+        lockManager = mock(RedisStockLockManager.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        StockLock lock = mock(StockLock.class);
+        when(lock.getFencingToken()).thenReturn(1L);
+        when(lockManager.acquire(any(), any())).thenReturn(Optional.of(lock));
+
+        InventoryProperties properties = new InventoryProperties();
+        properties.getCoalescing().setEnabled(true);
+        properties.getCoalescing().setWindowMs(0);
+        properties.getCoalescing().setTimeoutMs(5000);
+        coalescer = new StockReservationCoalescer(inventoryRepository, lockManager, transactionManager, properties);
+    }
+
+    @Test
+    @DisplayName("처리 중에 쌓인 요청은 한 배치로 묶고, 재고 부족은 해당 요청에만 전달한다")
+    void queuedRequestsShareOneBatch() throws Exception {
+        Inventory inventory = Inventory.create(ProductId.of(PRODUCT_ID), 7);
+        CountDownLatch firstBatchEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(inventoryRepository.findByProductId(ProductId.of(PRODUCT_ID))).thenAnswer(invocation -> {
+            if (firstBatchEntered.getCount() > 0) {
+                firstBatchEntered.countDown();
+                releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(inventory);
+        });
+
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        Thread combiner = reserveAsync("order-0", 1, failures);
+        assertThat(firstBatchEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Thread> waiters = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            waiters.add(reserveAsync("order-" + i, 2, failures));
+        }
+        awaitWaiting(waiters);
+        releaseFirstBatch.countDown();
+
+        combiner.join(5000);
+        for (Thread waiter : waiters) {
+            waiter.join(5000);
+        }
+
+        // 첫 배치(order-0) + 대기 중 쌓인 네 요청의 배치 = 조회 두 번
+        verify(inventoryRepository, times(2)).findByProductId(ProductId.of(PRODUCT_ID));
+        assertThat(failures).singleElement().isInstanceOf(IllegalStateException.class);
+        assertThat(inventory.getStockQuantity()).isEqualTo(StockQuantity.of(0, 7));
+    }
+
+    @Test
+    @DisplayName("락을 얻지 못하면 배치의 모든 요청이 실패한다")
+    void lockFailureFailsBatch() {
+        when(lockManager.acquire(any(), any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> coalescer.reserve(PRODUCT_ID, "order-1", 1, "주문"))
+                .isInstanceOf(BusinessRuleViolationException.class);
+        verify(inventoryRepository, never()).findByProductId(any());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 병합 대기를 거부한다")
+    void rejectsCallerTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> coalescer.reserve(PRODUCT_ID, "order-1", 1, "주문"))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        verify(lockManager, never()).acquire(any(), any());
+    }
+
+    private Thread reserveAsync(String orderId, int quantity, List<Throwable> failures) {
+        Thread thread = new Thread(() -> {
+            try {
+                coalescer.reserve(PRODUCT_ID, orderId, quantity, "주문");
+            } catch (RuntimeException e) {
+                failures.add(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * 대기 스레드가 모두 큐에 들어가 결과를 기다리는 상태가 될 때까지 대기
+     */
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (threads.stream().allMatch(thread -> thread.getState() == Thread.State.TIMED_WAITING)) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("대기 스레드가 큐에 들어가지 않았습니다");
+    }
+}
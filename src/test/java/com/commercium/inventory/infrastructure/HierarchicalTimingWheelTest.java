@@ -0,0 +1,139 @@
+package com.commercium.inventory.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 계층형 타이밍 휠 만료 시점 검증
+ *
+ * tickMs=10, wheelSize=4 → 1단계 40ms, 2단계 160ms, 3단계 640ms 범위
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 4;
+    private static final long START_MS = 1000;
+
+    @Test
+    @DisplayName("만료 시각이 이미 된 항목은 등록하지 않고, 그 직후 시각은 다음 틱에 전달한다")
+    void alreadyDueIsRejected() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+
+        assertThat(wheel.add("past", START_MS - 1)).isFalse();
+        assertThat(wheel.add("now", START_MS)).isFalse();
+        assertThat(wheel.add("next", START_MS + 1)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(START_MS + TICK_MS - 1, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(START_MS + TICK_MS, expired::add);
+        assertThat(expired).containsExactly("next");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("상위 휠 항목은 하위 휠로 내려와 만료 시각 이후 첫 틱에 전달된다")
+    void upperLevelCascadesDown() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+        wheel.add("level2", START_MS + 100);
+        wheel.add("level3", START_MS + 500);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(START_MS + 99, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(START_MS + 100, expired::add);
+        assertThat(expired).containsExactly("level2");
+
+        wheel.advance(START_MS + 499, expired::add);
+        assertThat(expired).containsExactly("level2");
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(START_MS + 500, expired::add);
+        assertThat(expired).containsExactly("level2", "level3");
+    }
+
+    @Test
+    @DisplayName("모든 항목은 만료 시각 이전에 전달되지 않고, 만료 후 한 틱 안에 한 번만 전달된다")
+    void everyEntryExpiresWithinOneTick() {
+        long start = START_MS + 3;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, start);
+        for (long expiresAt = start + 1; expiresAt <= start + 3000; expiresAt += 7) {
+            assertThat(wheel.add(expiresAt, expiresAt)).isTrue();
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = start; now <= start + 3100; now++) {
+            long at = now;
+            wheel.advance(now, expiresAt -> assertThat(firedAt.put(expiresAt, at)).isNull());
+        }
+
+        assertThat(wheel.size()).isZero();
+        assertThat(firedAt).hasSize(429);
+        firedAt.forEach((expiresAt, at) -> assertThat(at).isBetween(expiresAt, expiresAt + TICK_MS - 1));
+    }
+
+    @Test
+    @DisplayName("시계가 여러 바퀴 뛰어도 지난 항목은 모두 만료 순서대로, 먼 항목은 제때 전달된다")
+    void largeClockJump() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+        wheel.add("a", START_MS + 5);
+        wheel.add("b", START_MS + 100);
+        wheel.add("c", START_MS + 1500);
+        wheel.add("far", START_MS + 50_000);
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(START_MS + 20_000, expired::add);
+        assertThat(expired).containsExactly("a", "b", "c");
+        assertThat(wheel.size()).isEqualTo(1);
+
+        // 휠 범위를 여러 바퀴 지난 뒤에 등록한 항목도 슬롯이 겹치지 않는다
+        wheel.add("late", START_MS + 20_015);
+        wheel.advance(START_MS + 20_019, expired::add);
+        assertThat(expired).containsExactly("a", "b", "c");
+
+        wheel.advance(START_MS + 20_020, expired::add);
+        wheel.advance(START_MS + 49_999, expired::add);
+        assertThat(expired).containsExactly("a", "b", "c", "late");
+
+        wheel.advance(START_MS + 50_000, expired::add);
+        assertThat(expired).containsExactly("a", "b", "c", "late", "far");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("빈 휠은 긴 중단 뒤에도 바로 현재 시각으로 이동한다")
+    void emptyWheelJumpsToNow() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, START_MS);
+        long now = START_MS + 30L * 24 * 60 * 60 * 1000;
+
+        wheel.advance(now, item -> {
+        });
+
+        assertThat(wheel.add("stale", now - 1)).isFalse();
+        assertThat(wheel.add("fresh", now + TICK_MS)).isTrue();
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(now + TICK_MS, expired::add);
+        assertThat(expired).containsExactly("fresh");
+    }
+
+    @Test
+    @DisplayName("틱 간격이 0 이하이거나 슬롯이 하나뿐이면 생성하지 않는다")
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(0, WHEEL_SIZE, START_MS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<>(TICK_MS, 1, START_MS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,150 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.common.exception.BusinessRuleViolationException;
+import com.commercium.config.properties.InventoryProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재고 요청 중복 방지 저장소 동작 검증 (실제 Redis 컨테이너)
+ *
+ * 노드마다 최근 키 필터가 따로 있으므로, 다른 노드로 재전달된 경우는 저장소 인스턴스를 새로 만들어 확인한다.
+ */
+@Testcontainers
+class InventoryIdempotencyStoreTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    static RedissonClient redissonClient;
+
+    @BeforeAll
+    static void setUp() {
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379));
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        redissonClient.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 요청은 같은 노드든 다른 노드든 한 번만 실행한다")
+    void runsOnlyOnce() {
+        String orderId = newOrderId();
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(newStore().runOnce(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1", "p2"), runs::incrementAndGet))
+                .isTrue();
+
+        InventoryIdempotencyStore otherNode = newStore();
+        assertThat(otherNode.runOnce(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p2", "p1"), runs::incrementAndGet))
+                .isFalse();
+        assertThat(otherNode.runOnce(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1", "p2"), runs::incrementAndGet))
+                .isFalse();
+        assertThat(runs).hasValue(1);
+
+        // 작업이 다르면 다른 요청
+        assertThat(otherNode.runOnce(InventoryIdempotencyStore.Operation.RELEASE, orderId, List.of("p1", "p2"), runs::incrementAndGet))
+                .isTrue();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("처리에 실패하면 선점을 풀어 재전달된 요청을 다시 처리한다")
+    void failureReleasesClaim() {
+        String orderId = newOrderId();
+        InventoryIdempotencyStore store = newStore();
+
+        assertThatThrownBy(() -> store.runOnce(InventoryIdempotencyStore.Operation.DECREASE, orderId, List.of("p1"), () -> {
+            throw new IllegalStateException("차감 실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        AtomicInteger runs = new AtomicInteger();
+        assertThat(store.runOnce(InventoryIdempotencyStore.Operation.DECREASE, orderId, List.of("p1"), runs::incrementAndGet))
+                .isTrue();
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청이 다시 오면 실행하지 않고 재시도하도록 실패시킨다")
+    void concurrentDuplicateIsRejected() {
+        String orderId = newOrderId();
+        InventoryIdempotencyStore otherNode = newStore();
+        AtomicInteger runs = new AtomicInteger();
+
+        newStore().runOnce(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1"), () -> {
+            assertThatThrownBy(() -> otherNode.runOnce(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1"),
+                    runs::incrementAndGet))
+                    .isInstanceOf(BusinessRuleViolationException.class);
+            assertThat(otherNode.isProcessed(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1"))).isFalse();
+        });
+
+        assertThat(runs).hasValue(0);
+        assertThat(otherNode.isProcessed(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("배치 반영 후 완료를 기록하면 이후 요청은 처리된 것으로 본다")
+    void completeMarksProcessed() {
+        String orderId = newOrderId();
+        InventoryIdempotencyStore store = newStore();
+
+        assertThat(store.isProcessed(InventoryIdempotencyStore.Operation.RELEASE, orderId, List.of("p1", "p2"))).isFalse();
+
+        store.complete(InventoryIdempotencyStore.Operation.RELEASE, orderId, List.of("p1", "p2"));
+
+        assertThat(newStore().isProcessed(InventoryIdempotencyStore.Operation.RELEASE, orderId, List.of("p1", "p2"))).isTrue();
+        assertThat(newStore().isProcessed(InventoryIdempotencyStore.Operation.DECREASE, orderId, List.of("p1", "p2"))).isFalse();
+
+        AtomicInteger runs = new AtomicInteger();
+        assertThat(newStore().runOnce(InventoryIdempotencyStore.Operation.RELEASE, orderId, List.of("p1"), runs::incrementAndGet))
+                .isFalse();
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("중복 방지를 끄면 매번 실행하고 처리 여부를 기록하지 않는다")
+    void disabledAlwaysRuns() {
+        InventoryProperties properties = new InventoryProperties();
+        properties.getIdempotency().setEnabled(false);
+        InventoryIdempotencyStore store = new InventoryIdempotencyStore(
+                redissonClient, new RedisScriptExecutor(redissonClient), properties);
+        String orderId = newOrderId();
+        AtomicInteger runs = new AtomicInteger();
+
+        store.runOnce(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1"), runs::incrementAndGet);
+        store.runOnce(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1"), runs::incrementAndGet);
+
+        assertThat(runs).hasValue(2);
+        assertThat(newStore().isProcessed(InventoryIdempotencyStore.Operation.RESERVE, orderId, List.of("p1"))).isFalse();
+    }
+
+    private static InventoryIdempotencyStore newStore() {
+        return new InventoryIdempotencyStore(
+                redissonClient, new RedisScriptExecutor(redissonClient), new InventoryProperties());
+    }
+
+    private static String newOrderId() {
+        return "order-" + UUID.randomUUID();
+    }
+}
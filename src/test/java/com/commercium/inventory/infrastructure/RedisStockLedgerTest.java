@@ -0,0 +1,241 @@
+package com.commercium.inventory.infrastructure;
+
+import com.commercium.common.id.NodeIdAllocator;
+import com.commercium.common.id.SnowflakeIdGenerator;
+import com.commercium.inventory.domain.StockQuantity;
+import com.commercium.inventory.domain.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.config.Config;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Redis 재고 원장 Lua 스크립트 동작 검증 (실제 Redis 컨테이너)
+ */
+@Testcontainers
+class RedisStockLedgerTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    static RedissonClient redissonClient;
+    static RedisStockLedger ledger;
+
+    @BeforeAll
+    static void setUp() {
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379));
+        redissonClient = Redisson.create(config);
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(new NodeIdAllocator(redissonClient, "config", 1, 60));
+        ledger = new RedisStockLedger(redissonClient, new RedisScriptExecutor(redissonClient), new ObjectMapper(), idGenerator);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        redissonClient.shutdown();
+    }
+
+    @Test
+    @DisplayName("예약은 사용 가능 재고를 예약 재고로 옮기고 원장에 기록한다")
+    void reserveMovesAvailableToReserved() {
+        String productId = newProductId();
+        ledger.load(productId, StockQuantity.of(10, 0));
+
+        RedisStockResult result = ledger.reserve(productId, "order-1", 3, "주문");
+
+        assertThat(result.isApplied()).isTrue();
+        assertThat(ledger.find(productId)).contains(StockQuantity.of(7, 3));
+
+        List<StockLedgerEntry> entries = ledger.peekLedger(productId, 10);
+        assertThat(entries).hasSize(1);
+        StockLedgerEntry entry = entries.get(0);
+        assertThat(entry.getType()).isEqualTo(TransactionType.RESERVE);
+        assertThat(entry.getOrderId()).isEqualTo("order-1");
+        assertThat(entry.getQuantity()).isEqualTo(3);
+        assertThat(entry.getAvailableDelta()).isEqualTo(-3);
+        assertThat(entry.getReservedDelta()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("재고가 부족하면 값과 원장을 바꾸지 않는다")
+    void insufficientStockLeavesStateUntouched() {
+        String productId = newProductId();
+        ledger.load(productId, StockQuantity.of(2, 1));
+
+        assertThat(ledger.reserve(productId, "order-1", 3, "주문").getStatus())
+                .isEqualTo(RedisStockResult.Status.INSUFFICIENT);
+        assertThat(ledger.release(productId, "order-1", 2, "취소").getStatus())
+                .isEqualTo(RedisStockResult.Status.INSUFFICIENT);
+        assertThat(ledger.decrease(productId, "order-1", 2, "결제").getStatus())
+                .isEqualTo(RedisStockResult.Status.INSUFFICIENT);
+
+        assertThat(ledger.find(productId)).contains(StockQuantity.of(2, 1));
+        assertThat(ledger.peekLedger(productId, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("0 이하 수량은 스크립트가 거부하고 재고를 늘리지 않는다")
+    void nonPositiveQuantityIsRejected() {
+        String productId = newProductId();
+        ledger.load(productId, StockQuantity.of(5, 0));
+
+        assertThatThrownBy(() -> ledger.reserve(productId, "order-1", -3, "주문"))
+                .isInstanceOf(RedisException.class)
+                .hasMessageContaining("invalid stock quantity");
+        assertThatThrownBy(() -> ledger.reserve(productId, "order-1", 0, "주문"))
+                .isInstanceOf(RedisException.class);
+        assertThatThrownBy(() -> ledger.release(productId, "order-1", -1, "취소"))
+                .isInstanceOf(RedisException.class);
+        assertThatThrownBy(() -> ledger.decrease(productId, "order-1", 0, "결제"))
+                .isInstanceOf(RedisException.class);
+        assertThatThrownBy(() -> ledger.increase(productId, -5, "입고"))
+                .isInstanceOf(RedisException.class);
+        assertThatThrownBy(() -> ledger.adjust(productId, -1, "조정"))
+                .isInstanceOf(RedisException.class);
+
+        assertThat(ledger.find(productId)).contains(StockQuantity.of(5, 0));
+        assertThat(ledger.peekLedger(productId, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조정은 예약을 모두 해제하고 0 으로도 설정할 수 있다")
+    void adjustResetsReservation() {
+        String productId = newProductId();
+        ledger.load(productId, StockQuantity.of(5, 2));
+
+        assertThat(ledger.adjust(productId, 0, "조정").isApplied()).isTrue();
+        assertThat(ledger.find(productId)).contains(StockQuantity.of(0, 0));
+    }
+
+    @Test
+    @DisplayName("키가 없으면 NOT_LOADED, 원장이 남은 채 키가 사라지면 적재를 보류한다")
+    void loadIsDeferredWhileLedgerIsPending() {
+        String productId = newProductId();
+        assertThat(ledger.reserve(productId, "order-1", 1, "주문").isNotLoaded()).isTrue();
+
+        assertThat(ledger.load(productId, StockQuantity.of(3, 0))).isEqualTo(1);
+        assertThat(ledger.load(productId, StockQuantity.of(99, 0))).isZero();
+        ledger.reserve(productId, "order-1", 1, "주문");
+
+        redissonClient.getKeys().delete(RedisStockLedger.availableKey(productId), RedisStockLedger.reservedKey(productId));
+        assertThat(ledger.load(productId, StockQuantity.of(3, 0))).isEqualTo(-1);
+
+        ledger.trimLedger(productId, 1);
+        assertThat(ledger.load(productId, StockQuantity.of(2, 1))).isEqualTo(1);
+        assertThat(ledger.find(productId)).contains(StockQuantity.of(2, 1));
+    }
+
+    @Test
+    @DisplayName("주문 단위 예약은 모든 상품을 한 번에 예약한다")
+    void reserveOrderAppliesAllLines() {
+        String first = newProductId();
+        String second = newProductId();
+        ledger.load(first, StockQuantity.of(5, 0));
+        ledger.load(second, StockQuantity.of(2, 0));
+
+        RedisOrderStockResult result = ledger.reserveOrder("order-1", new TreeMap<>(Map.of(first, 3, second, 2)), "주문");
+
+        assertThat(result.isApplied()).isTrue();
+        assertThat(ledger.find(first)).contains(StockQuantity.of(2, 3));
+        assertThat(ledger.find(second)).contains(StockQuantity.of(0, 2));
+        assertThat(ledger.peekLedger(first, 10)).extracting(StockLedgerEntry::getOrderId).containsExactly("order-1");
+        assertThat(ledger.peekLedger(second, 10)).extracting(StockLedgerEntry::getQuantity).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("주문 단위 예약은 한 상품이라도 부족하면 아무것도 예약하지 않는다")
+    void reserveOrderIsAllOrNothing() {
+        String first = newProductId();
+        String second = newProductId();
+        ledger.load(first, StockQuantity.of(5, 0));
+        ledger.load(second, StockQuantity.of(1, 0));
+
+        RedisOrderStockResult result = ledger.reserveOrder("order-1", new TreeMap<>(Map.of(first, 3, second, 2)), "주문");
+
+        assertThat(result.getStatus()).isEqualTo(RedisStockResult.Status.INSUFFICIENT);
+        assertThat(result.getFailedProductId()).isEqualTo(second);
+        assertThat(result.getFailedAvailable()).isEqualTo(1);
+        assertThat(ledger.find(first)).contains(StockQuantity.of(5, 0));
+        assertThat(ledger.peekLedger(first, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("주문 단위 예약은 적재되지 않은 상품과 0 이하 수량을 알린다")
+    void reserveOrderReportsUnloadedAndInvalidLines() {
+        String loaded = newProductId();
+        String missing = newProductId();
+        ledger.load(loaded, StockQuantity.of(5, 0));
+
+        RedisOrderStockResult result = ledger.reserveOrder("order-1", Map.of(missing, 1), "주문");
+        assertThat(result.isNotLoaded()).isTrue();
+        assertThat(result.getFailedProductId()).isEqualTo(missing);
+
+        assertThatThrownBy(() -> ledger.reserveOrder("order-1", Map.of(loaded, -2), "주문"))
+                .isInstanceOf(RedisException.class);
+        assertThat(ledger.find(loaded)).contains(StockQuantity.of(5, 0));
+    }
+
+    @Test
+    @DisplayName("분할 적재는 DB 재고를 버킷에 고르게 나누고, 모두 적재돼 있으면 건드리지 않는다")
+    void loadSplitSpreadsDatabaseStock() {
+        String productId = newProductId();
+
+        assertThat(ledger.loadSplit(productId, StockQuantity.of(10, 3), 4)).isEqualTo(1);
+        assertThat(ledger.findBuckets(productId, 4)).containsExactly(
+                StockQuantity.of(3, 1), StockQuantity.of(3, 1), StockQuantity.of(2, 1), StockQuantity.of(2, 0));
+        assertThat(ledger.find(productId)).contains(StockQuantity.of(10, 3));
+
+        ledger.applyToBucket(TransactionType.RESERVE, productId, 0, "order-1", 2, false, "주문");
+        ledger.trimLedger(RedisStockLedger.bucketSlotId(productId, 0), 1);
+        assertThat(ledger.loadSplit(productId, StockQuantity.of(10, 3), 4)).isZero();
+        assertThat(ledger.find(productId)).contains(StockQuantity.of(8, 5));
+    }
+
+    @Test
+    @DisplayName("버킷 하나가 사라지면 원장 반영 전에는 보류하고, 반영 후에는 모든 버킷을 DB 합계로 다시 나눈다")
+    void lostBucketRebuildsAllBucketsFromDatabase() {
+        String productId = newProductId();
+        ledger.loadSplit(productId, StockQuantity.of(8, 0), 2);
+        ledger.applyToBucket(TransactionType.RESERVE, productId, 0, "order-1", 3, false, "주문");
+
+        String lostSlot = RedisStockLedger.bucketSlotId(productId, 1);
+        redissonClient.getKeys().delete(RedisStockLedger.availableKey(lostSlot), RedisStockLedger.reservedKey(lostSlot));
+
+        // 살아 있는 버킷의 예약이 아직 DB 에 반영되지 않음
+        assertThat(ledger.loadSplit(productId, StockQuantity.of(8, 0), 2)).isEqualTo(-1);
+        assertThat(ledger.findBuckets(productId, 2).get(1)).isNull();
+
+        // 반영 후 DB 합계(5, 3)로 모든 버킷을 다시 적재 - 남은 버킷 값에 DB 몫을 더하지 않는다
+        ledger.trimLedger(RedisStockLedger.bucketSlotId(productId, 0), 1);
+        assertThat(ledger.loadSplit(productId, StockQuantity.of(5, 3), 2)).isEqualTo(1);
+        assertThat(ledger.find(productId)).contains(StockQuantity.of(5, 3));
+    }
+
+    @Test
+    @DisplayName("단일 노드 Redis 는 Cluster 로 판단하지 않는다")
+    void singleNodeIsNotCluster() {
+        assertThat(ledger.isClusterEnabled()).isFalse();
+    }
+
+    static String newProductId() {
+        return "product-" + UUID.randomUUID();
+    }
+}